@@ -0,0 +1,113 @@
+package com.sesjob.notification;
+
+import com.sesjob.entity.Job;
+import com.sesjob.entity.NotificationSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 通知フィルターのベンチマーク（案件 10,000 件 × スキル条件 50 語）
+ * legacy は変更前の NotificationService.filterJobs と同じ処理（案件ごとに条件を分割・小文字化し、総当たりで部分一致）
+ * 実行: mvn -Pjmh test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationFilterBenchmark {
+
+    private static final String[] SKILLS = {
+            "Java", "Spring Boot", "Kotlin", "Python", "Django", "Go", "TypeScript", "React", "Vue.js", "Angular",
+            "Node.js", "PHP", "Laravel", "Ruby on Rails", "C#", ".NET", "AWS", "GCP", "Azure", "Docker",
+            "Kubernetes", "Terraform", "MySQL", "PostgreSQL", "Oracle", "Redis", "Swift", "Flutter", "Scala", "Rust"
+    };
+
+    @Param({"10000"})
+    private int jobCount;
+
+    @Param({"50"})
+    private int filterTerms;
+
+    private List<Job> jobs;
+    private NotificationSettings settings;
+    private NotificationFilter compiled;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        jobs = new ArrayList<>(jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            List<String> skills = new ArrayList<>();
+            for (int s = 0; s < 5; s++) {
+                skills.add(SKILLS[random.nextInt(SKILLS.length)] + (random.nextBoolean() ? " 3年以上" : ""));
+            }
+            jobs.add(Job.builder()
+                    .maxPrice(50 + random.nextInt(100))
+                    .remoteType(Job.RemoteType.values()[random.nextInt(Job.RemoteType.values().length)])
+                    .requiredSkills(skills)
+                    .build());
+        }
+
+        // 実在のスキルは 2 語だけ含め、残りは一致しない語で条件を水増しする
+        List<String> terms = new ArrayList<>(List.of("kotlin", "rust"));
+        for (int i = terms.size(); i < filterTerms; i++) {
+            terms.add("term" + i);
+        }
+        settings = NotificationSettings.builder()
+                .minPriceThreshold(70)
+                .remoteOnly(true)
+                .skillsFilter(String.join(", ", terms))
+                .build();
+        compiled = NotificationFilter.compile(settings);
+    }
+
+    @Benchmark
+    public List<Job> legacy() {
+        return legacyFilter(jobs, settings);
+    }
+
+    @Benchmark
+    public List<Job> compiled() {
+        return compiled.filter(jobs);
+    }
+
+    @Benchmark
+    public List<Job> compileAndFilter() {
+        return NotificationFilter.compile(settings).filter(jobs);
+    }
+
+    private static List<Job> legacyFilter(List<Job> jobs, NotificationSettings settings) {
+        return jobs.stream()
+                .filter(job -> {
+                    if (settings.getMinPriceThreshold() != null && job.getMaxPrice() != null) {
+                        if (job.getMaxPrice() < settings.getMinPriceThreshold()) {
+                            return false;
+                        }
+                    }
+                    if (Boolean.TRUE.equals(settings.getRemoteOnly())) {
+                        if (job.getRemoteType() == null || job.getRemoteType() == Job.RemoteType.NONE) {
+                            return false;
+                        }
+                    }
+                    if (settings.getSkillsFilter() != null && !settings.getSkillsFilter().isBlank()) {
+                        List<String> requiredSkills = Arrays.stream(settings.getSkillsFilter().split(","))
+                                .map(String::trim)
+                                .map(String::toLowerCase)
+                                .filter(s -> !s.isEmpty())
+                                .collect(Collectors.toList());
+                        if (!requiredSkills.isEmpty() && job.getRequiredSkills() != null) {
+                            return job.getRequiredSkills().stream()
+                                    .anyMatch(skill -> requiredSkills.stream()
+                                            .anyMatch(req -> skill.toLowerCase().contains(req)));
+                        }
+                    }
+                    return true;
+                })
+                .collect(Collectors.toList());
+    }
+}
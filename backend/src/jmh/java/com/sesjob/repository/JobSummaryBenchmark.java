@@ -0,0 +1,161 @@
+package com.sesjob.repository;
+
+import com.sesjob.SesJobCrawlerApplication;
+import com.sesjob.dto.JobDto;
+import com.sesjob.entity.Job;
+import com.sesjob.repository.JobBulkRepository.JobWrite;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一覧取得のベンチマーク（H2、案件 100,000 件、新着順 100 件ずつ）
+ * entityPage は変更前の一覧（Job エンティティを読み込んで Summary に詰め替える）
+ * summaryPage / summarySlice は Summary のカラムだけを SELECT する findSummaries / findSummarySlice
+ * （読み取り専用トランザクション、summarySlice は COUNT を発行しない）
+ * 1 回あたりの割り当て量は GC プロファイラーの gc.alloc.rate.norm で比較する
+ * 実行: mvn -Pjmh test-compile exec:exec -Djmh.args="JobSummaryBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class JobSummaryBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 5000;
+
+    private static final String[] SKILLS = {
+            "Java", "Spring Boot", "Kotlin", "Python", "Django", "Go", "TypeScript", "React", "Vue.js", "Angular",
+            "Node.js", "PHP", "Laravel", "Ruby on Rails", "C#", ".NET", "AWS", "GCP", "Azure", "Docker"
+    };
+
+    @Param({"100000"})
+    private int jobCount;
+
+    @Param({"0", "50"})
+    private int page;
+
+    @Param({"100"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private JobRepository jobRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = SpringApplication.run(SesJobCrawlerApplication.class,
+                "--spring.profiles.active=dev",
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:summary;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.sesjob=WARN",
+                "--logging.level.org.hibernate.SQL=WARN");
+        jobRepository = context.getBean(JobRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        pageable = PageRequest.of(page, size, Sort.by(Sort.Order.desc("crawledAt"), Sort.Order.desc("id")));
+        seed(context.getBean(JobBulkRepository.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<JobDto.Summary> entityPage() {
+        return readWrite.execute(status -> jobRepository.findAll((Specification<Job>) null, pageable)
+                .map(JobSummaryBenchmark::toSummary));
+    }
+
+    @Benchmark
+    public Page<JobDto.Summary> summaryPage() {
+        return readOnly.execute(status -> jobRepository.findSummaries(null, pageable,
+                () -> jobRepository.count((Specification<Job>) null)));
+    }
+
+    @Benchmark
+    public Slice<JobDto.Summary> summarySlice() {
+        return readOnly.execute(status -> jobRepository.findSummarySlice(null, pageable));
+    }
+
+    // Private helper methods
+
+    /**
+     * 取り込みと同じバッチ INSERT で案件を作る（クロール日時は 5,000 件ごとに 1 分ずらす）
+     */
+    private void seed(JobBulkRepository jobBulkRepository) {
+        Random random = new Random(42);
+        LocalDateTime crawledAt = LocalDateTime.now().minusDays(1);
+        for (int from = 0; from < jobCount; from += SEED_BATCH_SIZE) {
+            List<JobWrite> writes = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int n = from; n < Math.min(from + SEED_BATCH_SIZE, jobCount); n++) {
+                writes.add(new JobWrite(null, request(n, random), null, random.nextLong()));
+            }
+            LocalDateTime batchCrawledAt = crawledAt.plusMinutes(from / SEED_BATCH_SIZE);
+            readWrite.executeWithoutResult(status -> jobBulkRepository.batchInsert(writes, batchCrawledAt));
+        }
+    }
+
+    private static JobDto.CreateRequest request(int n, Random random) {
+        List<String> skills = new ArrayList<>();
+        for (int s = 0; s < 5; s++) {
+            skills.add(SKILLS[random.nextInt(SKILLS.length)]);
+        }
+        int minPrice = 50 + random.nextInt(50);
+        return JobDto.CreateRequest.builder()
+                .source(n % 2 == 0 ? "sesboard" : "techdirect")
+                .sourceUrl("https://example.com/jobs/" + n)
+                .sourceId(String.valueOf(n))
+                .title(skills.get(0) + " エンジニア募集 案件" + n)
+                .minPrice(minPrice)
+                .maxPrice(minPrice + random.nextInt(30))
+                .priceType(Job.PriceType.MONTHLY)
+                .settlementHours("140-180h")
+                .requiredSkills(skills.subList(0, 3))
+                .preferredSkills(skills.subList(3, 5))
+                .experienceYears("3年以上")
+                .location("東京都")
+                .remoteType(Job.RemoteType.values()[random.nextInt(Job.RemoteType.values().length)])
+                .workDays("週5日")
+                .contractPeriod("長期")
+                .companyName("株式会社サンプル" + (n % 100))
+                .industry("金融")
+                .postedAt(LocalDateTime.now().minusHours(n % 1000))
+                .build();
+    }
+
+    /**
+     * 変更前の JobService.toSummary と同じ詰め替え
+     */
+    private static JobDto.Summary toSummary(Job job) {
+        return JobDto.Summary.builder()
+                .id(job.getId())
+                .source(job.getSource())
+                .title(job.getTitle())
+                .maxPrice(job.getMaxPrice())
+                .location(job.getLocation())
+                .remoteType(job.getRemoteType())
+                .requiredSkills(job.getRequiredSkills())
+                .status(job.getStatus())
+                .isFavorite(job.getIsFavorite())
+                .postedAt(job.getPostedAt())
+                .build();
+    }
+}
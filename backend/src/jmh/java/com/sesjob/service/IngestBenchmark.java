@@ -0,0 +1,116 @@
+package com.sesjob.service;
+
+import com.sesjob.SesJobCrawlerApplication;
+import com.sesjob.dto.JobDto;
+import com.sesjob.entity.Job;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一括登録のベンチマーク（H2、新規案件をバッチ 50 / 500 / 5,000 件ずつ登録）
+ * 登録件数を補助カウンター jobs として集計するため、結果の jobs 行が 1 秒あたりの登録件数になる
+ * パラメーターごとに別のインメモリ DB でアプリケーションを起動し、計測中は登録した案件が溜まっていく
+ * 実行: mvn -Pjmh test-compile exec:exec -Djmh.args="IngestBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IngestBenchmark {
+
+    private static final String[] SKILLS = {
+            "Java", "Spring Boot", "Kotlin", "Python", "Django", "Go", "TypeScript", "React", "Vue.js", "Angular",
+            "Node.js", "PHP", "Laravel", "Ruby on Rails", "C#", ".NET", "AWS", "GCP", "Azure", "Docker",
+            "Kubernetes", "Terraform", "MySQL", "PostgreSQL", "Oracle", "Redis", "Swift", "Flutter", "Scala", "Rust"
+    };
+
+    private static final String[] LOCATIONS = {"東京都", "神奈川県", "大阪府", "愛知県", "福岡県", "フルリモート"};
+
+    @Param({"50", "500", "5000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private JobIngestService jobIngestService;
+    private final Random random = new Random(42);
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = SpringApplication.run(SesJobCrawlerApplication.class,
+                "--spring.profiles.active=dev",
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:ingest-" + batchSize + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.sesjob=WARN",
+                "--logging.level.org.hibernate.SQL=WARN");
+        jobIngestService = context.getBean(JobIngestService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * 1 秒あたりの登録件数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long jobs;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            jobs = 0;
+        }
+    }
+
+    @Benchmark
+    public List<JobDto.IngestAck> ingest(Counters counters) {
+        List<JobDto.CreateRequest> batch = nextBatch();
+        List<JobDto.IngestAck> acks = jobIngestService.ingest(batch);
+        counters.jobs += batch.size();
+        return acks;
+    }
+
+    // Private helper methods
+
+    /**
+     * 毎回新しい URL の案件（クローラーが送る程度の項目を埋める）
+     */
+    private List<JobDto.CreateRequest> nextBatch() {
+        List<JobDto.CreateRequest> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            long n = sequence++;
+            List<String> skills = new ArrayList<>();
+            for (int s = 0; s < 4; s++) {
+                skills.add(SKILLS[random.nextInt(SKILLS.length)]);
+            }
+            int minPrice = 50 + random.nextInt(50);
+            batch.add(JobDto.CreateRequest.builder()
+                    .source(n % 2 == 0 ? "sesboard" : "techdirect")
+                    .sourceUrl("https://example.com/jobs/" + n)
+                    .sourceId(String.valueOf(n))
+                    .title(skills.get(0) + " エンジニア募集 案件" + n)
+                    .minPrice(minPrice)
+                    .maxPrice(minPrice + random.nextInt(30))
+                    .priceType(Job.PriceType.MONTHLY)
+                    .requiredSkills(skills.subList(0, 2))
+                    .preferredSkills(skills.subList(2, 4))
+                    .location(LOCATIONS[random.nextInt(LOCATIONS.length)])
+                    .remoteType(Job.RemoteType.values()[random.nextInt(Job.RemoteType.values().length)])
+                    .description(String.join("、", skills) + "を用いた業務システムの開発。設計からテストまで担当。")
+                    .postedAt(LocalDateTime.now())
+                    .build());
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,127 @@
+package com.sesjob.service;
+
+import com.sesjob.entity.Skill;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * スキル正規化のベンチマーク（案件 1 件分のスキル・タイトル・説明文から正規スキル ID を抽出）
+ * naive は別名ごとに正規化済みテキストを indexOf で走査する総当たり（単語境界の判定は SkillMatcher と同じ）
+ * automaton は SkillMatcher（全別名を 1 つのオートマトンにまとめて 1 パスで走査）
+ * skillCount はスキルマスターの件数（1 スキルあたり名称 + 別名 2 つ、実在のスキル以外は一致しない名称で水増しする）
+ * 実行: mvn -Pjmh test-compile exec:exec -Djmh.args="SkillMatcherBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkillMatcherBenchmark {
+
+    private static final String[][] SKILLS = {
+            {"Java", "java", "JAVA"}, {"Spring Boot", "SpringBoot", "Spring"}, {"Kotlin", "kotlin", "kt"},
+            {"Python", "python", "Python3"}, {"Go", "Golang", "golang"}, {"TypeScript", "TS", "typescript"},
+            {"React", "React.js", "ReactJS"}, {"Vue.js", "Vue", "vuejs"}, {"PHP", "php", "php8"},
+            {"Ruby", "ruby", "Ruby on Rails"}, {"AWS", "Amazon Web Services", "aws"}, {"Docker", "docker", "コンテナ"},
+            {"Kubernetes", "k8s", "EKS"}, {"MySQL", "mysql", "Aurora"}, {"PostgreSQL", "postgres", "pgsql"},
+            {"Terraform", "terraform", "IaC"}
+    };
+
+    @Param({"60", "600"})
+    private int skillCount;
+
+    private String[] patterns;
+    private long[] patternSkillIds;
+    private SkillMatcher matcher;
+
+    private List<String> requiredSkills;
+    private List<String> preferredSkills;
+    private String title;
+    private String description;
+
+    @Setup
+    public void setup() {
+        List<Skill> skills = new ArrayList<>(skillCount);
+        for (int i = 0; i < skillCount; i++) {
+            String[] names = i < SKILLS.length ? SKILLS[i] : new String[]{"skill" + i, "alias" + i + "a",
+                    "alias" + i + "b"};
+            skills.add(Skill.builder()
+                    .id((long) i + 1)
+                    .name(names[0])
+                    .aliases(List.of(names[1], names[2]))
+                    .build());
+        }
+        matcher = SkillMatcher.compile(skills);
+
+        // naive 側も SkillMatcher と同じく正規化済みの別名を先勝ちで使う
+        Map<String, Long> skillIdByPattern = new LinkedHashMap<>();
+        for (Skill skill : skills) {
+            skillIdByPattern.putIfAbsent(SkillMatcher.normalize(skill.getName()), skill.getId());
+            skill.getAliases().forEach(alias -> skillIdByPattern.putIfAbsent(SkillMatcher.normalize(alias),
+                    skill.getId()));
+        }
+        patterns = skillIdByPattern.keySet().toArray(new String[0]);
+        patternSkillIds = skillIdByPattern.values().stream().mapToLong(Long::longValue).toArray();
+
+        requiredSkills = List.of("Java 3年以上", "Spring Boot", "ＡＷＳ");
+        preferredSkills = List.of("Kubernetes", "TypeScript");
+        title = "【Java/Spring Boot】大手金融向け決済基盤のバックエンド開発";
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 1600) {
+            sb.append("既存の決済システムをマイクロサービスへ移行する案件です。JavaとSpring Bootで API を開発し、")
+                    .append("AWS 上の EKS にデプロイします。データベースは PostgreSQL、インフラは Terraform で管理。")
+                    .append("フロントエンドは React と TypeScript、チームは 8 名でスクラム開発です。\n");
+        }
+        description = sb.toString();
+
+        // 比較の前提として、両者の結果が一致することを確かめる
+        if (!naive().equals(automaton())) {
+            throw new IllegalStateException("naive " + naive() + " differs from automaton " + automaton());
+        }
+    }
+
+    @Benchmark
+    public Set<Long> naive() {
+        StringBuilder sb = new StringBuilder();
+        requiredSkills.forEach(skill -> sb.append(skill).append('\n'));
+        preferredSkills.forEach(skill -> sb.append(skill).append('\n'));
+        sb.append(title).append('\n').append(description).append('\n');
+        String text = SkillMatcher.normalize(sb.toString());
+
+        Set<Long> matched = new LinkedHashSet<>();
+        for (int i = 0; i < patterns.length; i++) {
+            if (matched.contains(patternSkillIds[i])) {
+                continue;
+            }
+            String pattern = patterns[i];
+            for (int start = text.indexOf(pattern); start >= 0; start = text.indexOf(pattern, start + 1)) {
+                if (isBoundary(text, start, start + pattern.length())) {
+                    matched.add(patternSkillIds[i]);
+                    break;
+                }
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    public Set<Long> automaton() {
+        return matcher.match(requiredSkills, preferredSkills, title, description);
+    }
+
+    // Private helper methods
+
+    private static boolean isBoundary(String text, int start, int end) {
+        if (isWordChar(text.charAt(start)) && start > 0 && isWordChar(text.charAt(start - 1))) {
+            return false;
+        }
+        return !(isWordChar(text.charAt(end - 1)) && end < text.length() && isWordChar(text.charAt(end)));
+    }
+
+    private static boolean isWordChar(char c) {
+        return c < 128 && Character.isLetterOrDigit(c);
+    }
+}
@@ -0,0 +1,55 @@
+package com.sesjob.controller;
+
+import com.sesjob.dto.CrawlRunDto;
+import com.sesjob.service.CrawlRunService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/crawl-runs")
+@RequiredArgsConstructor
+@Tag(name = "Crawl Runs", description = "クロール実行管理API")
+public class CrawlRunController {
+
+    private final CrawlRunService crawlRunService;
+
+    @PostMapping
+    @Operation(summary = "クロール実行開始", description = "ソースごとのクロール実行を開始（クローラー用）")
+    public ResponseEntity<CrawlRunDto.Response> open(@RequestBody CrawlRunDto.OpenRequest request) {
+        if (request.getSource() == null || request.getSource().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(crawlRunService.open(request.getSource()));
+    }
+
+    @PostMapping("/{id}/close")
+    @Operation(summary = "クロール実行終了", description = "expire=true の場合、この実行で確認されなかった案件を CLOSED にする")
+    public ResponseEntity<CrawlRunDto.Response> close(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "true") boolean expire) {
+        return crawlRunService.close(id, expire)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "クロール実行取得", description = "実行ごとの確認・新規・更新・終了件数と所要時間を取得")
+    public ResponseEntity<CrawlRunDto.Response> getRun(@PathVariable Long id) {
+        return crawlRunService.getRun(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    @Operation(summary = "クロール実行履歴", description = "クロール実行の履歴を新しい順に取得")
+    public ResponseEntity<Page<CrawlRunDto.Response>> getRuns(
+            @RequestParam(required = false) String source,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(crawlRunService.getRuns(source, page, size));
+    }
+}
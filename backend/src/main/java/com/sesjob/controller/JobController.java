@@ -1,17 +1,35 @@
 package com.sesjob.controller;
 
+import com.sesjob.dto.CursorPage;
 import com.sesjob.dto.JobDto;
 import com.sesjob.dto.SearchRequest;
 import com.sesjob.dto.StatsDto;
 import com.sesjob.entity.Job.JobStatus;
+import com.sesjob.entity.Job.RemoteType;
+import com.sesjob.service.CrawlRunService;
+import com.sesjob.service.IngestQueueService;
 import com.sesjob.service.JobService;
+import com.sesjob.service.JobStreamIngestService;
+import com.sesjob.service.NewJobStreamService;
+import com.sesjob.service.PriceTrendService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -21,15 +39,57 @@ import java.util.List;
 public class JobController {
 
     private final JobService jobService;
+    private final JobStreamIngestService jobStreamIngestService;
+    private final IngestQueueService ingestQueueService;
+    private final CrawlRunService crawlRunService;
+    private final NewJobStreamService newJobStreamService;
+
+    @Value("${ingest.async.retry-after-seconds:5}")
+    private long retryAfterSeconds;
 
     @GetMapping
-    @Operation(summary = "案件一覧取得", description = "ページネーション対応の案件一覧を取得")
-    public ResponseEntity<Page<JobDto.Summary>> getAllJobs(
+    @Operation(summary = "案件一覧取得", description = "ページネーション対応の案件一覧を取得（掲載終了した案件は includeClosed=true の場合のみ含める）。"
+            + "withCount=false の場合は件数を数えず次ページの有無のみ返却（件数がキャッシュにあれば cachedTotal に付与）")
+    public ResponseEntity<Slice<JobDto.Summary>> getAllJobs(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "crawledAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortOrder) {
-        return ResponseEntity.ok(jobService.getAllJobs(page, size, sortBy, sortOrder));
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(defaultValue = "false") boolean collapseDuplicates,
+            @RequestParam(defaultValue = "false") boolean includeClosed,
+            @RequestParam(defaultValue = "true") boolean withCount) {
+        return ResponseEntity.ok(jobService.getAllJobs(page, size, sortBy, sortOrder, collapseDuplicates, includeClosed,
+                withCount));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "案件一覧取得（カーソル）", description = "件数を数えずに続きを取得するカーソル方式の案件一覧。"
+            + "レスポンスの nextCursor を cursor に渡して次ページを取得")
+    public ResponseEntity<CursorPage<JobDto.Summary>> scrollJobs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "crawledAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(defaultValue = "false") boolean collapseDuplicates,
+            @RequestParam(defaultValue = "false") boolean includeClosed) {
+        try {
+            return ResponseEntity.ok(jobService.scrollJobs(cursor, size, sortBy, sortOrder, collapseDuplicates,
+                    includeClosed));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "新着案件ストリーム", description = "取り込まれた新規案件を Server-Sent Events（event: job）で配信。"
+            + "keyword・skills・minPrice・remoteType・sources など検索と同じ条件で絞り込み可能。"
+            + "受信が追いつかない接続は切断される")
+    public ResponseEntity<SseEmitter> streamNewJobs(SearchRequest filter) {
+        return newJobStreamService.subscribe(filter)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                        .build());
     }
 
     @GetMapping("/{id}")
@@ -40,12 +100,31 @@ public class JobController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/duplicates")
+    @Operation(summary = "重複案件取得", description = "他ソースに掲載された同一案件（指定IDを代表とするもの）を取得")
+    public ResponseEntity<List<JobDto.Summary>> getDuplicates(@PathVariable Long id) {
+        return ResponseEntity.ok(jobService.getDuplicates(id));
+    }
+
     @PostMapping("/search")
-    @Operation(summary = "案件検索", description = "条件を指定して案件を検索")
-    public ResponseEntity<Page<JobDto.Summary>> searchJobs(@RequestBody SearchRequest request) {
+    @Operation(summary = "案件検索", description = "条件を指定して案件を検索。"
+            + "includeFacets=true の場合はソース・リモート区分・単価帯・スキルごとの件数（facets）を付与。"
+            + "sortBy=relevance の場合はキーワードとの関連度（BM25）順。"
+            + "withCount=false の場合は件数を数えず次ページの有無のみ返却")
+    public ResponseEntity<Slice<JobDto.Summary>> searchJobs(@RequestBody SearchRequest request) {
         return ResponseEntity.ok(jobService.searchJobs(request));
     }
 
+    @PostMapping("/search/scroll")
+    @Operation(summary = "案件検索（カーソル）", description = "条件を指定して案件を検索（カーソル方式）")
+    public ResponseEntity<CursorPage<JobDto.Summary>> scrollSearch(@RequestBody SearchRequest request) {
+        try {
+            return ResponseEntity.ok(jobService.scrollSearch(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping
     @Operation(summary = "案件登録", description = "新規案件を登録（クローラー用）")
     public ResponseEntity<JobDto.Response> createJob(@RequestBody JobDto.CreateRequest request) {
@@ -53,9 +132,49 @@ public class JobController {
     }
 
     @PostMapping("/batch")
-    @Operation(summary = "案件一括登録", description = "複数案件を一括登録")
-    public ResponseEntity<List<JobDto.Response>> createJobs(@RequestBody List<JobDto.CreateRequest> requests) {
-        return ResponseEntity.ok(jobService.createJobs(requests));
+    @Operation(summary = "案件一括登録", description = "複数案件を一括登録（1件ごとに id と作成/更新区分を返却）。"
+            + "async=true の場合はキューに積んで 202 と ingestId を返却し、キュー満杯時は 429。"
+            + "crawlRunId 指定時は実行中のクロール実行に件数を加算")
+    public ResponseEntity<?> createJobs(
+            @RequestBody List<JobDto.CreateRequest> requests,
+            @RequestParam(defaultValue = "false") boolean async,
+            @RequestParam(required = false) Long crawlRunId) {
+        if (crawlRunId != null && !crawlRunService.isRunning(crawlRunId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        if (!async) {
+            return ResponseEntity.ok(jobService.createJobs(requests, crawlRunId));
+        }
+        return ingestQueueService.submit(requests, crawlRunId)
+                .<ResponseEntity<?>>map(status -> ResponseEntity.accepted()
+                        .location(URI.create("/api/jobs/ingest/" + status.getIngestId()))
+                        .body(status))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                        .build());
+    }
+
+    @GetMapping("/ingest/{ingestId}")
+    @Operation(summary = "非同期登録の進捗取得", description = "ingestId ごとの進捗・失敗・スループットを取得")
+    public ResponseEntity<JobDto.IngestStatus> getIngestStatus(@PathVariable String ingestId) {
+        return ingestQueueService.getStatus(ingestId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping(value = "/batch/stream", consumes = "application/x-ndjson", produces = "application/x-ndjson")
+    @Operation(summary = "案件ストリーミング登録", description = "NDJSON（1行1案件）を逐次登録し、チャンクごとの進捗を NDJSON で返却")
+    public void createJobsStream(
+            @RequestParam(required = false) Long crawlRunId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (crawlRunId != null && !crawlRunService.isRunning(crawlRunId)) {
+            response.setStatus(HttpStatus.CONFLICT.value());
+            return;
+        }
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        jobStreamIngestService.ingest(request.getInputStream(), response.getOutputStream(), crawlRunId);
     }
 
     @PatchMapping("/{id}/status")
@@ -77,11 +196,24 @@ public class JobController {
     }
 
     @GetMapping("/favorites")
-    @Operation(summary = "お気に入り一覧", description = "お気に入り案件の一覧を取得")
-    public ResponseEntity<Page<JobDto.Summary>> getFavorites(
+    @Operation(summary = "お気に入り一覧", description = "お気に入り案件の一覧を取得（withCount=false の場合は件数を数えない）")
+    public ResponseEntity<Slice<JobDto.Summary>> getFavorites(
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean withCount) {
+        return ResponseEntity.ok(jobService.getFavorites(page, size, withCount));
+    }
+
+    @GetMapping("/favorites/scroll")
+    @Operation(summary = "お気に入り一覧（カーソル）", description = "お気に入り案件の一覧をカーソル方式で取得")
+    public ResponseEntity<CursorPage<JobDto.Summary>> scrollFavorites(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
-        return ResponseEntity.ok(jobService.getFavorites(page, size));
+        try {
+            return ResponseEntity.ok(jobService.scrollFavorites(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/stats")
@@ -89,4 +221,37 @@ public class JobController {
     public ResponseEntity<StatsDto.Overview> getStats() {
         return ResponseEntity.ok(jobService.getOverviewStats());
     }
+
+    @GetMapping("/stats/skills")
+    @Operation(summary = "スキル別統計", description = "掲載中案件のスキル別件数・平均単価（件数上位）を取得。"
+            + "source・remoteType で絞り込み可能")
+    public ResponseEntity<List<StatsDto.SkillStats>> getSkillStats(
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) RemoteType remoteType,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(jobService.getSkillStats(source, remoteType, Math.min(limit, 200)));
+    }
+
+    @GetMapping("/stats/trends")
+    @Operation(summary = "単価推移", description = "新規掲載案件の件数・平均/中央値/p90 単価を日・週・月ごとに取得。"
+            + "source・skill で絞り込み可能（期間の既定は直近 90 日）")
+    public ResponseEntity<List<StatsDto.PriceTrend>> getPriceTrends(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) String skill,
+            @RequestParam(defaultValue = "DAY") PriceTrendService.TrendInterval interval) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(90);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(jobService.getPriceTrends(start, end, source, skill, interval));
+    }
+
+    @GetMapping("/stats/cache")
+    @Operation(summary = "検索キャッシュ統計", description = "検索結果キャッシュのヒット率・追い出し件数・データ世代を取得")
+    public ResponseEntity<StatsDto.CacheStats> getCacheStats() {
+        return ResponseEntity.ok(jobService.getCacheStats());
+    }
 }
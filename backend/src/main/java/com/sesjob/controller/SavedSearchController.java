@@ -0,0 +1,53 @@
+package com.sesjob.controller;
+
+import com.sesjob.dto.SavedSearchDto;
+import com.sesjob.service.SavedSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/saved-searches")
+@RequiredArgsConstructor
+@Tag(name = "Saved Searches", description = "保存済み検索条件API")
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    @GetMapping
+    @Operation(summary = "検索条件一覧", description = "保存済み検索条件を取得")
+    public ResponseEntity<List<SavedSearchDto.Response>> getSavedSearches() {
+        return ResponseEntity.ok(savedSearchService.getSavedSearches());
+    }
+
+    @PostMapping
+    @Operation(summary = "検索条件登録", description = "検索条件を保存（notifyEnabled=true の場合は新規案件の取り込み時に照合）")
+    public ResponseEntity<SavedSearchDto.Response> createSavedSearch(@RequestBody SavedSearchDto.Request request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(savedSearchService.createSavedSearch(request));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "検索条件削除", description = "検索条件と一致履歴を削除")
+    public ResponseEntity<Void> deleteSavedSearch(@PathVariable Long id) {
+        return savedSearchService.deleteSavedSearch(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/{id}/matches")
+    @Operation(summary = "一致案件一覧", description = "検索条件に一致した新着案件を新しい順に取得")
+    public ResponseEntity<Page<SavedSearchDto.Match>> getMatches(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(savedSearchService.getMatches(id, page, size));
+    }
+}
@@ -0,0 +1,68 @@
+package com.sesjob.controller;
+
+import com.sesjob.dto.SkillDto;
+import com.sesjob.service.SkillNormalizer;
+import com.sesjob.service.SkillService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/skills")
+@RequiredArgsConstructor
+@Tag(name = "Skills", description = "スキルマスターAPI")
+public class SkillController {
+
+    private final SkillService skillService;
+    private final SkillNormalizer skillNormalizer;
+
+    @GetMapping
+    @Operation(summary = "スキル一覧", description = "スキルマスターを取得（カテゴリで絞り込み可）")
+    public ResponseEntity<List<SkillDto.Response>> getSkills(@RequestParam(required = false) String category) {
+        return ResponseEntity.ok(skillService.getSkills(category));
+    }
+
+    @PostMapping
+    @Operation(summary = "スキル登録", description = "スキルと別名を登録し、正規化辞書を再構築")
+    public ResponseEntity<SkillDto.Response> createSkill(@RequestBody SkillDto.Request request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return skillService.createSkill(request)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "スキル更新", description = "スキルと別名を更新し、正規化辞書を再構築")
+    public ResponseEntity<SkillDto.Response> updateSkill(
+            @PathVariable Long id,
+            @RequestBody SkillDto.Request request) {
+        return skillService.updateSkill(id, request)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "正規化辞書再構築", description = "DB を直接変更した場合にスキルマスターを再読み込み")
+    public ResponseEntity<Void> refresh() {
+        skillNormalizer.rebuild();
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/reindex")
+    @Operation(summary = "案件スキル再正規化", description = "既存案件の正規スキルを現在のスキルマスターで作り直す")
+    public ResponseEntity<SkillDto.ReindexResponse> reindex() {
+        long startedAt = System.currentTimeMillis();
+        long processed = skillNormalizer.reindex();
+        return ResponseEntity.ok(SkillDto.ReindexResponse.builder()
+                .processed(processed)
+                .elapsedMs(System.currentTimeMillis() - startedAt)
+                .build());
+    }
+}
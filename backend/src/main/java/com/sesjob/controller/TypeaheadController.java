@@ -0,0 +1,30 @@
+package com.sesjob.controller;
+
+import com.sesjob.dto.TypeaheadDto;
+import com.sesjob.service.TypeaheadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/typeahead")
+@RequiredArgsConstructor
+@Tag(name = "Typeahead", description = "入力補完API")
+public class TypeaheadController {
+
+    private final TypeaheadService typeaheadService;
+
+    @GetMapping
+    @Operation(summary = "入力補完", description = "スキル（名称・別名）・勤務地・会社名の前方一致候補を案件数の多い順に取得"
+            + "（type 未指定時は全種別）")
+    public ResponseEntity<List<TypeaheadDto.Suggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) TypeaheadDto.Type type,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(typeaheadService.suggest(q, type, Math.min(limit, 50)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.sesjob.dto;
+
+import com.sesjob.entity.CrawlRun.RunStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * クロール実行履歴DTO
+ */
+public class CrawlRunDto {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Response {
+        private Long id;
+        private String source;
+        private RunStatus status;
+        private long seenCount;
+        private long createdCount;
+        private long updatedCount;
+        private long unchangedCount;
+        private long closedCount;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private Long durationMs;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OpenRequest {
+        private String source;
+    }
+}
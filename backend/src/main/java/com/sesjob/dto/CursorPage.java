@@ -0,0 +1,20 @@
+package com.sesjob.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * カーソル方式のページ
+ * nextCursor を次回リクエストの cursor に渡すと続きを取得できる（最終ページでは null）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.sesjob.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * 絞り込み候補の件数付きページ
+ * 通常の Page と同じ JSON に facets を追加する
+ */
+public class FacetPage<T> extends PageImpl<T> {
+
+    private final StatsDto.Facets facets;
+
+    public FacetPage(Page<T> page, StatsDto.Facets facets) {
+        super(page.getContent(), page.getPageable(), page.getTotalElements());
+        this.facets = facets;
+    }
+
+    public StatsDto.Facets getFacets() {
+        return facets;
+    }
+}
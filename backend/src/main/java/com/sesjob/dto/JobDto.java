@@ -44,6 +44,7 @@ public class JobDto {
         private String description;
         private JobStatus status;
         private Boolean isFavorite;
+        private Long canonicalJobId;
         private LocalDateTime postedAt;
         private LocalDateTime crawledAt;
         private LocalDateTime createdAt;
@@ -108,4 +109,65 @@ public class JobDto {
         private Boolean isFavorite;
         private LocalDateTime postedAt;
     }
+
+    /**
+     * 一括登録結果（1件ごとの応答）
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IngestAck {
+        private Long id;
+        private String sourceUrl;
+        private IngestAction action;
+    }
+
+    /**
+     * ストリーミング登録の進捗（NDJSON 1行分）
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IngestProgress {
+        private int chunk;
+        private long processed;
+        private long created;
+        private long updated;
+        private long unchanged;
+        private boolean done;
+        private String error;
+    }
+
+    /**
+     * 非同期登録の進捗
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IngestStatus {
+        private String ingestId;
+        private IngestState state;
+        private int total;
+        private int processed;
+        private int created;
+        private int updated;
+        private int unchanged;
+        private int failed;
+        private String error;
+        private Double jobsPerSecond;
+        private LocalDateTime submittedAt;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+    }
+
+    public enum IngestState {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public enum IngestAction {
+        CREATED, UPDATED, UNCHANGED
+    }
 }
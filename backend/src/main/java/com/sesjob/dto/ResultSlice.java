@@ -0,0 +1,22 @@
+package com.sesjob.dto;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * 件数を数えないページ（次ページの有無のみ）
+ * 同じ条件の件数がキャッシュにあれば cachedTotal に付与する（なければ null）
+ */
+public class ResultSlice<T> extends SliceImpl<T> {
+
+    private final Long cachedTotal;
+
+    public ResultSlice(Slice<T> slice, Long cachedTotal) {
+        super(slice.getContent(), slice.getPageable(), slice.hasNext());
+        this.cachedTotal = cachedTotal;
+    }
+
+    public Long getCachedTotal() {
+        return cachedTotal;
+    }
+}
@@ -0,0 +1,46 @@
+package com.sesjob.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 保存済み検索条件DTO
+ */
+public class SavedSearchDto {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Response {
+        private Long id;
+        private String name;
+        private SearchRequest conditions;
+        private Boolean notifyEnabled;
+        private LocalDateTime createdAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        private String name;
+        private SearchRequest conditions;
+        private Boolean notifyEnabled;
+    }
+
+    /**
+     * 検索条件に一致した新着案件
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Match {
+        private Long jobId;
+        private String title;
+        private Integer maxPrice;
+        private LocalDateTime matchedAt;
+    }
+}
@@ -9,20 +9,33 @@ import java.util.List;
  * 検索条件DTO
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class SearchRequest {
 
     private String keyword;
     private List<String> skills;
+    private SkillMatch skillMatch;
     private Integer minPrice;
     private Integer maxPrice;
     private String location;
     private RemoteType remoteType;
     private List<String> sources;
+    private Boolean collapseDuplicates;
+    private Boolean includeClosed;
+    private Boolean includeFacets;
+    private Boolean withCount;
     private String sortBy;
     private String sortOrder;
     private Integer page;
     private Integer size;
+    private String cursor;
+
+    /**
+     * スキル条件の結合方法（デフォルトは ALL）
+     */
+    public enum SkillMatch {
+        ALL, ANY
+    }
 }
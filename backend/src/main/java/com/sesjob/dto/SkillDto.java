@@ -0,0 +1,40 @@
+package com.sesjob.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * スキルマスターDTO
+ */
+public class SkillDto {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Response {
+        private Long id;
+        private String name;
+        private String category;
+        private List<String> aliases;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        private String name;
+        private String category;
+        private List<String> aliases;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReindexResponse {
+        private long processed;
+        private long elapsedMs;
+    }
+}
@@ -2,6 +2,8 @@ package com.sesjob.dto;
 
 import lombok.*;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,6 +21,8 @@ public class StatsDto {
         private long favoriteJobs;
         private Double averagePrice;
         private Map<String, Long> jobsBySource;
+        private Map<String, Long> jobsByStatus;
+        private Map<String, Long> jobsByRemoteType;
     }
 
     @Data
@@ -30,4 +34,51 @@ public class StatsDto {
         private long count;
         private Double averagePrice;
     }
+
+    /**
+     * 検索条件に対する絞り込み候補ごとの件数
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Facets {
+        private Map<String, Long> sources;
+        private Map<String, Long> remoteTypes;
+        private Map<String, Long> priceRanges;
+        private List<SkillStats> skills;
+    }
+
+    /**
+     * 期間ごとの新規掲載案件の単価推移
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceTrend {
+        private LocalDate period;
+        private long count;
+        private long pricedCount;
+        private Double averagePrice;
+        private Double medianPrice;
+        private Double p90Price;
+    }
+
+    /**
+     * 検索結果キャッシュの統計
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheStats {
+        private int size;
+        private int maxEntries;
+        private long hits;
+        private long misses;
+        private Double hitRate;
+        private long evictions;
+        private long generation;
+    }
 }
@@ -0,0 +1,26 @@
+package com.sesjob.dto;
+
+import lombok.*;
+
+/**
+ * 入力補完DTO
+ */
+public class TypeaheadDto {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Suggestion {
+        private Type type;
+        private String value;
+        private long count;
+    }
+
+    /**
+     * 補完対象
+     */
+    public enum Type {
+        SKILL, LOCATION, COMPANY
+    }
+}
@@ -0,0 +1,64 @@
+package com.sesjob.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * クロール実行履歴エンティティ
+ * ソースごとの 1 回のクロールで確認・登録・更新・終了した件数を保持
+ */
+@Entity
+@Table(name = "crawl_runs", indexes = {
+        @Index(name = "idx_crawl_runs_source_started_at", columnList = "source, started_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CrawlRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source", nullable = false, length = 50)
+    private String source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private RunStatus status = RunStatus.RUNNING;
+
+    @Column(name = "seen_count", nullable = false)
+    @Builder.Default
+    private Long seenCount = 0L;
+
+    @Column(name = "created_count", nullable = false)
+    @Builder.Default
+    private Long createdCount = 0L;
+
+    @Column(name = "updated_count", nullable = false)
+    @Builder.Default
+    private Long updatedCount = 0L;
+
+    @Column(name = "unchanged_count", nullable = false)
+    @Builder.Default
+    private Long unchangedCount = 0L;
+
+    @Column(name = "closed_count", nullable = false)
+    @Builder.Default
+    private Long closedCount = 0L;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum RunStatus {
+        RUNNING, COMPLETED, ABORTED
+    }
+}
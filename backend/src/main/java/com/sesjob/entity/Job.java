@@ -17,8 +17,13 @@ import java.util.List;
 @Table(name = "jobs", uniqueConstraints = @UniqueConstraint(columnNames = { "source", "source_url" }), indexes = {
         @Index(name = "idx_jobs_status", columnList = "status"),
         @Index(name = "idx_jobs_source", columnList = "source"),
-        @Index(name = "idx_jobs_posted_at", columnList = "posted_at"),
-        @Index(name = "idx_jobs_max_price", columnList = "max_price")
+        @Index(name = "idx_jobs_canonical_job_id", columnList = "canonical_job_id"),
+        // キーセットページング用（NULL の行は別に id 順で読むため、NULLS LAST 指定のない索引で足りる）
+        @Index(name = "idx_jobs_crawled_at_id", columnList = "crawled_at, id"),
+        @Index(name = "idx_jobs_posted_at_id", columnList = "posted_at, id"),
+        @Index(name = "idx_jobs_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_jobs_max_price_id", columnList = "max_price, id"),
+        @Index(name = "idx_jobs_min_price_id", columnList = "min_price, id")
 })
 @Getter
 @Setter
@@ -94,8 +99,7 @@ public class Job {
     @Column(name = "industry", length = 100)
     private String industry;
 
-    @Column(name = "description", columnDefinition = "TEXT")
-    private String description;
+    // 説明文は JobDescription（job_descriptions）に分離
 
     // メタ情報
     @Enumerated(EnumType.STRING)
@@ -113,6 +117,21 @@ public class Job {
     @Column(name = "crawled_at", nullable = false)
     private LocalDateTime crawledAt;
 
+    // 最後にクロールで確認された日時（内容に変更がなくても更新）
+    @Column(name = "last_seen_at")
+    private LocalDateTime lastSeenAt;
+
+    // 内容のフィンガープリント（SHA-256）
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // 重複検知（他ソースの同一案件は canonical_job_id で代表案件にまとめる）
+    @Column(name = "simhash")
+    private Long simhash;
+
+    @Column(name = "canonical_job_id")
+    private Long canonicalJobId;
+
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
@@ -0,0 +1,25 @@
+package com.sesjob.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 案件説明文エンティティ
+ * 一覧・検索・通知で読み込む jobs の行を小さく保つため、説明文は別テーブルに持ち詳細表示時のみ取得する
+ */
+@Entity
+@Table(name = "job_descriptions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobDescription {
+
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(name = "content", columnDefinition = "TEXT")
+    private String content;
+}
@@ -0,0 +1,39 @@
+package com.sesjob.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 案件 × 正規スキルの対応エンティティ
+ * 取り込み時にスキルマスターで正規化した結果を保持
+ */
+@Entity
+@Table(name = "job_skills", indexes = {
+        @Index(name = "idx_job_skills_skill_job", columnList = "skill_id, job_id")
+})
+@IdClass(JobSkill.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobSkill {
+
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Id
+    @Column(name = "skill_id")
+    private Long skillId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long jobId;
+        private Long skillId;
+    }
+}
@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
  * 通知履歴エンティティ
  */
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_search_id", columnList = "search_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,50 @@
+package com.sesjob.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 単価推移の日次バケットエンティティ
+ * (日付, ソース, 正規スキル) ごとに、その日に新規掲載された案件の件数・単価合計と単価の分位点スケッチを保持
+ * skill_id = 0 はスキルを問わない集計。取り込みごとに行を追加し、過去日の行は定期的に 1 行へまとめる
+ */
+@Entity
+@Table(name = "price_trend_buckets", indexes = {
+        @Index(name = "idx_price_trend_buckets_key", columnList = "skill_id, source, bucket_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceTrendBucket {
+
+    public static final long ALL_SKILLS = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(name = "source", nullable = false, length = 50)
+    private String source;
+
+    @Column(name = "skill_id", nullable = false)
+    private Long skillId;
+
+    @Column(name = "job_count", nullable = false)
+    private Long jobCount;
+
+    @Column(name = "price_count", nullable = false)
+    private Long priceCount;
+
+    @Column(name = "price_sum", nullable = false)
+    private Long priceSum;
+
+    @Column(name = "sketch", nullable = false, length = 8192)
+    private byte[] sketch;
+}
@@ -0,0 +1,78 @@
+package com.sesjob.notification;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * チャネル単位のサーキットブレーカー
+ * 連続失敗が閾値に達すると一定時間送信を止め、経過後は 1 件だけ試行して成功すれば再開する
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * 送信してよいか（OPEN 期間経過後は試行 1 件のみ許可）
+     */
+    synchronized boolean tryAcquire() {
+        if (openedAt == null) {
+            return true;
+        }
+        if (trialInFlight || Instant.now().isBefore(openedAt.plus(openDuration))) {
+            return false;
+        }
+        trialInFlight = true;
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        openedAt = null;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (openedAt != null || consecutiveFailures >= failureThreshold) {
+            openedAt = Instant.now();
+        }
+    }
+
+    /**
+     * 次に送信を試行できる時刻（CLOSED なら現在時刻）
+     * 試行中の場合はその結果が分からないため、もう 1 期間後とする
+     */
+    synchronized Instant reopensAt() {
+        Instant now = Instant.now();
+        if (openedAt == null) {
+            return now;
+        }
+        if (trialInFlight) {
+            return now.plus(openDuration);
+        }
+        Instant reopensAt = openedAt.plus(openDuration);
+        return reopensAt.isAfter(now) ? reopensAt : now;
+    }
+
+    synchronized State state() {
+        if (openedAt == null) {
+            return State.CLOSED;
+        }
+        return trialInFlight || !Instant.now().isBefore(openedAt.plus(openDuration)) ? State.HALF_OPEN : State.OPEN;
+    }
+}
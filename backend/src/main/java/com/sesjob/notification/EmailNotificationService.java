@@ -15,11 +15,26 @@ import java.util.List;
  */
 @Service
 @Slf4j
-public class EmailNotificationService {
+public class EmailNotificationService implements NotificationChannel {
 
     @Autowired(required = false)
     private JavaMailSender mailSender;
 
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    /**
+     * SMTP の接続・読み取りタイムアウトは spring.mail.properties で設定する
+     */
+    @Override
+    public boolean isEnabled(NotificationSettings settings) {
+        return mailSender != null && Boolean.TRUE.equals(settings.getEmailEnabled())
+                && settings.getEmailAddress() != null;
+    }
+
+    @Override
     public boolean sendNewJobsNotification(NotificationSettings settings, List<Job> jobs) {
         if (mailSender == null) {
             log.warn("Email notification skipped: JavaMailSender is not configured");
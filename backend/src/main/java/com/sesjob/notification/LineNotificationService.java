@@ -3,9 +3,12 @@ package com.sesjob.notification;
 import com.sesjob.entity.Job;
 import com.sesjob.entity.NotificationSettings;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,13 +18,33 @@ import java.util.Map;
  */
 @Service
 @Slf4j
-public class LineNotificationService {
+public class LineNotificationService implements NotificationChannel {
 
     private static final String LINE_NOTIFY_API = "https://notify-api.line.me/api/notify";
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
 
+    public LineNotificationService(RestTemplateBuilder restTemplateBuilder,
+            @Value("${notification.line.connect-timeout:PT3S}") Duration connectTimeout,
+            @Value("${notification.line.read-timeout:PT10S}") Duration readTimeout) {
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(connectTimeout)
+                .setReadTimeout(readTimeout)
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "line";
+    }
+
+    @Override
+    public boolean isEnabled(NotificationSettings settings) {
+        return Boolean.TRUE.equals(settings.getLineEnabled()) && settings.getLineToken() != null;
+    }
+
+    @Override
     public boolean sendNewJobsNotification(NotificationSettings settings, List<Job> jobs) {
-        if (!settings.getLineEnabled() || settings.getLineToken() == null) {
+        if (!isEnabled(settings)) {
             return false;
         }
 
@@ -0,0 +1,27 @@
+package com.sesjob.notification;
+
+import com.sesjob.entity.Job;
+import com.sesjob.entity.NotificationSettings;
+
+import java.util.List;
+
+/**
+ * 通知チャネル（メール・LINE・Slack）
+ */
+public interface NotificationChannel {
+
+    /**
+     * チャネル名（テスト通知のパス・メトリクスのタグに使う）
+     */
+    String name();
+
+    /**
+     * 設定上このチャネルで送信するかどうか
+     */
+    boolean isEnabled(NotificationSettings settings);
+
+    /**
+     * 新着案件を送信し、成功したかどうかを返す（失敗は例外にせず false）
+     */
+    boolean sendNewJobsNotification(NotificationSettings settings, List<Job> jobs);
+}
@@ -0,0 +1,188 @@
+package com.sesjob.notification;
+
+import com.sesjob.entity.Job;
+import com.sesjob.entity.NotificationSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 通知の並列送信
+ * 有効なチャネルを専用スレッドプールで同時に送信し、全体の期限までに終わらなかったチャネルは失敗として扱う
+ * チャネルごとにサーキットブレーカーを持ち、連続して失敗しているチャネルへの送信は一定時間見送る（失敗とは区別して返す）
+ * 送信時間は /actuator/metrics/sesjob.notification.latency?tag=channel:slack などで参照できる
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final Map<String, NotificationChannel> channels = new LinkedHashMap<>();
+    private final Map<String, CircuitBreaker> breakers = new HashMap<>();
+    private final MeterRegistry registry;
+
+    @Value("${notification.dispatch.threads:4}")
+    private int threads;
+
+    @Value("${notification.dispatch.deadline:PT30S}")
+    private Duration deadline;
+
+    @Value("${notification.dispatch.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${notification.dispatch.open-duration:PT5M}")
+    private Duration openDuration;
+
+    private ExecutorService executor;
+
+    public NotificationDispatcher(List<NotificationChannel> channels, MeterRegistry registry) {
+        channels.forEach(channel -> this.channels.put(channel.name(), channel));
+        this.registry = registry;
+    }
+
+    @PostConstruct
+    void start() {
+        channels.keySet().forEach(name -> breakers.put(name, new CircuitBreaker(failureThreshold, openDuration)));
+        executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("notification-"));
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 有効な全チャネルに送信し、チャネル名 → 成否を返す（トランザクション外で呼ぶ）
+     */
+    public Map<String, Boolean> dispatch(NotificationSettings settings, List<Job> jobs) {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        send(channels.values().stream().filter(channel -> channel.isEnabled(settings)).toList(), settings, jobs)
+                .forEach((name, delivery) -> results.put(name, delivery.sent()));
+        return results;
+    }
+
+    /**
+     * 指定チャネルのみ送信（未知のチャネル・無効なチャネルは false）
+     */
+    public boolean dispatch(String channelName, NotificationSettings settings, List<Job> jobs) {
+        return deliver(channelName, settings, jobs).sent();
+    }
+
+    /**
+     * 指定チャネルのみ送信し、送信しなかった場合（サーキットブレーカーが開いている）を失敗と区別して返す
+     * 未知のチャネル・無効なチャネルは失敗
+     */
+    public Delivery deliver(String channelName, NotificationSettings settings, List<Job> jobs) {
+        NotificationChannel channel = channels.get(channelName);
+        if (channel == null || !channel.isEnabled(settings)) {
+            return Delivery.FAILED;
+        }
+        return send(List.of(channel), settings, jobs).getOrDefault(channel.name(), Delivery.FAILED);
+    }
+
+    /**
+     * 設定上送信するチャネル名
+     */
+    public List<String> enabledChannels(NotificationSettings settings) {
+        return channels.values().stream().filter(channel -> channel.isEnabled(settings)).map(NotificationChannel::name)
+                .toList();
+    }
+
+    // Private helper methods
+
+    private Map<String, Delivery> send(List<NotificationChannel> targets, NotificationSettings settings,
+            List<Job> jobs) {
+        Map<String, Delivery> results = new LinkedHashMap<>();
+        Map<String, Future<Boolean>> futures = new LinkedHashMap<>();
+        for (NotificationChannel channel : targets) {
+            CircuitBreaker breaker = breakers.get(channel.name());
+            if (!breaker.tryAcquire()) {
+                log.warn("Skipped {} notification: circuit open after repeated failures", channel.name());
+                timer(channel.name(), "rejected").record(Duration.ZERO);
+                results.put(channel.name(), Delivery.rejected(breaker.reopensAt()));
+                continue;
+            }
+            futures.put(channel.name(), executor.submit(() -> sendOne(channel, breaker, settings, jobs)));
+        }
+
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        futures.forEach((name, future) -> {
+            try {
+                long remaining = Math.max(deadlineNanos - System.nanoTime(), 0);
+                results.put(name, future.get(remaining, TimeUnit.NANOSECONDS) ? Delivery.SENT : Delivery.FAILED);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Gave up waiting for {} notification after {}", name, deadline);
+                results.put(name, Delivery.FAILED);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                results.put(name, Delivery.FAILED);
+            } catch (ExecutionException e) {
+                log.error("Failed to send {} notification: {}", name, e.getCause().getMessage());
+                results.put(name, Delivery.FAILED);
+            }
+        });
+        return results;
+    }
+
+    /**
+     * 1 チャネルの送信（期限切れで打ち切られた場合も、タイムアウトで戻った時点で成否を記録する）
+     */
+    private boolean sendOne(NotificationChannel channel, CircuitBreaker breaker, NotificationSettings settings,
+            List<Job> jobs) {
+        long startedAt = System.nanoTime();
+        boolean sent = false;
+        try {
+            sent = channel.sendNewJobsNotification(settings, jobs);
+            return sent;
+        } finally {
+            if (sent) {
+                breaker.onSuccess();
+            } else {
+                breaker.onFailure();
+            }
+            timer(channel.name(), sent ? "success" : "failure").record(System.nanoTime() - startedAt,
+                    TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String channel, String outcome) {
+        return Timer.builder("sesjob.notification.latency")
+                .description("Time spent delivering a notification to one channel")
+                .tag("channel", channel)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * 1 チャネルの送信結果
+     * REJECTED はサーキットブレーカーが開いていて送信を試みなかった場合で、retryAt に再開予定時刻を持つ
+     */
+    public record Delivery(Outcome outcome, Instant retryAt) {
+
+        public static final Delivery SENT = new Delivery(Outcome.SENT, null);
+        public static final Delivery FAILED = new Delivery(Outcome.FAILED, null);
+
+        public static Delivery rejected(Instant retryAt) {
+            return new Delivery(Outcome.REJECTED, retryAt);
+        }
+
+        public boolean sent() {
+            return outcome == Outcome.SENT;
+        }
+
+        public enum Outcome {
+            SENT, FAILED, REJECTED
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.sesjob.notification;
+
+import com.sesjob.entity.Job;
+import com.sesjob.entity.NotificationSettings;
+import com.sesjob.service.AhoCorasick;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * 通知設定をコンパイルした案件フィルター
+ * スキル条件（カンマ区切り）は小文字化して 1 つのオートマトンにまとめ、案件のスキルごとに 1 回走査して部分一致を判定する
+ * 不変のため、設定が変わるまで複数スレッドで使い回してよい
+ */
+public final class NotificationFilter {
+
+    private final Integer minPriceThreshold;
+    private final boolean remoteOnly;
+    private final String skillsFilter;
+    private final AhoCorasick skillMatcher;
+
+    private NotificationFilter(Integer minPriceThreshold, boolean remoteOnly, String skillsFilter,
+            AhoCorasick skillMatcher) {
+        this.minPriceThreshold = minPriceThreshold;
+        this.remoteOnly = remoteOnly;
+        this.skillsFilter = skillsFilter;
+        this.skillMatcher = skillMatcher;
+    }
+
+    public static NotificationFilter compile(NotificationSettings settings) {
+        String skillsFilter = settings.getSkillsFilter();
+        AhoCorasick skillMatcher = null;
+        if (skillsFilter != null && !skillsFilter.isBlank()) {
+            List<String> terms = Arrays.stream(skillsFilter.split(","))
+                    .map(String::trim)
+                    .map(term -> term.toLowerCase(Locale.ROOT))
+                    .filter(term -> !term.isEmpty())
+                    .distinct()
+                    .toList();
+            if (!terms.isEmpty()) {
+                skillMatcher = AhoCorasick.build(terms);
+            }
+        }
+        return new NotificationFilter(settings.getMinPriceThreshold(), Boolean.TRUE.equals(settings.getRemoteOnly()),
+                skillsFilter, skillMatcher);
+    }
+
+    /**
+     * 設定のフィルター条件がコンパイル時と同じかどうか
+     */
+    public boolean isCompiledFrom(NotificationSettings settings) {
+        return Objects.equals(minPriceThreshold, settings.getMinPriceThreshold())
+                && remoteOnly == Boolean.TRUE.equals(settings.getRemoteOnly())
+                && Objects.equals(skillsFilter, settings.getSkillsFilter());
+    }
+
+    public List<Job> filter(List<Job> jobs) {
+        return jobs.stream().filter(this::matches).toList();
+    }
+
+    /**
+     * 単価が閾値以上（単価不明は通す）、リモート可（remoteOnly の場合）、
+     * いずれかのスキルが条件のいずれかを含む（スキル不明は通す）案件
+     */
+    public boolean matches(Job job) {
+        if (minPriceThreshold != null && job.getMaxPrice() != null && job.getMaxPrice() < minPriceThreshold) {
+            return false;
+        }
+        if (remoteOnly && (job.getRemoteType() == null || job.getRemoteType() == Job.RemoteType.NONE)) {
+            return false;
+        }
+        if (skillMatcher != null && job.getRequiredSkills() != null) {
+            for (String skill : job.getRequiredSkills()) {
+                if (skill != null && skillMatcher.containsAnyIgnoreCase(skill)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+}
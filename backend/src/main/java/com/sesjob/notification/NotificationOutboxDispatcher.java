@@ -0,0 +1,188 @@
+package com.sesjob.notification;
+
+import com.sesjob.entity.Job;
+import com.sesjob.entity.Notification;
+import com.sesjob.entity.NotificationOutbox;
+import com.sesjob.entity.NotificationOutbox.OutboxStatus;
+import com.sesjob.entity.NotificationSettings;
+import com.sesjob.repository.JobRepository;
+import com.sesjob.repository.NotificationOutboxRepository;
+import com.sesjob.repository.NotificationRepository;
+import com.sesjob.repository.NotificationSettingsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * 通知送信待ち（アウトボックス）のディスパッチャー
+ * 送信時刻に達した行をバッチで確保し、チャネルごとに 1 通にまとめてトランザクション外で送信する
+ * 成功した行は SENT にして通知履歴（notifications）に記録し、失敗した行は指数バックオフで再試行する
+ * サーキットブレーカーが開いていて送信しなかった行は、試行回数を増やさずにブレーカーの再開まで待つ
+ * 送信後、SENT にする前にプロセスが停止した場合のみ、同じ行が再送されうる
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxDispatcher {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationSettingsRepository settingsRepository;
+    private final JobRepository jobRepository;
+    private final NotificationDispatcher dispatcher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notification.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.initial-backoff:PT1M}")
+    private Duration initialBackoff;
+
+    @Value("${notification.outbox.max-backoff:PT6H}")
+    private Duration maxBackoff;
+
+    @Value("${notification.outbox.lease:PT5M}")
+    private Duration lease;
+
+    /**
+     * 送信待ちがなくなるまでバッチ単位で送信
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:PT30S}",
+            initialDelayString = "${notification.outbox.poll-interval:PT30S}")
+    public void drain() {
+        int claimed;
+        do {
+            claimed = drainBatch();
+        } while (claimed >= batchSize);
+    }
+
+    // Private helper methods
+
+    private int drainBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(lease);
+
+        // 他インスタンスと同じ行を送らないよう、1 行ずつ確保する
+        List<NotificationOutbox> claimed = outboxRepository.findDue(now, PageRequest.of(0, batchSize)).stream()
+                .filter(entry -> outboxRepository.claim(entry.getId(), now, leaseUntil) == 1)
+                .toList();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        NotificationSettings settings = settingsRepository.getOrCreateSettings();
+        Set<String> enabled = new HashSet<>(dispatcher.enabledChannels(settings));
+        Map<Long, Job> jobs = new HashMap<>();
+        jobRepository.findAllById(claimed.stream().map(NotificationOutbox::getJobId).distinct().toList())
+                .forEach(job -> jobs.put(job.getId(), job));
+
+        Map<String, List<NotificationOutbox>> byChannel = new LinkedHashMap<>();
+        claimed.forEach(entry -> byChannel.computeIfAbsent(entry.getChannel(), c -> new ArrayList<>()).add(entry));
+        byChannel.forEach((channel, entries) -> {
+            // 登録後に無効化されたチャネル・削除された案件は送らない
+            List<NotificationOutbox> deliverable = new ArrayList<>();
+            List<Long> cancelled = new ArrayList<>();
+            for (NotificationOutbox entry : entries) {
+                if (enabled.contains(channel) && jobs.containsKey(entry.getJobId())) {
+                    deliverable.add(entry);
+                } else {
+                    cancelled.add(entry.getId());
+                }
+            }
+            if (!cancelled.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> cancel(cancelled));
+            }
+            if (deliverable.isEmpty()) {
+                return;
+            }
+
+            List<Job> batch = deliverable.stream().map(entry -> jobs.get(entry.getJobId())).toList();
+            NotificationDispatcher.Delivery delivery = dispatcher.deliver(channel, settings, batch);
+            List<Long> ids = deliverable.stream().map(NotificationOutbox::getId).toList();
+            transactionTemplate.executeWithoutResult(status -> {
+                switch (delivery.outcome()) {
+                    case SENT -> markSent(ids, batch, channel);
+                    case FAILED -> markFailed(ids);
+                    case REJECTED -> postpone(ids, channel, delivery.retryAt());
+                }
+            });
+        });
+        return claimed.size();
+    }
+
+    private void markSent(List<Long> ids, List<Job> jobs, String channel) {
+        LocalDateTime sentAt = LocalDateTime.now();
+        for (NotificationOutbox entry : outboxRepository.findAllById(ids)) {
+            entry.setStatus(OutboxStatus.SENT);
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setSentAt(sentAt);
+            entry.setLastError(null);
+        }
+        notificationRepository.saveAll(jobs.stream()
+                .map(job -> Notification.builder()
+                        .job(job)
+                        .channel(channel)
+                        .sentAt(sentAt)
+                        .build())
+                .toList());
+        log.info("Delivered {} notifications via {}", ids.size(), channel);
+    }
+
+    private void markFailed(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        int gaveUp = 0;
+        for (NotificationOutbox entry : outboxRepository.findAllById(ids)) {
+            int attempts = entry.getAttempts() + 1;
+            entry.setAttempts(attempts);
+            entry.setLastError("Delivery failed");
+            if (attempts >= maxAttempts) {
+                entry.setStatus(OutboxStatus.FAILED);
+                gaveUp++;
+            } else {
+                entry.setNextAttemptAt(now.plus(backoff(attempts)));
+            }
+        }
+        log.warn("Failed to deliver {} notifications, {} gave up after {} attempts", ids.size(), gaveUp,
+                maxAttempts);
+    }
+
+    /**
+     * サーキットブレーカーで送信を見送った行は試行回数を増やさず、ブレーカーの再開予定時刻まで待つ
+     */
+    private void postpone(List<Long> ids, String channel, Instant retryAt) {
+        LocalDateTime nextAttemptAt = LocalDateTime.ofInstant(retryAt, ZoneId.systemDefault());
+        for (NotificationOutbox entry : outboxRepository.findAllById(ids)) {
+            entry.setNextAttemptAt(nextAttemptAt);
+            entry.setLastError("Circuit open");
+        }
+        log.info("Postponed {} notifications via {} until {}: circuit open", ids.size(), channel, nextAttemptAt);
+    }
+
+    private void cancel(List<Long> ids) {
+        for (NotificationOutbox entry : outboxRepository.findAllById(ids)) {
+            entry.setStatus(OutboxStatus.CANCELLED);
+        }
+        log.info("Cancelled {} notifications for disabled channels or deleted jobs", ids.size());
+    }
+
+    /**
+     * initialBackoff × 2^(attempts-1)（maxBackoff で頭打ち）
+     */
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
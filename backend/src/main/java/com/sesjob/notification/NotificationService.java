@@ -1,104 +1,117 @@
 package com.sesjob.notification;
 
 import com.sesjob.entity.Job;
+import com.sesjob.entity.NotificationOutbox;
 import com.sesjob.entity.NotificationSettings;
+import com.sesjob.repository.JobRepository;
+import com.sesjob.repository.NotificationOutboxRepository;
 import com.sesjob.repository.NotificationSettingsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
  * 通知サービス - 統合管理
+ * 新着案件の検出時に送信待ち（アウトボックス）へ登録し、送信は NotificationOutboxDispatcher に任せる
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
+    private static final int ENQUEUE_CHUNK_SIZE = 500;
+
     private final NotificationSettingsRepository settingsRepository;
-    private final EmailNotificationService emailService;
-    private final LineNotificationService lineService;
-    private final SlackNotificationService slackService;
+    private final NotificationOutboxRepository outboxRepository;
+    private final JobRepository jobRepository;
+    private final NotificationDispatcher dispatcher;
+
+    @Value("${notification.collapse-duplicates:true}")
+    private boolean collapseDuplicates;
+
+    private final AtomicReference<NotificationFilter> filter = new AtomicReference<>();
 
     /**
-     * 新着案件を通知
+     * 前回の検出以降に取り込まれた新着案件を、有効なチャネルごとに送信待ちへ登録（検出と登録は同じトランザクション）
+     * (案件, チャネル) ごとに 1 行しか登録しないため、検出期間が重なっても二重には送信されない
+     * 送信は NotificationOutboxDispatcher がトランザクション外で行う
      */
     @Transactional
-    public void notifyNewJobs(List<Job> allJobs) {
+    public int discoverNewJobs() {
         NotificationSettings settings = settingsRepository.getOrCreateSettings();
+        LocalDateTime now = LocalDateTime.now();
 
-        // フィルタリング
-        List<Job> filteredJobs = filterJobs(allJobs, settings);
+        // 初回は24時間前から
+        LocalDateTime since = settings.getLastNotifiedAt() != null
+                ? settings.getLastNotifiedAt()
+                : now.minusHours(24);
+        List<Job> allJobs = jobRepository.findNewJobsSince(since);
 
-        if (filteredJobs.isEmpty()) {
-            log.info("No jobs matching notification criteria");
-            return;
-        }
+        // 他ソースの重複案件は代表案件のみ通知
+        List<Job> candidates = collapseDuplicates
+                ? allJobs.stream().filter(job -> job.getCanonicalJobId() == null).collect(Collectors.toList())
+                : allJobs;
 
-        log.info("Sending notifications for {} jobs", filteredJobs.size());
+        // フィルタリング
+        List<Job> filteredJobs = filterJobs(candidates, settings);
+        List<String> channels = dispatcher.enabledChannels(settings);
+        int enqueued = enqueue(filteredJobs, channels, now);
+
+        // 次回はこの検出時刻以降を対象にする
+        settingsRepository.updateLastNotifiedAt(settings.getId(), now);
+        log.info("Found {} new jobs since {}, {} match notification criteria, enqueued {} deliveries to {}",
+                allJobs.size(), since, filteredJobs.size(), enqueued, channels);
+        return enqueued;
+    }
 
-        // 各チャネルで通知
-        boolean emailSent = emailService.sendNewJobsNotification(settings, filteredJobs);
-        boolean lineSent = lineService.sendNewJobsNotification(settings, filteredJobs);
-        boolean slackSent = slackService.sendNewJobsNotification(settings, filteredJobs);
+    /**
+     * 未登録の (案件, チャネル) のみ送信待ちに登録
+     */
+    private int enqueue(List<Job> jobs, List<String> channels, LocalDateTime now) {
+        if (jobs.isEmpty() || channels.isEmpty()) {
+            return 0;
+        }
+        List<Long> jobIds = jobs.stream().map(Job::getId).toList();
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < jobIds.size(); from += ENQUEUE_CHUNK_SIZE) {
+            outboxRepository.findKeys(jobIds.subList(from, Math.min(from + ENQUEUE_CHUNK_SIZE, jobIds.size())))
+                    .forEach(row -> existing.add(row[0] + ":" + row[1]));
+        }
 
-        // 最終通知日時を更新
-        if (emailSent || lineSent || slackSent) {
-            settings.setLastNotifiedAt(LocalDateTime.now());
-            settingsRepository.save(settings);
-            log.info("Notification completed. Email: {}, LINE: {}, Slack: {}",
-                    emailSent, lineSent, slackSent);
+        List<NotificationOutbox> rows = new ArrayList<>();
+        for (Long jobId : jobIds) {
+            for (String channel : channels) {
+                if (!existing.contains(jobId + ":" + channel)) {
+                    rows.add(NotificationOutbox.builder()
+                            .jobId(jobId)
+                            .channel(channel)
+                            .nextAttemptAt(now)
+                            .createdAt(now)
+                            .build());
+                }
+            }
         }
+        outboxRepository.saveAll(rows);
+        return rows.size();
     }
 
     /**
-     * 設定条件に基づいてフィルタリング
+     * 設定条件に基づいてフィルタリング（コンパイル済みのフィルターを設定が変わるまで使い回す）
      */
     private List<Job> filterJobs(List<Job> jobs, NotificationSettings settings) {
-        return jobs.stream()
-                .filter(job -> {
-                    // 単価フィルター
-                    if (settings.getMinPriceThreshold() != null && job.getMaxPrice() != null) {
-                        if (job.getMaxPrice() < settings.getMinPriceThreshold()) {
-                            return false;
-                        }
-                    }
-
-                    // リモートフィルター
-                    if (Boolean.TRUE.equals(settings.getRemoteOnly())) {
-                        if (job.getRemoteType() == null ||
-                                job.getRemoteType() == Job.RemoteType.NONE) {
-                            return false;
-                        }
-                    }
-
-                    // スキルフィルター
-                    if (settings.getSkillsFilter() != null && !settings.getSkillsFilter().isBlank()) {
-                        List<String> requiredSkills = Arrays.stream(settings.getSkillsFilter().split(","))
-                                .map(String::trim)
-                                .map(String::toLowerCase)
-                                .filter(s -> !s.isEmpty())
-                                .collect(Collectors.toList());
-
-                        if (!requiredSkills.isEmpty() && job.getRequiredSkills() != null) {
-                            boolean hasMatchingSkill = job.getRequiredSkills().stream()
-                                    .anyMatch(skill -> requiredSkills.stream()
-                                            .anyMatch(req -> skill.toLowerCase().contains(req)));
-                            if (!hasMatchingSkill) {
-                                return false;
-                            }
-                        }
-                    }
-
-                    return true;
-                })
-                .collect(Collectors.toList());
+        NotificationFilter current = filter.get();
+        if (current == null || !current.isCompiledFrom(settings)) {
+            current = NotificationFilter.compile(settings);
+            filter.set(current);
+        }
+        return current.filter(jobs);
     }
 
     /**
@@ -162,11 +175,6 @@ public class NotificationService {
 
         List<Job> testJobs = List.of(testJob);
 
-        return switch (channel.toLowerCase()) {
-            case "email" -> emailService.sendNewJobsNotification(settings, testJobs);
-            case "line" -> lineService.sendNewJobsNotification(settings, testJobs);
-            case "slack" -> slackService.sendNewJobsNotification(settings, testJobs);
-            default -> false;
-        };
+        return dispatcher.dispatch(channel.toLowerCase(), settings, testJobs);
     }
 }
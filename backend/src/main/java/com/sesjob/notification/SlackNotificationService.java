@@ -3,12 +3,15 @@ package com.sesjob.notification;
 import com.sesjob.entity.Job;
 import com.sesjob.entity.NotificationSettings;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -19,12 +22,32 @@ import java.util.Map;
  */
 @Service
 @Slf4j
-public class SlackNotificationService {
+public class SlackNotificationService implements NotificationChannel {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
 
+    public SlackNotificationService(RestTemplateBuilder restTemplateBuilder,
+            @Value("${notification.slack.connect-timeout:PT3S}") Duration connectTimeout,
+            @Value("${notification.slack.read-timeout:PT10S}") Duration readTimeout) {
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(connectTimeout)
+                .setReadTimeout(readTimeout)
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "slack";
+    }
+
+    @Override
+    public boolean isEnabled(NotificationSettings settings) {
+        return Boolean.TRUE.equals(settings.getSlackEnabled()) && settings.getSlackWebhookUrl() != null;
+    }
+
+    @Override
     public boolean sendNewJobsNotification(NotificationSettings settings, List<Job> jobs) {
-        if (!settings.getSlackEnabled() || settings.getSlackWebhookUrl() == null) {
+        if (!isEnabled(settings)) {
             return false;
         }
 
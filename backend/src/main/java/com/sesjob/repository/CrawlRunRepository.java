@@ -0,0 +1,42 @@
+package com.sesjob.repository;
+
+import com.sesjob.entity.CrawlRun;
+import com.sesjob.entity.CrawlRun.RunStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CrawlRunRepository extends JpaRepository<CrawlRun, Long> {
+
+    Page<CrawlRun> findBySource(String source, Pageable pageable);
+
+    boolean existsByIdAndStatus(Long id, RunStatus status);
+
+    @Modifying
+    @Query("UPDATE CrawlRun r SET r.seenCount = r.seenCount + :created + :updated + :unchanged, "
+            + "r.createdCount = r.createdCount + :created, r.updatedCount = r.updatedCount + :updated, "
+            + "r.unchangedCount = r.unchangedCount + :unchanged "
+            + "WHERE r.id = :id AND r.status = 'RUNNING'")
+    int addCounts(@Param("id") Long id,
+            @Param("created") long created,
+            @Param("updated") long updated,
+            @Param("unchanged") long unchanged);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CrawlRun r SET r.status = :status, r.finishedAt = :finishedAt "
+            + "WHERE r.id = :id AND r.status = 'RUNNING'")
+    int finish(@Param("id") Long id,
+            @Param("status") RunStatus status,
+            @Param("finishedAt") LocalDateTime finishedAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CrawlRun r SET r.closedCount = :closedCount WHERE r.id = :id")
+    int setClosedCount(@Param("id") Long id, @Param("closedCount") long closedCount);
+}
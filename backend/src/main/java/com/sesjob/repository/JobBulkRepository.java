@@ -0,0 +1,474 @@
+package com.sesjob.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sesjob.dto.JobDto;
+import com.sesjob.entity.Job.JobStatus;
+import com.sesjob.entity.Job.RemoteType;
+import com.sesjob.entity.PriceTrendBucket;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 案件一括登録用リポジトリ
+ * JPA を経由せず JDBC バッチで INSERT / UPDATE を発行する
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class JobBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {
+    };
+
+    // 掲載終了後に再び確認された案件は NEW に戻す
+    private static final String REOPEN_STATUS = "CASE WHEN status = 'CLOSED' THEN 'NEW' ELSE status END";
+
+    private volatile String jsonPlaceholder;
+
+    /**
+     * 既存案件の (source, source_url) → id / content_hash / 統計用の属性を一括取得
+     * ソースごとに IN 句 1 回で解決する
+     */
+    public Map<String, Map<String, ExistingJob>> findExisting(Map<String, ? extends Collection<String>> urlsBySource) {
+        Map<String, Map<String, ExistingJob>> result = new HashMap<>();
+
+        urlsBySource.forEach((source, urls) -> {
+            if (urls.isEmpty()) {
+                return;
+            }
+            String sql = "SELECT id, source_url, content_hash, canonical_job_id, status, remote_type, is_favorite, "
+                    + "max_price FROM jobs "
+                    + "WHERE source = ? AND source_url IN ("
+                    + placeholders(urls.size()) + ")";
+
+            List<Object> params = new ArrayList<>(urls.size() + 1);
+            params.add(source);
+            params.addAll(urls);
+
+            Map<String, ExistingJob> jobs = new HashMap<>();
+            jdbcTemplate.query(sql, rs -> {
+                jobs.put(rs.getString("source_url"),
+                        new ExistingJob(rs.getLong("id"), rs.getString("content_hash"),
+                                rs.getObject("canonical_job_id", Long.class),
+                                enumOrNull(JobStatus.class, rs.getString("status")),
+                                enumOrNull(RemoteType.class, rs.getString("remote_type")),
+                                rs.getBoolean("is_favorite"), rs.getObject("max_price", Integer.class)));
+            }, params.toArray());
+            result.put(source, jobs);
+        });
+
+        return result;
+    }
+
+    /**
+     * 新規案件をバッチ INSERT
+     */
+    public void batchInsert(List<JobWrite> writes, LocalDateTime crawledAt) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        String json = jsonPlaceholder();
+        String sql = "INSERT INTO jobs (source, source_url, source_id, title, min_price, max_price, price_type, "
+                + "settlement_hours, required_skills, preferred_skills, experience_years, location, remote_type, "
+                + "work_days, start_date, contract_period, company_name, industry, status, "
+                + "is_favorite, posted_at, crawled_at, last_seen_at, content_hash, simhash, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, " + json + ", " + json
+                + ", ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        Timestamp now = Timestamp.valueOf(crawledAt);
+        jdbcTemplate.batchUpdate(sql, writes, writes.size(), (ps, write) -> {
+            JobDto.CreateRequest request = write.request();
+            ps.setString(1, request.getSource());
+            ps.setString(2, request.getSourceUrl());
+            int i = bindContent(ps, 3, request);
+            ps.setString(i++, JobStatus.NEW.name());
+            ps.setBoolean(i++, false);
+            setTimestamp(ps, i++, request.getPostedAt());
+            ps.setTimestamp(i++, now);
+            ps.setTimestamp(i++, now);
+            ps.setString(i++, write.contentHash());
+            ps.setLong(i++, write.simhash());
+            ps.setTimestamp(i, now);
+        });
+    }
+
+    /**
+     * 既存案件をバッチ UPDATE
+     */
+    public void batchUpdate(List<JobWrite> writes, LocalDateTime crawledAt) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        String json = jsonPlaceholder();
+        String sql = "UPDATE jobs SET source_id = ?, title = ?, min_price = ?, "
+                + "max_price = ?, price_type = ?, settlement_hours = ?, required_skills = " + json
+                + ", preferred_skills = " + json + ", experience_years = ?, location = ?, remote_type = ?, "
+                + "work_days = ?, start_date = ?, contract_period = ?, company_name = ?, industry = ?, "
+                + "posted_at = ?, crawled_at = ?, last_seen_at = ?, content_hash = ?, "
+                + "simhash = ?, status = " + REOPEN_STATUS + ", updated_at = ? WHERE id = ?";
+
+        Timestamp now = Timestamp.valueOf(crawledAt);
+        jdbcTemplate.batchUpdate(sql, writes, writes.size(), (ps, write) -> {
+            int i = bindContent(ps, 1, write.request());
+            setTimestamp(ps, i++, write.request().getPostedAt());
+            ps.setTimestamp(i++, now);
+            ps.setTimestamp(i++, now);
+            ps.setString(i++, write.contentHash());
+            ps.setLong(i++, write.simhash());
+            ps.setTimestamp(i++, now);
+            ps.setLong(i, write.id());
+        });
+    }
+
+    /**
+     * 内容に変更のない案件は last_seen_at のみ更新（終了済みなら再掲載として NEW に戻す）
+     */
+    public int touchLastSeen(Collection<Long> ids, LocalDateTime seenAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String sql = "UPDATE jobs SET last_seen_at = ?, status = " + REOPEN_STATUS
+                + " WHERE id IN (" + placeholders(ids.size()) + ")";
+
+        List<Object> params = new ArrayList<>(ids.size() + 1);
+        params.add(Timestamp.valueOf(seenAt));
+        params.addAll(ids);
+        return jdbcTemplate.update(sql, params.toArray());
+    }
+
+    /**
+     * 重複クラスタの代表案件をバッチ更新（値が null なら代表なし）
+     */
+    public void updateCanonical(Map<Long, Long> canonicalByJobId) {
+        if (canonicalByJobId.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(canonicalByJobId.entrySet());
+        jdbcTemplate.batchUpdate("UPDATE jobs SET canonical_job_id = ? WHERE id = ?", entries, entries.size(),
+                (ps, entry) -> {
+                    if (entry.getValue() != null) {
+                        ps.setLong(1, entry.getValue());
+                    } else {
+                        ps.setNull(1, Types.BIGINT);
+                    }
+                    ps.setLong(2, entry.getKey());
+                });
+    }
+
+    /**
+     * 代表案件が CLOSED で、掲載中の案件が残っている重複クラスタの所属案件を取得（代表案件自身は含まない）
+     * canonicalJobIds が null の場合は全クラスタが対象
+     */
+    public List<ClusterMember> findMembersOfClosedCanonicals(Collection<Long> canonicalJobIds) {
+        if (canonicalJobIds != null && canonicalJobIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT m.id, m.canonical_job_id, m.status FROM jobs m JOIN jobs c ON c.id = m.canonical_job_id "
+                + "WHERE c.status = 'CLOSED' AND EXISTS (SELECT 1 FROM jobs l "
+                + "WHERE l.canonical_job_id = c.id AND l.status <> 'CLOSED')"
+                + (canonicalJobIds != null ? " AND c.id IN (" + placeholders(canonicalJobIds.size()) + ")" : "");
+        Object[] params = canonicalJobIds != null ? canonicalJobIds.toArray() : new Object[0];
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ClusterMember(rs.getLong("id"),
+                rs.getLong("canonical_job_id"), !JobStatus.CLOSED.name().equals(rs.getString("status"))), params);
+    }
+
+    /**
+     * SimHash をバッチ更新（既存データのバックフィル用）
+     */
+    public void updateSimHashes(Map<Long, Long> simhashByJobId) {
+        if (simhashByJobId.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(simhashByJobId.entrySet());
+        jdbcTemplate.batchUpdate("UPDATE jobs SET simhash = ? WHERE id = ?", entries, entries.size(),
+                (ps, entry) -> {
+                    ps.setLong(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+    }
+
+    /**
+     * SimHash 計算済みの全案件を走査
+     */
+    public void forEachSimHash(Consumer<SimHashRow> consumer) {
+        jdbcTemplate.query("SELECT id, source, simhash, canonical_job_id FROM jobs WHERE simhash IS NOT NULL",
+                rs -> {
+                    consumer.accept(new SimHashRow(rs.getLong("id"), rs.getString("source"),
+                            rs.getLong("simhash"), rs.getObject("canonical_job_id", Long.class)));
+                });
+    }
+
+    /**
+     * SimHash 未計算の案件を id 順に取得
+     */
+    public List<JobContentRow> findWithoutSimHash(long afterId, int limit) {
+        return findContent("j.simhash IS NULL AND j.id > ?", afterId, limit);
+    }
+
+    /**
+     * 全案件を id 順に取得（スキル再正規化用）
+     */
+    public List<JobContentRow> findContentAfter(long afterId, int limit) {
+        return findContent("j.id > ?", afterId, limit);
+    }
+
+    /**
+     * 案件の説明文を置き換え（削除後にバッチ INSERT、null は行なし）
+     */
+    public void replaceDescriptions(Map<Long, String> descriptionByJobId) {
+        if (descriptionByJobId.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM job_descriptions WHERE job_id IN ("
+                + placeholders(descriptionByJobId.size()) + ")", descriptionByJobId.keySet().toArray());
+
+        List<Map.Entry<Long, String>> entries = descriptionByJobId.entrySet().stream()
+                .filter(entry -> entry.getValue() != null)
+                .toList();
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO job_descriptions (job_id, content) VALUES (?, ?)", entries,
+                entries.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.getKey());
+                    ps.setString(2, entry.getValue());
+                });
+    }
+
+    /**
+     * 案件ごとの現在の正規スキル ID を一括取得（スキルのない案件は含まない）
+     */
+    public Map<Long, Set<Long>> findSkillIds(Collection<Long> jobIds) {
+        Map<Long, Set<Long>> skillIdsByJobId = new HashMap<>();
+        if (jobIds.isEmpty()) {
+            return skillIdsByJobId;
+        }
+        jdbcTemplate.query("SELECT job_id, skill_id FROM job_skills WHERE job_id IN (" + placeholders(jobIds.size())
+                + ")", rs -> {
+                    skillIdsByJobId.computeIfAbsent(rs.getLong("job_id"), id -> new HashSet<>())
+                            .add(rs.getLong("skill_id"));
+                }, jobIds.toArray());
+        return skillIdsByJobId;
+    }
+
+    /**
+     * 案件の正規スキルを置き換え（削除後にバッチ INSERT）
+     */
+    public void replaceJobSkills(Map<Long, ? extends Collection<Long>> skillIdsByJobId) {
+        if (skillIdsByJobId.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM job_skills WHERE job_id IN (" + placeholders(skillIdsByJobId.size()) + ")",
+                skillIdsByJobId.keySet().toArray());
+
+        List<long[]> rows = new ArrayList<>();
+        skillIdsByJobId.forEach((jobId, skillIds) -> skillIds.forEach(skillId -> rows.add(new long[]{jobId, skillId})));
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO job_skills (job_id, skill_id) VALUES (?, ?)", rows, rows.size(),
+                (ps, row) -> {
+                    ps.setLong(1, row[0]);
+                    ps.setLong(2, row[1]);
+                });
+    }
+
+    /**
+     * 保存済み検索条件との一致を通知履歴に一括登録し、登録件数を返す
+     */
+    public int insertSearchMatches(Map<Long, ? extends Collection<Long>> searchIdsByJobId, String channel,
+            LocalDateTime matchedAt) {
+        List<long[]> rows = new ArrayList<>();
+        searchIdsByJobId.forEach((jobId, searchIds) -> searchIds.forEach(searchId -> rows.add(new long[]{jobId, searchId})));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO notifications (job_id, search_id, channel, sent_at) VALUES (?, ?, ?, ?)",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row[0]);
+                    ps.setLong(2, row[1]);
+                    ps.setString(3, channel);
+                    ps.setTimestamp(4, Timestamp.valueOf(matchedAt));
+                });
+        return rows.size();
+    }
+
+    /**
+     * 単価推移のバケットをバッチ INSERT
+     */
+    public void insertPriceTrendBuckets(List<PriceTrendBucket> buckets) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO price_trend_buckets (bucket_date, source, skill_id, job_count, "
+                + "price_count, price_sum, sketch) VALUES (?, ?, ?, ?, ?, ?, ?)", buckets, buckets.size(),
+                (ps, bucket) -> {
+                    ps.setDate(1, Date.valueOf(bucket.getBucketDate()));
+                    ps.setString(2, bucket.getSource());
+                    ps.setLong(3, bucket.getSkillId());
+                    ps.setLong(4, bucket.getJobCount());
+                    ps.setLong(5, bucket.getPriceCount());
+                    ps.setLong(6, bucket.getPriceSum());
+                    ps.setBytes(7, bucket.getSketch());
+                });
+    }
+
+    /**
+     * 既存案件の識別情報
+     */
+    public record ExistingJob(long id, String contentHash, Long canonicalJobId, JobStatus status,
+            RemoteType remoteType, boolean favorite, Integer maxPrice) {
+    }
+
+    /**
+     * 書き込み対象（INSERT 時の id は null）
+     */
+    public record JobWrite(Long id, JobDto.CreateRequest request, String contentHash, long simhash) {
+    }
+
+    /**
+     * 重複クラスタの所属案件（live は掲載中かどうか）
+     */
+    public record ClusterMember(long id, long canonicalJobId, boolean live) {
+    }
+
+    public record SimHashRow(long id, String source, long simhash, Long canonicalJobId) {
+    }
+
+    public record JobContentRow(long id, String source, String title, String description,
+            Integer maxPrice, List<String> requiredSkills, List<String> preferredSkills) {
+    }
+
+    // Private helper methods
+
+    private static <E extends Enum<E>> E enumOrNull(Class<E> type, String name) {
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    private List<JobContentRow> findContent(String condition, long afterId, int limit) {
+        String sql = "SELECT j.id, j.source, j.title, d.content AS description, j.max_price, j.required_skills, "
+                + "j.preferred_skills FROM jobs j LEFT JOIN job_descriptions d ON d.job_id = j.id "
+                + "WHERE " + condition + " ORDER BY j.id LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new JobContentRow(
+                rs.getLong("id"),
+                rs.getString("source"),
+                rs.getString("title"),
+                rs.getString("description"),
+                rs.getObject("max_price", Integer.class),
+                fromJson(rs.getString("required_skills")),
+                fromJson(rs.getString("preferred_skills"))), afterId, limit);
+    }
+
+    /**
+     * CreateRequest 由来のカラム（source_id 〜 industry）をバインドし、次のパラメータ位置を返す
+     */
+    private int bindContent(PreparedStatement ps, int index, JobDto.CreateRequest request) throws SQLException {
+        int i = index;
+        ps.setString(i++, request.getSourceId());
+        ps.setString(i++, request.getTitle());
+        setInteger(ps, i++, request.getMinPrice());
+        setInteger(ps, i++, request.getMaxPrice());
+        ps.setString(i++, request.getPriceType() != null ? request.getPriceType().name() : null);
+        ps.setString(i++, request.getSettlementHours());
+        ps.setString(i++, toJson(request.getRequiredSkills()));
+        ps.setString(i++, toJson(request.getPreferredSkills()));
+        ps.setString(i++, request.getExperienceYears());
+        ps.setString(i++, request.getLocation());
+        ps.setString(i++, request.getRemoteType() != null ? request.getRemoteType().name() : null);
+        ps.setString(i++, request.getWorkDays());
+        setDate(ps, i++, request.getStartDate());
+        ps.setString(i++, request.getContractPeriod());
+        ps.setString(i++, request.getCompanyName());
+        ps.setString(i++, request.getIndustry());
+        return i;
+    }
+
+    private String toJson(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize skills: " + values, e);
+        }
+    }
+
+    private List<String> fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, STRING_LIST);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to parse skills JSON: {}", json);
+            return null;
+        }
+    }
+
+    /**
+     * JSON カラムへの文字列バインド方法は DB ごとに異なる
+     */
+    private String jsonPlaceholder() {
+        if (jsonPlaceholder == null) {
+            String product;
+            try {
+                product = JdbcUtils.extractDatabaseMetaData(dataSource,
+                        metaData -> metaData.getDatabaseProductName());
+            } catch (Exception e) {
+                log.warn("Could not detect database product, falling back to CAST for JSON: {}", e.getMessage());
+                product = "";
+            }
+            jsonPlaceholder = product.toLowerCase(Locale.ROOT).contains("h2") ? "? FORMAT JSON" : "CAST(? AS JSON)";
+        }
+        return jsonPlaceholder;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate value) throws SQLException {
+        if (value != null) {
+            ps.setDate(index, Date.valueOf(value));
+        } else {
+            ps.setNull(index, Types.DATE);
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value != null) {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        } else {
+            ps.setNull(index, Types.TIMESTAMP);
+        }
+    }
+}
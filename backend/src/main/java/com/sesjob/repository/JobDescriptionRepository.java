@@ -0,0 +1,9 @@
+package com.sesjob.repository;
+
+import com.sesjob.entity.JobDescription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobDescriptionRepository extends JpaRepository<JobDescription, Long> {
+}
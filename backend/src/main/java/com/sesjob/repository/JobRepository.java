@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,7 +17,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job> {
+public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job>, JobRepositoryCustom {
 
     Optional<Job> findBySourceAndSourceUrl(String source, String sourceUrl);
 
@@ -26,6 +27,8 @@ public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificatio
 
     Page<Job> findByIsFavoriteTrue(Pageable pageable);
 
+    long countByIsFavoriteTrue();
+
     Page<Job> findBySource(String source, Pageable pageable);
 
     @Query("SELECT j FROM Job j WHERE j.maxPrice >= :minPrice AND j.maxPrice <= :maxPrice")
@@ -51,8 +54,69 @@ public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificatio
     @Query("SELECT j.source, COUNT(j) FROM Job j GROUP BY j.source")
     List<Object[]> countBySourceGrouped();
 
+    @Query("SELECT j.location, COUNT(j) FROM Job j WHERE j.location IS NOT NULL AND j.status <> 'CLOSED' "
+            + "GROUP BY j.location")
+    List<Object[]> countByLocationGrouped();
+
+    @Query("SELECT j.companyName, COUNT(j) FROM Job j WHERE j.companyName IS NOT NULL AND j.status <> 'CLOSED' "
+            + "GROUP BY j.companyName")
+    List<Object[]> countByCompanyNameGrouped();
+
+    @Query("SELECT js.skillId, COUNT(js) FROM JobSkill js, Job j WHERE j.id = js.jobId AND j.status <> 'CLOSED' "
+            + "GROUP BY js.skillId")
+    List<Object[]> countBySkillGrouped();
+
     @Query("SELECT AVG(j.maxPrice) FROM Job j WHERE j.maxPrice IS NOT NULL")
     Double averageMaxPrice();
 
+    /**
+     * (ソース, ステータス, リモート区分, お気に入り) ごとの件数・単価合計・単価あり件数
+     */
+    @Query("SELECT j.source, j.status, j.remoteType, j.isFavorite, COUNT(j), SUM(j.maxPrice), COUNT(j.maxPrice) "
+            + "FROM Job j GROUP BY j.source, j.status, j.remoteType, j.isFavorite")
+    List<Object[]> sumByStatsCell();
+
+    /**
+     * 掲載中案件の (正規スキル, ソース, リモート区分) ごとの件数・単価合計・単価あり件数
+     */
+    @Query("SELECT js.skillId, j.source, j.remoteType, COUNT(j), SUM(j.maxPrice), COUNT(j.maxPrice) "
+            + "FROM JobSkill js, Job j WHERE j.id = js.jobId AND j.status <> 'CLOSED' "
+            + "GROUP BY js.skillId, j.source, j.remoteType")
+    List<Object[]> sumBySkillCell();
+
+    @Query("SELECT js.skillId FROM JobSkill js WHERE js.jobId = :jobId")
+    List<Long> findSkillIds(@Param("jobId") Long jobId);
+
+    /**
+     * closeNotSeenSince の対象を (ステータス, リモート区分, お気に入り) ごとに集計
+     */
+    @Query("SELECT j.status, j.remoteType, j.isFavorite, COUNT(j), SUM(j.maxPrice), COUNT(j.maxPrice) "
+            + "FROM Job j WHERE j.source = :source AND j.status <> 'CLOSED' "
+            + "AND (j.lastSeenAt IS NULL OR j.lastSeenAt < :seenSince) "
+            + "GROUP BY j.status, j.remoteType, j.isFavorite")
+    List<Object[]> sumNotSeenSince(@Param("source") String source,
+            @Param("seenSince") LocalDateTime seenSince);
+
+    /**
+     * closeNotSeenSince の対象を (正規スキル, リモート区分) ごとに集計
+     */
+    @Query("SELECT js.skillId, j.remoteType, COUNT(j), SUM(j.maxPrice), COUNT(j.maxPrice) "
+            + "FROM JobSkill js, Job j WHERE j.id = js.jobId AND j.source = :source AND j.status <> 'CLOSED' "
+            + "AND (j.lastSeenAt IS NULL OR j.lastSeenAt < :seenSince) "
+            + "GROUP BY js.skillId, j.remoteType")
+    List<Object[]> sumSkillsNotSeenSince(@Param("source") String source,
+            @Param("seenSince") LocalDateTime seenSince);
+
     boolean existsBySourceAndSourceUrl(String source, String sourceUrl);
+
+    /**
+     * 指定日時以降に確認されていない案件を一括で終了にする
+     */
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'CLOSED', j.updatedAt = :now "
+            + "WHERE j.source = :source AND j.status <> 'CLOSED' "
+            + "AND (j.lastSeenAt IS NULL OR j.lastSeenAt < :seenSince)")
+    int closeNotSeenSince(@Param("source") String source,
+            @Param("seenSince") LocalDateTime seenSince,
+            @Param("now") LocalDateTime now);
 }
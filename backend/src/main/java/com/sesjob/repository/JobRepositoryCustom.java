@@ -0,0 +1,78 @@
+package com.sesjob.repository;
+
+import com.sesjob.dto.JobDto;
+import com.sesjob.dto.StatsDto;
+import com.sesjob.entity.Job;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * JobRepository のカスタムクエリ
+ * 一覧系は JobDto.Summary に必要なカラムだけを SELECT し、Job エンティティを生成しない
+ */
+public interface JobRepositoryCustom {
+
+    /**
+     * 条件に一致する案件の一覧（ページ）
+     * 末尾のページで件数が求まる場合を除き、件数は count から取得する
+     */
+    Page<JobDto.Summary> findSummaries(Specification<Job> spec, Pageable pageable, LongSupplier count);
+
+    /**
+     * 条件に一致する案件の一覧（件数を数えず、size + 1 件読んで次ページの有無を判定）
+     */
+    Slice<JobDto.Summary> findSummarySlice(Specification<Job> spec, Pageable pageable);
+
+    /**
+     * 条件に一致する案件の一覧（全件）
+     */
+    List<JobDto.Summary> findSummaries(Specification<Job> spec, Sort sort);
+
+    /**
+     * 条件に一致する案件の ID（順不同）
+     */
+    List<Long> findIds(Specification<Job> spec);
+
+    /**
+     * 条件に一致する案件の ID（sort の順）
+     */
+    List<Long> findIds(Specification<Job> spec, Sort sort);
+
+    /**
+     * 条件に一致する案件のソース・リモート区分・単価帯ごとの件数と上位スキル
+     * ソース × リモート区分 × 単価帯の GROUP BY 1 回とスキル集計 1 回で、絞り込み候補の数によらず 2 クエリ
+     */
+    StatsDto.Facets findFacets(Specification<Job> spec, int skillLimit);
+
+    /**
+     * 指定 ID の案件について findFacets と同じ集計を行う
+     * IN 条件が大きくなりすぎないよう ID を分けて集計し、件数・単価の合計を合算する
+     */
+    StatsDto.Facets findFacets(long[] ids, int skillLimit);
+
+    /**
+     * キーセット（シーク）方式で案件を取得
+     * (sortBy, id) の順に並べ、after より後ろの行を最大 limit 件返す（OFFSET・COUNT を発行しない）
+     * sortBy が null の行は方向に関係なく末尾に並べる
+     */
+    List<SummaryRow> findByKeyset(Specification<Job> spec, String sortBy, Sort.Direction direction, Keyset after,
+            int limit);
+
+    /**
+     * 直前のページ末尾の (ソートキー, id)（ソートキーは文字列表現、null 可）
+     */
+    record Keyset(String value, long id) {
+    }
+
+    /**
+     * キーセット取得の 1 行（次ページのカーソル用に自身のキーセットを持つ）
+     */
+    record SummaryRow(JobDto.Summary summary, Keyset keyset) {
+    }
+}
@@ -0,0 +1,443 @@
+package com.sesjob.repository;
+
+import com.sesjob.dto.JobDto;
+import com.sesjob.dto.StatsDto;
+import com.sesjob.entity.Job;
+import com.sesjob.entity.Job.JobStatus;
+import com.sesjob.entity.Job.RemoteType;
+import com.sesjob.entity.JobSkill;
+import com.sesjob.entity.Skill;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.LongSupplier;
+
+public class JobRepositoryImpl implements JobRepositoryCustom {
+
+    // JobDto.Summary の項目（説明文・希望スキルなど一覧で使わないカラムは読まない）
+    private static final List<String> SUMMARY_FIELDS = List.of(
+            "id", "source", "title", "maxPrice", "location", "remoteType", "requiredSkills", "status",
+            "isFavorite", "postedAt");
+
+    private static final String SORT_KEY = "sortKey";
+
+    // ID 指定の集計で 1 回の IN 条件に含める ID 数
+    private static final int ID_CHUNK_SIZE = 5000;
+
+    // 単価帯（max_price の下限、万円）
+    private static final int[] PRICE_BOUNDS = {50, 60, 70, 80, 90, 100};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<JobDto.Summary> findSummaries(Specification<Job> spec, Pageable pageable, LongSupplier count) {
+        Slice<JobDto.Summary> slice = findSummarySlice(spec, pageable);
+        List<JobDto.Summary> content = slice.getContent();
+        // 末尾のページでは件数が求まるため COUNT を省略する
+        if (!slice.hasNext() && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            return new PageImpl<>(content, pageable, pageable.getOffset() + content.size());
+        }
+        return new PageImpl<>(content, pageable, count.getAsLong());
+    }
+
+    @Override
+    public Slice<JobDto.Summary> findSummarySlice(Specification<Job> spec, Pageable pageable) {
+        TypedQuery<Tuple> query = createSummaryQuery(spec, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            List<JobDto.Summary> content = query.getResultList().stream().map(JobRepositoryImpl::toSummary).toList();
+            return new SliceImpl<>(content, pageable, false);
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<JobDto.Summary> content = query.getResultList().stream().map(JobRepositoryImpl::toSummary).toList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public List<JobDto.Summary> findSummaries(Specification<Job> spec, Sort sort) {
+        return createSummaryQuery(spec, sort).getResultList().stream().map(JobRepositoryImpl::toSummary).toList();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Job> spec) {
+        return findIds(spec, Sort.unsorted());
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Job> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Job> root = query.from(Job.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        addSpecification(predicates, spec, root, query, cb);
+        query.select(root.get("id")).where(predicates.toArray(new Predicate[0]));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return readOnly(entityManager.createQuery(query)).getResultList();
+    }
+
+    @Override
+    public StatsDto.Facets findFacets(Specification<Job> spec, int skillLimit) {
+        FacetCounts counts = new FacetCounts();
+        addFacetCounts(spec, counts);
+        return counts.toFacets(findSkillFacets(spec, skillLimit));
+    }
+
+    @Override
+    public StatsDto.Facets findFacets(long[] ids, int skillLimit) {
+        FacetCounts counts = new FacetCounts();
+        Map<String, SkillTotal> skills = new HashMap<>();
+        for (int from = 0; from < ids.length; from += ID_CHUNK_SIZE) {
+            List<Long> chunk = Arrays.stream(ids, from, Math.min(from + ID_CHUNK_SIZE, ids.length)).boxed().toList();
+            Specification<Job> spec = (root, query, cb) -> root.get("id").in(chunk);
+            addFacetCounts(spec, counts);
+            addSkillTotals(spec, skills);
+        }
+
+        List<StatsDto.SkillStats> skillFacets = skills.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<String, SkillTotal>>comparingLong(entry -> entry.getValue().count)
+                        .reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(skillLimit)
+                .map(entry -> StatsDto.SkillStats.builder()
+                        .skill(entry.getKey())
+                        .count(entry.getValue().count)
+                        .averagePrice(entry.getValue().pricedCount > 0
+                                ? (double) entry.getValue().priceSum / entry.getValue().pricedCount
+                                : null)
+                        .build())
+                .toList();
+        return counts.toFacets(skillFacets);
+    }
+
+    @Override
+    public List<SummaryRow> findByKeyset(Specification<Job> spec, String sortBy, Sort.Direction direction,
+            Keyset after, int limit) {
+        boolean ascending = direction.isAscending();
+        if ("id".equals(sortBy)) {
+            return findByKeyset(spec, sortBy, ascending, after, false, limit);
+        }
+        if (!isNullable(sortBy)) {
+            // NULL の行がない項目で NULL を指すキーセットは、末尾の NULL の行より後ろ（続きなし）
+            return after != null && after.value() == null ? List.of()
+                    : findByKeyset(spec, sortBy, ascending, after, false, limit);
+        }
+
+        // NULLS LAST で並べると (sortBy, id) の索引を使えないため、値のある行を読み切ってから NULL の行を id 順に読む
+        List<SummaryRow> rows = new ArrayList<>();
+        Keyset nullsAfter = after;
+        if (after == null || after.value() != null) {
+            rows.addAll(findByKeyset(spec, sortBy, ascending, after, false, limit));
+            if (rows.size() >= limit) {
+                return rows;
+            }
+            nullsAfter = null;
+        }
+        rows.addAll(findByKeyset(spec, sortBy, ascending, nullsAfter, true, limit - rows.size()));
+        return rows;
+    }
+
+    // Private helper methods
+
+    /**
+     * キーセット方式の 1 回分の読み込み
+     * nulls が true なら sortBy が NULL の行を id 順に、false なら sortBy が NULL でない行を (sortBy, id) 順に読む
+     */
+    private List<SummaryRow> findByKeyset(Specification<Job> spec, String sortBy, boolean ascending, Keyset after,
+            boolean nulls, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> root = query.from(Job.class);
+        List<Selection<?>> selections = summarySelections(root);
+
+        List<Predicate> predicates = new ArrayList<>();
+        addSpecification(predicates, spec, root, query, cb);
+
+        Path<Long> id = root.get("id");
+        Predicate idAfter = after == null ? null
+                : ascending ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id());
+        if ("id".equals(sortBy) || nulls) {
+            if (nulls) {
+                predicates.add(cb.isNull(root.get(sortBy)));
+            }
+            if (idAfter != null) {
+                predicates.add(idAfter);
+            }
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            Path<Comparable<Object>> key = root.get(sortBy);
+            // 一覧の項目に含まれる場合は同じパスに別名を付け直さず、その項目の値を使う
+            if (!SUMMARY_FIELDS.contains(sortBy)) {
+                selections.add(key.alias(SORT_KEY));
+            }
+            if (isNullable(sortBy)) {
+                predicates.add(cb.isNotNull(key));
+            }
+            if (after != null) {
+                Comparable<Object> value = parse(after.value(), key.getJavaType());
+                Predicate keyAfter = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+                predicates.add(cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter)));
+            }
+            query.orderBy(ascending ? cb.asc(key) : cb.desc(key), ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        query.multiselect(selections).where(predicates.toArray(new Predicate[0]));
+        boolean keyed = !"id".equals(sortBy) && !nulls;
+        return readOnly(entityManager.createQuery(query))
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(tuple -> {
+                    JobDto.Summary summary = toSummary(tuple);
+                    Object value = !keyed ? null : tuple.get(SUMMARY_FIELDS.contains(sortBy) ? sortBy : SORT_KEY);
+                    return new SummaryRow(summary, new Keyset(value != null ? value.toString() : null, summary.getId()));
+                })
+                .toList();
+    }
+
+    /**
+     * 並び替え項目が NULL になりうるか（カラムの nullable 定義による）
+     */
+    private boolean isNullable(String attribute) {
+        return entityManager.getMetamodel().entity(Job.class).getSingularAttribute(attribute).isOptional();
+    }
+
+    private TypedQuery<Tuple> createSummaryQuery(Specification<Job> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> root = query.from(Job.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        addSpecification(predicates, spec, root, query, cb);
+        query.multiselect(summarySelections(root)).where(predicates.toArray(new Predicate[0]));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return readOnly(entityManager.createQuery(query));
+    }
+
+    /**
+     * ソース × リモート区分 × 単価帯の組み合わせごとの件数から各軸の件数を求め、counts に加算
+     */
+    private void addFacetCounts(Specification<Job> spec, FacetCounts counts) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> root = query.from(Job.class);
+        Expression<String> priceRange = priceRange(cb, root.get("maxPrice"));
+        List<Predicate> predicates = new ArrayList<>();
+        addSpecification(predicates, spec, root, query, cb);
+        query.multiselect(root.get("source"), root.get("remoteType"), priceRange, cb.count(root))
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(root.get("source"), root.get("remoteType"), priceRange);
+
+        for (Tuple row : readOnly(entityManager.createQuery(query)).getResultList()) {
+            long count = row.get(3, Long.class);
+            counts.sources.merge(row.get(0, String.class), count, Long::sum);
+            RemoteType remoteType = row.get(1, RemoteType.class);
+            if (remoteType != null) {
+                counts.remoteTypes.merge(remoteType.name(), count, Long::sum);
+            }
+            String range = row.get(2, String.class);
+            if (range != null) {
+                counts.priceRanges.merge(range, count, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * スキルごとの件数・単価の合計を skills に加算（平均は合算後に求める）
+     */
+    private void addSkillTotals(Specification<Job> spec, Map<String, SkillTotal> skills) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> root = query.from(Job.class);
+        Root<JobSkill> jobSkill = query.from(JobSkill.class);
+        Root<Skill> skill = query.from(Skill.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(jobSkill.get("jobId"), root.get("id")));
+        predicates.add(cb.equal(skill.get("id"), jobSkill.get("skillId")));
+        addSpecification(predicates, spec, root, query, cb);
+        query.multiselect(skill.get("name"), cb.count(root), cb.sumAsLong(root.get("maxPrice")),
+                        cb.count(root.get("maxPrice")))
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(skill.get("name"));
+
+        for (Tuple row : readOnly(entityManager.createQuery(query)).getResultList()) {
+            SkillTotal total = skills.computeIfAbsent(row.get(0, String.class), name -> new SkillTotal());
+            total.count += row.get(1, Long.class);
+            Long priceSum = row.get(2, Long.class);
+            total.priceSum += priceSum != null ? priceSum : 0;
+            total.pricedCount += row.get(3, Long.class);
+        }
+    }
+
+    private List<StatsDto.SkillStats> findSkillFacets(Specification<Job> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> root = query.from(Job.class);
+        Root<JobSkill> jobSkill = query.from(JobSkill.class);
+        Root<Skill> skill = query.from(Skill.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(jobSkill.get("jobId"), root.get("id")));
+        predicates.add(cb.equal(skill.get("id"), jobSkill.get("skillId")));
+        addSpecification(predicates, spec, root, query, cb);
+        Expression<Long> count = cb.count(root);
+        query.multiselect(skill.get("name"), count, cb.avg(root.get("maxPrice")))
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(skill.get("name"))
+                .orderBy(cb.desc(count), cb.asc(skill.get("name")));
+
+        return readOnly(entityManager.createQuery(query))
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(row -> StatsDto.SkillStats.builder()
+                        .skill(row.get(0, String.class))
+                        .count(row.get(1, Long.class))
+                        .averagePrice(row.get(2, Double.class))
+                        .build())
+                .toList();
+    }
+
+    private static Expression<String> priceRange(CriteriaBuilder cb, Path<Integer> maxPrice) {
+        List<String> labels = priceRangeLabels();
+        CriteriaBuilder.Case<String> range = cb.selectCase();
+        for (int i = 0; i < PRICE_BOUNDS.length; i++) {
+            range = range.when(cb.lessThan(maxPrice, PRICE_BOUNDS[i]), labels.get(i));
+        }
+        return range.when(cb.isNotNull(maxPrice), labels.get(labels.size() - 1)).otherwise(cb.nullLiteral(String.class));
+    }
+
+    /**
+     * "~49", "50~59", ..., "100~"
+     */
+    private static List<String> priceRangeLabels() {
+        List<String> labels = new ArrayList<>(PRICE_BOUNDS.length + 1);
+        labels.add("~" + (PRICE_BOUNDS[0] - 1));
+        for (int i = 1; i < PRICE_BOUNDS.length; i++) {
+            labels.add(PRICE_BOUNDS[i - 1] + "~" + (PRICE_BOUNDS[i] - 1));
+        }
+        labels.add(PRICE_BOUNDS[PRICE_BOUNDS.length - 1] + "~");
+        return labels;
+    }
+
+    private static Map<String, Long> sortByCountDesc(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private static void addSpecification(List<Predicate> predicates, Specification<Job> spec, Root<Job> root,
+            CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+    }
+
+    private static List<Selection<?>> summarySelections(Root<Job> root) {
+        List<Selection<?>> selections = new ArrayList<>(SUMMARY_FIELDS.size() + 1);
+        for (String field : SUMMARY_FIELDS) {
+            selections.add(root.get(field).alias(field));
+        }
+        return selections;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JobDto.Summary toSummary(Tuple tuple) {
+        return JobDto.Summary.builder()
+                .id(tuple.get("id", Long.class))
+                .source(tuple.get("source", String.class))
+                .title(tuple.get("title", String.class))
+                .maxPrice(tuple.get("maxPrice", Integer.class))
+                .location(tuple.get("location", String.class))
+                .remoteType(tuple.get("remoteType", RemoteType.class))
+                .requiredSkills((List<String>) tuple.get("requiredSkills"))
+                .status(tuple.get("status", JobStatus.class))
+                .isFavorite(tuple.get("isFavorite", Boolean.class))
+                .postedAt(tuple.get("postedAt", LocalDateTime.class))
+                .build();
+    }
+
+    private static <T> TypedQuery<T> readOnly(TypedQuery<T> query) {
+        return query.setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> parse(String value, Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        Object parsed;
+        if (type == LocalDateTime.class) {
+            parsed = LocalDateTime.parse(value);
+        } else if (type == LocalDate.class) {
+            parsed = LocalDate.parse(value);
+        } else if (type == Integer.class) {
+            parsed = Integer.valueOf(value);
+        } else if (type == Long.class) {
+            parsed = Long.valueOf(value);
+        } else if (type == String.class) {
+            parsed = value;
+        } else {
+            throw new IllegalArgumentException("Unsupported keyset type: " + type.getSimpleName());
+        }
+        return (Comparable<Object>) parsed;
+    }
+
+    /**
+     * ファセットの件数（リモート区分・単価帯は件数 0 の項目も含める）
+     */
+    private static final class FacetCounts {
+        private final Map<String, Long> sources = new HashMap<>();
+        private final Map<String, Long> remoteTypes = new LinkedHashMap<>();
+        private final Map<String, Long> priceRanges = new LinkedHashMap<>();
+
+        FacetCounts() {
+            for (RemoteType remoteType : RemoteType.values()) {
+                remoteTypes.put(remoteType.name(), 0L);
+            }
+            for (String label : priceRangeLabels()) {
+                priceRanges.put(label, 0L);
+            }
+        }
+
+        StatsDto.Facets toFacets(List<StatsDto.SkillStats> skills) {
+            return StatsDto.Facets.builder()
+                    .sources(sortByCountDesc(sources))
+                    .remoteTypes(remoteTypes)
+                    .priceRanges(priceRanges)
+                    .skills(skills)
+                    .build();
+        }
+    }
+
+    private static final class SkillTotal {
+        private long count;
+        private long priceSum;
+        private long pricedCount;
+    }
+}
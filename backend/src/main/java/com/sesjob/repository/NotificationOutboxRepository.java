@@ -0,0 +1,39 @@
+package com.sesjob.repository;
+
+import com.sesjob.entity.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * 登録済みの (案件, チャネル) を取得
+     */
+    @Query("SELECT o.jobId, o.channel FROM NotificationOutbox o WHERE o.jobId IN :jobIds")
+    List<Object[]> findKeys(@Param("jobIds") Collection<Long> jobIds);
+
+    /**
+     * 送信時刻に達した送信待ち（id 順）
+     */
+    @Query("SELECT o FROM NotificationOutbox o WHERE o.status = 'PENDING' AND o.nextAttemptAt <= :now ORDER BY o.id")
+    List<NotificationOutbox> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 送信待ちを確保（次回試行時刻を lease の終わりまで進める。他インスタンスが先に確保していれば 0）
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.nextAttemptAt = :leaseUntil "
+            + "WHERE o.id = :id AND o.status = 'PENDING' AND o.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+}
@@ -1,7 +1,12 @@
 package com.sesjob.repository;
 
 import com.sesjob.entity.Notification;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -15,4 +20,12 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByJobId(Long jobId);
 
     List<Notification> findByChannel(String channel);
+
+    @Query(value = "SELECT n FROM Notification n JOIN FETCH n.job WHERE n.savedSearch.id = :searchId ORDER BY n.id DESC",
+            countQuery = "SELECT COUNT(n) FROM Notification n WHERE n.savedSearch.id = :searchId")
+    Page<Notification> findBySavedSearchId(@Param("searchId") Long searchId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.savedSearch.id = :searchId")
+    void deleteBySavedSearchId(@Param("searchId") Long searchId);
 }
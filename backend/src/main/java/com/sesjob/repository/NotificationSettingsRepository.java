@@ -2,8 +2,13 @@ package com.sesjob.repository;
 
 import com.sesjob.entity.NotificationSettings;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +22,9 @@ public interface NotificationSettingsRepository extends JpaRepository<Notificati
     default NotificationSettings getOrCreateSettings() {
         return findSettings().orElseGet(() -> save(NotificationSettings.builder().build()));
     }
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationSettings s SET s.lastNotifiedAt = :notifiedAt WHERE s.id = :id")
+    int updateLastNotifiedAt(@Param("id") Long id, @Param("notifiedAt") LocalDateTime notifiedAt);
 }
@@ -0,0 +1,34 @@
+package com.sesjob.repository;
+
+import com.sesjob.entity.PriceTrendBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PriceTrendBucketRepository extends JpaRepository<PriceTrendBucket, Long> {
+
+    /**
+     * 期間内のバケット（source が null の場合は全ソース）
+     */
+    @Query("SELECT b FROM PriceTrendBucket b WHERE b.skillId = :skillId "
+            + "AND (:source IS NULL OR b.source = :source) "
+            + "AND b.bucketDate >= :from AND b.bucketDate <= :to")
+    List<PriceTrendBucket> findRange(@Param("skillId") long skillId,
+            @Param("source") String source,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * 指定日より前で複数行に分かれている (日付, ソース, スキル)
+     */
+    @Query("SELECT b.bucketDate, b.source, b.skillId FROM PriceTrendBucket b WHERE b.bucketDate < :before "
+            + "GROUP BY b.bucketDate, b.source, b.skillId HAVING COUNT(b) > 1")
+    List<Object[]> findFragmentedKeys(@Param("before") LocalDate before);
+
+    List<PriceTrendBucket> findByBucketDateAndSourceAndSkillId(LocalDate bucketDate, String source, Long skillId);
+}
@@ -0,0 +1,127 @@
+package com.sesjob.service;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick 法による複数パターン同時検索
+ * 全パターンを 1 つのオートマトンにまとめ、テキストを 1 回走査するだけで全一致を列挙する
+ * 構築後は不変のため、複数スレッドから同時に検索してよい
+ */
+public final class AhoCorasick {
+
+    private final List<Map<Character, Integer>> transitions;
+    private final int[] failure;
+    private final int[][] outputs;
+    private final String[] patterns;
+
+    private AhoCorasick(List<Map<Character, Integer>> transitions, int[] failure, int[][] outputs, String[] patterns) {
+        this.transitions = transitions;
+        this.failure = failure;
+        this.outputs = outputs;
+        this.patterns = patterns;
+    }
+
+    /**
+     * パターン一覧からオートマトンを構築（パターンの添字が一致結果の patternIndex になる）
+     */
+    public static AhoCorasick build(List<String> patterns) {
+        List<Map<Character, Integer>> transitions = new ArrayList<>();
+        List<List<Integer>> outputLists = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        outputLists.add(new ArrayList<>());
+
+        // トライ木
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.add(new HashMap<>());
+                    outputLists.add(new ArrayList<>());
+                    transitions.get(state).put(c, next);
+                }
+                state = next;
+            }
+            outputLists.get(state).add(p);
+        }
+
+        // 幅優先で失敗遷移を計算し、出力を失敗先から引き継ぐ
+        int[] failure = new int[transitions.size()];
+        Deque<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+                int f = failure[state];
+                while (f != 0 && !transitions.get(f).containsKey(c)) {
+                    f = failure[f];
+                }
+                Integer target = transitions.get(f).get(c);
+                failure[child] = target != null && target != child ? target : 0;
+                outputLists.get(child).addAll(outputLists.get(failure[child]));
+                queue.add(child);
+            }
+        }
+
+        int[][] outputs = new int[outputLists.size()][];
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = outputLists.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new AhoCorasick(transitions, failure, outputs, patterns.toArray(new String[0]));
+    }
+
+    /**
+     * テキストを 1 回走査し、一致ごとに (patternIndex, 開始位置, 終了位置) を通知する
+     */
+    public void search(CharSequence text, MatchHandler handler) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            Integer next;
+            while ((next = transitions.get(state).get(c)) == null && state != 0) {
+                state = failure[state];
+            }
+            state = next != null ? next : 0;
+            for (int p : outputs[state]) {
+                int end = i + 1;
+                handler.onMatch(p, end - patterns[p].length(), end);
+            }
+        }
+    }
+
+    /**
+     * テキストを小文字化しながら走査し、いずれかのパターンを含むかどうか（最初の一致で打ち切る）
+     * パターンは小文字で構築しておくこと
+     */
+    public boolean containsAnyIgnoreCase(CharSequence text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            Integer next;
+            while ((next = transitions.get(state).get(c)) == null && state != 0) {
+                state = failure[state];
+            }
+            state = next != null ? next : 0;
+            if (outputs[state].length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return patterns.length;
+    }
+
+    @FunctionalInterface
+    public interface MatchHandler {
+        void onMatch(int patternIndex, int start, int end);
+    }
+}
@@ -0,0 +1,168 @@
+package com.sesjob.service;
+
+import com.sesjob.dto.CrawlRunDto;
+import com.sesjob.dto.JobDto;
+import com.sesjob.entity.CrawlRun;
+import com.sesjob.entity.CrawlRun.RunStatus;
+import com.sesjob.entity.Job.JobStatus;
+import com.sesjob.entity.Job.RemoteType;
+import com.sesjob.repository.CrawlRunRepository;
+import com.sesjob.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * クロール実行管理サービス
+ * クローラーはソースごとに実行を開始し、取り込み後に終了する
+ * 終了時、その実行で確認されなかった案件を一括で CLOSED にする（統計ストアには事前に集計した件数を移す）
+ * 代表案件が掲載終了した重複クラスタは、掲載中の案件から代表を選び直す
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CrawlRunService {
+
+    private final CrawlRunRepository crawlRunRepository;
+    private final JobRepository jobRepository;
+    private final DataGeneration dataGeneration;
+    private final JobStatsStore jobStatsStore;
+    private final DuplicateDetector duplicateDetector;
+
+    /**
+     * 実行開始
+     */
+    @Transactional
+    public CrawlRunDto.Response open(String source) {
+        CrawlRun run = crawlRunRepository.save(CrawlRun.builder()
+                .source(source)
+                .startedAt(LocalDateTime.now())
+                .build());
+        log.info("Crawl run {} opened for {}", run.getId(), source);
+        return toResponse(run);
+    }
+
+    /**
+     * 実行中かどうか
+     */
+    public boolean isRunning(Long id) {
+        return crawlRunRepository.existsByIdAndStatus(id, RunStatus.RUNNING);
+    }
+
+    /**
+     * 取り込み結果を実行に加算（取り込みと同一トランザクション）
+     */
+    @Transactional
+    public void recordIngest(Long id, List<JobDto.IngestAck> acks) {
+        long created = 0;
+        long updated = 0;
+        long unchanged = 0;
+        for (JobDto.IngestAck ack : acks) {
+            switch (ack.getAction()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case UNCHANGED -> unchanged++;
+            }
+        }
+        if (crawlRunRepository.addCounts(id, created, updated, unchanged) == 0) {
+            throw new IllegalStateException("Crawl run is not running: " + id);
+        }
+    }
+
+    /**
+     * 実行終了
+     * expire=true の場合、この実行で確認されなかった同ソースの案件を一括 UPDATE で CLOSED にする
+     * 取り込み中に加算された件数（addCounts）を上書きしないよう、実行の状態と件数は対象の列だけを UPDATE する
+     */
+    @Transactional
+    public Optional<CrawlRunDto.Response> close(Long id, boolean expire) {
+        LocalDateTime now = LocalDateTime.now();
+        // 実行中の場合のみ終了する（終了後の取り込みは addCounts が拒否する）
+        if (crawlRunRepository.finish(id, expire ? RunStatus.COMPLETED : RunStatus.ABORTED, now) == 0) {
+            return Optional.empty();
+        }
+        CrawlRun run = crawlRunRepository.findById(id).orElseThrow();
+
+        // 1件も確認できなかった実行（クローラー障害など）ではソース全体を終了にしない
+        if (expire && run.getSeenCount() > 0) {
+            List<Object[]> closing = jobRepository.sumNotSeenSince(run.getSource(), run.getStartedAt());
+            List<Object[]> closingSkills = jobRepository.sumSkillsNotSeenSince(run.getSource(), run.getStartedAt());
+            int closed = jobRepository.closeNotSeenSince(run.getSource(), run.getStartedAt(), now);
+            recordClosed(run.getSource(), closing, closingSkills);
+            crawlRunRepository.setClosedCount(id, closed);
+            if (closed > 0) {
+                duplicateDetector.reelectCanonicals(null);
+                dataGeneration.bump();
+            }
+            run = crawlRunRepository.findById(id).orElseThrow();
+        }
+
+        log.info("Crawl run {} {} for {}: seen={}, created={}, updated={}, closed={}",
+                run.getId(), run.getStatus(), run.getSource(), run.getSeenCount(),
+                run.getCreatedCount(), run.getUpdatedCount(), run.getClosedCount());
+        return Optional.of(toResponse(run));
+    }
+
+    /**
+     * 実行履歴取得
+     */
+    public Optional<CrawlRunDto.Response> getRun(Long id) {
+        return crawlRunRepository.findById(id).map(this::toResponse);
+    }
+
+    /**
+     * 実行履歴一覧（新しい順）
+     */
+    public Page<CrawlRunDto.Response> getRuns(String source, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("startedAt").descending());
+        Page<CrawlRun> runs = source != null && !source.isBlank()
+                ? crawlRunRepository.findBySource(source, pageable)
+                : crawlRunRepository.findAll(pageable);
+        return runs.map(this::toResponse);
+    }
+
+    private void recordClosed(String source, List<Object[]> closing, List<Object[]> closingSkills) {
+        for (Object[] row : closing) {
+            JobStatsStore.Facts before = new JobStatsStore.Facts(source, (JobStatus) row[0], (RemoteType) row[1],
+                    Boolean.TRUE.equals(row[2]), null, null);
+            jobStatsStore.changeStatus(before, JobStatus.CLOSED, (Long) row[3], sum(row[4]), (Long) row[5]);
+        }
+        // 掲載終了した案件はスキル別の集計から外す
+        for (Object[] row : closingSkills) {
+            jobStatsStore.changeSkill((Long) row[0], source, (RemoteType) row[1], -(Long) row[2], -sum(row[3]),
+                    -(Long) row[4]);
+        }
+    }
+
+    private static long sum(Object value) {
+        return value != null ? ((Number) value).longValue() : 0;
+    }
+
+    private CrawlRunDto.Response toResponse(CrawlRun run) {
+        return CrawlRunDto.Response.builder()
+                .id(run.getId())
+                .source(run.getSource())
+                .status(run.getStatus())
+                .seenCount(run.getSeenCount())
+                .createdCount(run.getCreatedCount())
+                .updatedCount(run.getUpdatedCount())
+                .unchangedCount(run.getUnchangedCount())
+                .closedCount(run.getClosedCount())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .durationMs(run.getFinishedAt() != null
+                        ? Duration.between(run.getStartedAt(), run.getFinishedAt()).toMillis()
+                        : null)
+                .build();
+    }
+}
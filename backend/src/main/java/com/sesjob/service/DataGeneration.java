@@ -0,0 +1,38 @@
+package com.sesjob.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 案件データの世代番号
+ * 取り込み・ステータス変更・お気に入り変更などのたびにコミット後に進め、検索キャッシュのキーに含める
+ * （世代が変われば古いエントリは参照されなくなるため、個別の無効化は不要）
+ */
+@Component
+public class DataGeneration {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public long current() {
+        return generation.get();
+    }
+
+    /**
+     * 世代を進める（トランザクション中ならコミット後）
+     */
+    public void bump() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            generation.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                generation.incrementAndGet();
+            }
+        });
+    }
+}
@@ -0,0 +1,201 @@
+package com.sesjob.service;
+
+import com.sesjob.repository.JobBulkRepository;
+import com.sesjob.repository.JobBulkRepository.ClusterMember;
+import com.sesjob.repository.JobBulkRepository.JobContentRow;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * 他ソースに掲載された同一案件の重複検知
+ * SimHash の近傍を代表案件（canonical_job_id）としてクラスタリングする
+ * 代表案件が掲載終了した場合は、掲載中の案件から代表を選び直す（重複をまとめた一覧から消えないように）
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicateDetector {
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private final JobBulkRepository jobBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dedup.max-distance:3}")
+    private int maxDistance;
+
+    // コミット済みの案件のみを保持する
+    private final SimHashIndex index = new SimHashIndex();
+
+    // トランザクション内で追加された案件（コミット時に index へ反映）
+    private final Object pendingKey = new Object();
+
+    /**
+     * バンド分割で保証できない距離は黙って取りこぼすため、起動時に拒否する
+     */
+    @PostConstruct
+    void validate() {
+        if (maxDistance < 0 || maxDistance > SimHashIndex.MAX_DISTANCE) {
+            throw new IllegalStateException("dedup.max-distance must be between 0 and " + SimHashIndex.MAX_DISTANCE
+                    + " (the simhash index only guarantees matches up to that distance), but was " + maxDistance);
+        }
+    }
+
+    /**
+     * 起動時にインデックスを構築し、SimHash 未計算の既存案件をバックフィル
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        if (!enabled) {
+            return;
+        }
+        jobBulkRepository.forEachSimHash(row -> index.put(
+                new SimHashIndex.Entry(row.id(), row.source(), row.simhash(), row.canonicalJobId())));
+        log.info("Duplicate index loaded: {} jobs", index.size());
+
+        long afterId = 0;
+        int backfilled = 0;
+        List<JobContentRow> rows;
+        while (!(rows = jobBulkRepository.findWithoutSimHash(afterId, BACKFILL_BATCH_SIZE)).isEmpty()) {
+            List<JobContentRow> batch = rows;
+            transactionTemplate.executeWithoutResult(status -> backfill(batch));
+            afterId = rows.get(rows.size() - 1).id();
+            backfilled += rows.size();
+        }
+        if (backfilled > 0) {
+            log.info("Backfilled simhash for {} jobs", backfilled);
+        }
+    }
+
+    /**
+     * 内容が変わった案件をクラスタリングし、canonical_job_id が変わる案件の id → 代表案件 id を返す
+     * （値が null の場合は代表案件なしに戻す）
+     */
+    public Map<Long, Long> cluster(List<Candidate> candidates) {
+        if (!enabled || candidates.isEmpty()) {
+            return Map.of();
+        }
+        SimHashIndex pending = pendingIndex();
+        Map<Long, Long> changes = new LinkedHashMap<>();
+
+        for (Candidate candidate : candidates) {
+            Long canonical = findCanonical(candidate, pending);
+            if (!Objects.equals(canonical, candidate.currentCanonicalJobId())) {
+                changes.put(candidate.jobId(), canonical);
+            }
+            pending.put(new SimHashIndex.Entry(candidate.jobId(), candidate.source(), candidate.simhash(), canonical));
+        }
+        return changes;
+    }
+
+    /**
+     * 代表案件が CLOSED になった重複クラスタに掲載中の案件が残っていれば、最小 id の掲載中の案件を代表に選び直す
+     * 旧代表を含む他の所属案件は新しい代表を指すように更新し、canonical_job_id が変わった案件の id → 代表案件 id を返す
+     * canonicalJobIds が null の場合は全クラスタが対象（ステータス更新と同一トランザクションで呼ぶ）
+     */
+    public Map<Long, Long> reelectCanonicals(Collection<Long> canonicalJobIds) {
+        Map<Long, List<ClusterMember>> membersByCanonical = new LinkedHashMap<>();
+        for (ClusterMember member : jobBulkRepository.findMembersOfClosedCanonicals(canonicalJobIds)) {
+            membersByCanonical.computeIfAbsent(member.canonicalJobId(), id -> new ArrayList<>()).add(member);
+        }
+
+        Map<Long, Long> changes = new LinkedHashMap<>();
+        membersByCanonical.forEach((canonicalJobId, members) -> {
+            long elected = members.stream()
+                    .filter(ClusterMember::live)
+                    .mapToLong(ClusterMember::id)
+                    .min()
+                    .orElseThrow();
+            changes.put(elected, null);
+            changes.put(canonicalJobId, elected);
+            members.stream()
+                    .filter(member -> member.id() != elected)
+                    .forEach(member -> changes.put(member.id(), elected));
+        });
+        if (changes.isEmpty()) {
+            return changes;
+        }
+        jobBulkRepository.updateCanonical(changes);
+
+        SimHashIndex pending = pendingIndex();
+        changes.forEach((jobId, canonical) -> pending.get(jobId).or(() -> index.get(jobId))
+                .ifPresent(entry -> pending.put(new SimHashIndex.Entry(jobId, entry.source(), entry.simhash(),
+                        canonical))));
+        log.info("Re-elected canonical jobs for {} closed clusters", membersByCanonical.size());
+        return changes;
+    }
+
+    // Private helper methods
+
+    private void backfill(List<JobContentRow> rows) {
+        Map<Long, Long> simhashes = new LinkedHashMap<>();
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        for (JobContentRow row : rows) {
+            long simhash = SimHash.of(row.title(), row.description(), row.maxPrice(), row.requiredSkills());
+            simhashes.put(row.id(), simhash);
+            candidates.add(new Candidate(row.id(), row.source(), simhash, null));
+        }
+        jobBulkRepository.updateSimHashes(simhashes);
+        jobBulkRepository.updateCanonical(cluster(candidates));
+    }
+
+    private Long findCanonical(Candidate candidate, SimHashIndex pending) {
+        Optional<SimHashIndex.Entry> committed = index.findNearest(
+                candidate.simhash(), candidate.source(), candidate.jobId(), maxDistance);
+        Optional<SimHashIndex.Entry> uncommitted = pending == index ? Optional.empty()
+                : pending.findNearest(candidate.simhash(), candidate.source(), candidate.jobId(), maxDistance);
+
+        Optional<SimHashIndex.Entry> nearest = committed;
+        if (uncommitted.isPresent() && (committed.isEmpty()
+                || SimHash.distance(candidate.simhash(), uncommitted.get().simhash())
+                        < SimHash.distance(candidate.simhash(), committed.get().simhash()))) {
+            nearest = uncommitted;
+        }
+
+        return nearest.map(SimHashIndex.Entry::clusterId)
+                .filter(clusterId -> clusterId != candidate.jobId())
+                .orElse(null);
+    }
+
+    private SimHashIndex pendingIndex() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return index;
+        }
+        SimHashIndex pending = (SimHashIndex) TransactionSynchronizationManager.getResource(pendingKey);
+        if (pending != null) {
+            return pending;
+        }
+
+        SimHashIndex created = new SimHashIndex();
+        TransactionSynchronizationManager.bindResource(pendingKey, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(pendingKey);
+                if (status == STATUS_COMMITTED) {
+                    index.putAll(created.snapshot());
+                }
+            }
+        });
+        return created;
+    }
+
+    /**
+     * クラスタリング対象の案件
+     */
+    public record Candidate(long jobId, String source, long simhash, Long currentCanonicalJobId) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.sesjob.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 取り込み件数メトリクス
+ * /actuator/metrics/sesjob.ingest.jobs?tag=action:UNCHANGED などで参照できる
+ * トランザクション内で呼ばれた場合はコミット後に加算し、ロールバックしたチャンクは数えない
+ */
+@Component
+public class IngestMetrics {
+
+    private final Counter created;
+    private final Counter updated;
+    private final Counter unchanged;
+
+    public IngestMetrics(MeterRegistry registry) {
+        this.created = counter(registry, "CREATED");
+        this.updated = counter(registry, "UPDATED");
+        this.unchanged = counter(registry, "UNCHANGED");
+    }
+
+    /**
+     * 件数を加算（トランザクション中ならコミット後）
+     */
+    public void record(int createdCount, int updatedCount, int unchangedCount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(createdCount, updatedCount, unchangedCount);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment(createdCount, updatedCount, unchangedCount);
+            }
+        });
+    }
+
+    private void increment(int createdCount, int updatedCount, int unchangedCount) {
+        created.increment(createdCount);
+        updated.increment(updatedCount);
+        unchanged.increment(unchangedCount);
+    }
+
+    private static Counter counter(MeterRegistry registry, String action) {
+        return Counter.builder("sesjob.ingest.jobs")
+                .description("Number of jobs processed by the ingest path")
+                .tag("action", action)
+                .register(registry);
+    }
+}
@@ -0,0 +1,279 @@
+package com.sesjob.service;
+
+import com.sesjob.dto.JobDto;
+import com.sesjob.dto.JobDto.IngestState;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 非同期登録キュー
+ * プロセス内の有界キューに登録要求を積み、ワーカーが複数要求をまとめて 1 トランザクションで取り込む
+ * commit-interval を超える要求は区切りごとにコミットし、進捗（processed）もコミットのたびに進める
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IngestQueueService {
+
+    private final JobIngestService jobIngestService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ingest.async.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${ingest.async.workers:2}")
+    private int workers;
+
+    @Value("${ingest.async.max-jobs-per-transaction:5000}")
+    private int maxJobsPerTransaction;
+
+    @Value("${ingest.async.commit-interval:1000}")
+    private int commitInterval;
+
+    @Value("${ingest.async.status-retention:PT1H}")
+    private Duration statusRetention;
+
+    private final Map<String, IngestRun> runs = new ConcurrentHashMap<>();
+    private BlockingQueue<IngestRun> queue;
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("ingest-worker-"));
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::drainLoop);
+        }
+        log.info("Ingest queue started: capacity={}, workers={}", queueCapacity, workers);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+        if (!queue.isEmpty()) {
+            log.warn("Ingest queue stopped with {} pending batches", queue.size());
+        }
+    }
+
+    /**
+     * 登録要求をキューに積む
+     * キューが満杯の場合は empty を返す
+     */
+    public Optional<JobDto.IngestStatus> submit(List<JobDto.CreateRequest> requests, Long crawlRunId) {
+        evictFinishedRuns();
+
+        IngestRun run = new IngestRun(UUID.randomUUID().toString(), List.copyOf(requests), crawlRunId);
+        runs.put(run.id, run);
+        if (!queue.offer(run)) {
+            runs.remove(run.id);
+            log.warn("Ingest queue is full ({} batches), rejecting {} jobs", queueCapacity, requests.size());
+            return Optional.empty();
+        }
+        return Optional.of(run.toStatus());
+    }
+
+    /**
+     * 進捗取得
+     */
+    public Optional<JobDto.IngestStatus> getStatus(String ingestId) {
+        return Optional.ofNullable(runs.get(ingestId)).map(IngestRun::toStatus);
+    }
+
+    // Private helper methods
+
+    private void drainLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<IngestRun> batch = new ArrayList<>();
+                IngestRun first = queue.take();
+                batch.add(first);
+
+                // 上限件数までまとめて取り出す
+                int jobs = first.requests.size();
+                IngestRun next;
+                while (jobs < maxJobsPerTransaction && (next = queue.peek()) != null
+                        && jobs + next.requests.size() <= maxJobsPerTransaction && queue.remove(next)) {
+                    batch.add(next);
+                    jobs += next.requests.size();
+                }
+
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in ingest worker: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void process(List<IngestRun> batch) {
+        batch.forEach(IngestRun::markRunning);
+
+        List<IngestRun> small = new ArrayList<>();
+        for (IngestRun run : batch) {
+            if (run.requests.size() > commitInterval) {
+                processInSlices(run);
+            } else {
+                small.add(run);
+            }
+        }
+        if (!small.isEmpty()) {
+            processMerged(small);
+        }
+    }
+
+    /**
+     * 小さな要求はまとめて 1 トランザクションで処理する（進捗はコミット時に一度に進む）
+     */
+    private void processMerged(List<IngestRun> batch) {
+        try {
+            // クロール実行への加算も含めて 1 トランザクションで処理する
+            List<List<JobDto.IngestAck>> results = transactionTemplate.execute(status -> {
+                List<List<JobDto.IngestAck>> acks = new ArrayList<>(batch.size());
+                for (IngestRun run : batch) {
+                    acks.add(jobIngestService.ingest(run.requests, run.crawlRunId));
+                }
+                return acks;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).fail(e);
+                return;
+            }
+            // まとめたトランザクションが失敗した場合は要求ごとに再実行して失敗を切り分ける
+            log.warn("Merged ingest of {} batches failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (IngestRun run : batch) {
+                try {
+                    run.complete(jobIngestService.ingest(run.requests, run.crawlRunId));
+                } catch (RuntimeException ex) {
+                    run.fail(ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * 大きな要求は commit-interval 件ずつコミットし、コミットした分だけ進捗に加える
+     * 途中で失敗した場合、それまでにコミットした区切りは取り込まれたまま残る
+     */
+    private void processInSlices(IngestRun run) {
+        List<JobDto.CreateRequest> requests = run.requests;
+        try {
+            for (int from = 0; from < requests.size(); from += commitInterval) {
+                List<JobDto.CreateRequest> slice = requests.subList(from,
+                        Math.min(from + commitInterval, requests.size()));
+                run.record(jobIngestService.ingest(slice, run.crawlRunId));
+            }
+            run.complete(List.of());
+        } catch (RuntimeException e) {
+            run.fail(e);
+        }
+    }
+
+    private void evictFinishedRuns() {
+        LocalDateTime threshold = LocalDateTime.now().minus(statusRetention);
+        runs.values().removeIf(run -> run.isFinishedBefore(threshold));
+    }
+
+    /**
+     * 登録要求ごとの進捗
+     */
+    private static class IngestRun {
+
+        private final String id;
+        private final List<JobDto.CreateRequest> requests;
+        private final Long crawlRunId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+
+        private IngestState state = IngestState.QUEUED;
+        private int created;
+        private int updated;
+        private int unchanged;
+        private String error;
+        private long startedNanos;
+        private double jobsPerSecond;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+
+        IngestRun(String id, List<JobDto.CreateRequest> requests, Long crawlRunId) {
+            this.id = id;
+            this.requests = requests;
+            this.crawlRunId = crawlRunId;
+        }
+
+        synchronized void markRunning() {
+            state = IngestState.RUNNING;
+            startedAt = LocalDateTime.now();
+            startedNanos = System.nanoTime();
+        }
+
+        /**
+         * コミット済みの結果を進捗に加える
+         */
+        synchronized void record(List<JobDto.IngestAck> acks) {
+            for (JobDto.IngestAck ack : acks) {
+                switch (ack.getAction()) {
+                    case CREATED -> created++;
+                    case UPDATED -> updated++;
+                    case UNCHANGED -> unchanged++;
+                }
+            }
+        }
+
+        synchronized void complete(List<JobDto.IngestAck> acks) {
+            record(acks);
+            state = IngestState.COMPLETED;
+            finish();
+        }
+
+        synchronized void fail(Exception e) {
+            log.error("Ingest {} failed: {}", id, e.getMessage());
+            state = IngestState.FAILED;
+            error = e.getMessage();
+            finish();
+        }
+
+        synchronized boolean isFinishedBefore(LocalDateTime threshold) {
+            return finishedAt != null && finishedAt.isBefore(threshold);
+        }
+
+        synchronized JobDto.IngestStatus toStatus() {
+            int processed = created + updated + unchanged;
+            return JobDto.IngestStatus.builder()
+                    .ingestId(id)
+                    .state(state)
+                    .total(requests.size())
+                    .processed(processed)
+                    .created(created)
+                    .updated(updated)
+                    .unchanged(unchanged)
+                    .failed(state == IngestState.FAILED ? requests.size() - processed : 0)
+                    .error(error)
+                    .jobsPerSecond(finishedAt != null ? jobsPerSecond : null)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+
+        private void finish() {
+            finishedAt = LocalDateTime.now();
+            double elapsedSec = Math.max(System.nanoTime() - startedNanos, 1) / 1_000_000_000.0;
+            jobsPerSecond = Math.round(requests.size() / elapsedSec * 10) / 10.0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sesjob.service;
+
+import com.sesjob.repository.JobRepositoryCustom.Keyset;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * キーセットページングの継続トークン
+ * ソート項目・方向と直前ページ末尾の (ソートキー, id) を不透明な文字列にエンコードする
+ */
+public record JobCursor(String sortBy, Sort.Direction direction, Keyset keyset) {
+
+    private static final String SEPARATOR = "\u001f";
+    private static final String VALUE_PREFIX = "v";
+
+    // 並び替え可能な項目とソートキーの解析（id はソートキーを持たない）
+    private static final Map<String, Function<String, ?>> KEY_PARSERS = Map.of(
+            "crawledAt", LocalDateTime::parse,
+            "postedAt", LocalDateTime::parse,
+            "createdAt", LocalDateTime::parse,
+            "maxPrice", Integer::valueOf,
+            "minPrice", Integer::valueOf,
+            "id", value -> {
+                throw new IllegalArgumentException("Unexpected sort key for id");
+            });
+
+    /**
+     * キーセットページングで並び替え可能な項目かどうか
+     */
+    public static boolean isSortable(String sortBy) {
+        return sortBy != null && KEY_PARSERS.containsKey(sortBy);
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortBy, direction.name(), String.valueOf(keyset.id()),
+                keyset.value() != null ? VALUE_PREFIX + keyset.value() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 継続トークンを復元する
+     * 改ざんされたトークンが検索時に 500 にならないよう、ソートキーもソート項目の型として解析できるか確かめる
+     */
+    public static JobCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4 || !isSortable(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String value = parts[3].startsWith(VALUE_PREFIX) ? parts[3].substring(VALUE_PREFIX.length()) : null;
+            if (value != null) {
+                KEY_PARSERS.get(parts[0]).apply(value);
+            }
+            return new JobCursor(parts[0], Sort.Direction.valueOf(parts[1]),
+                    new Keyset(value, Long.parseLong(parts[2])));
+        } catch (RuntimeException e) {
+            // Base64 / 数値 / 日時 / 列挙型の不正もここに含まれる
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.sesjob.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 説明文の移行
+ * 旧スキーマの jobs.description を job_descriptions に移し、元のカラムを NULL にする
+ * 重複検知のバックフィルなど説明文を読む起動時処理より先に実行する
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobDescriptionMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        Long maxId = findMaxLegacyId();
+        if (maxId == null) {
+            return;
+        }
+
+        long moved = 0;
+        for (long start = 0; start < maxId; start += BATCH_SIZE) {
+            long from = start;
+            Integer count = transactionTemplate.execute(status -> moveRange(from, from + BATCH_SIZE));
+            moved += count != null ? count : 0;
+        }
+        log.info("Moved {} job descriptions to job_descriptions", moved);
+    }
+
+    /**
+     * 移行対象の最大 id（旧カラムがない、または移行済みなら null）
+     */
+    private Long findMaxLegacyId() {
+        try {
+            return jdbcTemplate.queryForObject("SELECT MAX(id) FROM jobs WHERE description IS NOT NULL", Long.class);
+        } catch (DataAccessException e) {
+            // 新規スキーマには description カラムがない
+            return null;
+        }
+    }
+
+    /**
+     * (from, to] の範囲を移行（移行後に取り込まれた説明文は上書きしない）
+     */
+    private int moveRange(long from, long to) {
+        int inserted = jdbcTemplate.update("INSERT INTO job_descriptions (job_id, content) "
+                + "SELECT j.id, j.description FROM jobs j "
+                + "WHERE j.description IS NOT NULL AND j.id > ? AND j.id <= ? "
+                + "AND NOT EXISTS (SELECT 1 FROM job_descriptions d WHERE d.job_id = j.id)", from, to);
+        jdbcTemplate.update("UPDATE jobs SET description = NULL WHERE description IS NOT NULL AND id > ? AND id <= ?",
+                from, to);
+        return inserted;
+    }
+}
@@ -0,0 +1,70 @@
+package com.sesjob.service;
+
+import com.sesjob.dto.JobDto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 案件内容のフィンガープリント
+ * CreateRequest の全フィールドから SHA-256 を計算し、再クロール時の変更検知に使う
+ */
+public final class JobFingerprint {
+
+    private static final char FIELD_SEPARATOR = '\u001f';
+    private static final char LIST_SEPARATOR = '\u001e';
+    private static final char NULL_MARKER = '\u0000';
+
+    private JobFingerprint() {
+    }
+
+    public static String of(JobDto.CreateRequest request) {
+        StringBuilder sb = new StringBuilder(256);
+        append(sb, request.getSource());
+        append(sb, request.getSourceUrl());
+        append(sb, request.getSourceId());
+        append(sb, request.getTitle());
+        append(sb, request.getMinPrice());
+        append(sb, request.getMaxPrice());
+        append(sb, request.getPriceType());
+        append(sb, request.getSettlementHours());
+        append(sb, request.getRequiredSkills());
+        append(sb, request.getPreferredSkills());
+        append(sb, request.getExperienceYears());
+        append(sb, request.getLocation());
+        append(sb, request.getRemoteType());
+        append(sb, request.getWorkDays());
+        append(sb, request.getStartDate());
+        append(sb, request.getContractPeriod());
+        append(sb, request.getCompanyName());
+        append(sb, request.getIndustry());
+        append(sb, request.getDescription());
+        append(sb, request.getPostedAt());
+        return sha256(sb.toString());
+    }
+
+    private static void append(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append(NULL_MARKER);
+        } else if (value instanceof List<?> list) {
+            for (Object element : list) {
+                sb.append(element).append(LIST_SEPARATOR);
+            }
+        } else {
+            sb.append(value);
+        }
+        sb.append(FIELD_SEPARATOR);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
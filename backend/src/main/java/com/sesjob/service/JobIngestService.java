@@ -0,0 +1,289 @@
+package com.sesjob.service;
+
+import com.sesjob.dto.JobDto;
+import com.sesjob.dto.JobDto.IngestAction;
+import com.sesjob.entity.Job.JobStatus;
+import com.sesjob.repository.JobBulkRepository;
+import com.sesjob.repository.JobBulkRepository.ExistingJob;
+import com.sesjob.repository.JobBulkRepository.JobWrite;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 案件一括登録サービス
+ * チャンク単位で既存案件を一括解決し、INSERT / UPDATE を JDBC バッチで書き込む
+ * 内容ハッシュが一致する案件は last_seen_at の更新のみ行う
+ * 新規・更新案件の説明文は job_descriptions に、スキルマスターで正規化したスキルは job_skills に書き込む
+ * 新規案件は保存済み検索条件と照合し、一致を通知履歴に記録する。コミット後には新着案件ストリームに配信する
+ * ステータス・単価などの変化は統計ストアに差分として記録し、新規案件の単価は単価推移の日次バケットに記録する
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobIngestService {
+
+    private final JobBulkRepository jobBulkRepository;
+    private final IngestMetrics ingestMetrics;
+    private final DuplicateDetector duplicateDetector;
+    private final CrawlRunService crawlRunService;
+    private final SkillNormalizer skillNormalizer;
+    private final KeywordSearchService keywordSearchService;
+    private final DataGeneration dataGeneration;
+    private final TypeaheadService typeaheadService;
+    private final SavedSearchService savedSearchService;
+    private final JobStatsStore jobStatsStore;
+    private final PriceTrendService priceTrendService;
+    private final NewJobStreamService newJobStreamService;
+
+    @Value("${ingest.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * 一括登録
+     */
+    @Transactional
+    public List<JobDto.IngestAck> ingest(List<JobDto.CreateRequest> requests) {
+        return ingest(requests, null);
+    }
+
+    /**
+     * 一括登録（クロール実行に件数を加算）
+     */
+    @Transactional
+    public List<JobDto.IngestAck> ingest(List<JobDto.CreateRequest> requests, Long crawlRunId) {
+        long startedAt = System.nanoTime();
+        List<JobDto.IngestAck> acks = new ArrayList<>(requests.size());
+
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, requests.size());
+            acks.addAll(ingestChunk(requests.subList(from, to)));
+        }
+        if (crawlRunId != null) {
+            crawlRunService.recordIngest(crawlRunId, acks);
+        }
+        dataGeneration.bump();
+
+        double elapsedSec = Math.max(System.nanoTime() - startedAt, 1) / 1_000_000_000.0;
+        log.info("Ingested {} jobs in {} ms ({} jobs/sec)", requests.size(),
+                Math.round(elapsedSec * 1000), Math.round(requests.size() / elapsedSec));
+        return acks;
+    }
+
+    private List<JobDto.IngestAck> ingestChunk(List<JobDto.CreateRequest> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // 同一チャンク内の重複は後勝ち
+        Map<JobKey, JobDto.CreateRequest> unique = new LinkedHashMap<>();
+        for (JobDto.CreateRequest request : chunk) {
+            unique.put(JobKey.of(request), request);
+        }
+
+        Map<String, Map<String, ExistingJob>> existing = jobBulkRepository.findExisting(groupBySource(unique.keySet()));
+
+        List<JobWrite> inserts = new ArrayList<>();
+        List<JobWrite> updates = new ArrayList<>();
+        List<Long> unchanged = new ArrayList<>();
+        Map<JobKey, Long> ids = new HashMap<>();
+        Map<Long, IngestAction> actions = new HashMap<>();
+
+        Map<Long, Long> currentCanonical = new HashMap<>();
+        Set<Long> reopenedCanonicals = new HashSet<>();
+        Map<Long, JobStatsStore.Facts> statsBefore = new HashMap<>();
+
+        unique.forEach((key, request) -> {
+            String contentHash = JobFingerprint.of(request);
+            long simhash = SimHash.of(request.getTitle(), request.getDescription(), request.getMaxPrice(),
+                    request.getRequiredSkills());
+            ExistingJob current = existing.getOrDefault(key.source(), Map.of()).get(key.sourceUrl());
+            if (current == null) {
+                inserts.add(new JobWrite(null, request, contentHash, simhash));
+                return;
+            }
+            ids.put(key, current.id());
+            if (current.status() == JobStatus.CLOSED && current.canonicalJobId() != null) {
+                reopenedCanonicals.add(current.canonicalJobId());
+            }
+            JobStatsStore.Facts facts = new JobStatsStore.Facts(key.source(), current.status(),
+                    current.remoteType(), current.favorite(), current.maxPrice(), null);
+            if (contentHash.equals(current.contentHash())) {
+                unchanged.add(current.id());
+                actions.put(current.id(), IngestAction.UNCHANGED);
+                if (current.status() == JobStatus.CLOSED) {
+                    statsBefore.put(current.id(), facts);
+                }
+            } else {
+                updates.add(new JobWrite(current.id(), request, contentHash, simhash));
+                actions.put(current.id(), IngestAction.UPDATED);
+                currentCanonical.put(current.id(), current.canonicalJobId());
+                statsBefore.put(current.id(), facts);
+            }
+        });
+
+        // 統計の差分用に、更新・再掲載される案件の置き換え前の正規スキルを取得
+        Map<Long, Set<Long>> previousSkillIds = jobBulkRepository.findSkillIds(statsBefore.keySet());
+
+        jobBulkRepository.batchInsert(inserts, now);
+        jobBulkRepository.batchUpdate(updates, now);
+        jobBulkRepository.touchLastSeen(unchanged, now);
+
+        // 採番された ID を取得
+        if (!inserts.isEmpty()) {
+            Set<JobKey> insertedKeys = new LinkedHashSet<>();
+            inserts.forEach(write -> insertedKeys.add(JobKey.of(write.request())));
+            jobBulkRepository.findExisting(groupBySource(insertedKeys))
+                    .forEach((source, byUrl) -> byUrl.forEach((url, job) -> {
+                        ids.put(new JobKey(source, url), job.id());
+                        actions.put(job.id(), IngestAction.CREATED);
+                    }));
+        }
+
+        // 他ソースの同一案件をまとめる
+        List<DuplicateDetector.Candidate> candidates = new ArrayList<>(inserts.size() + updates.size());
+        for (JobWrite write : inserts) {
+            candidates.add(new DuplicateDetector.Candidate(ids.get(JobKey.of(write.request())),
+                    write.request().getSource(), write.simhash(), null));
+        }
+        for (JobWrite write : updates) {
+            candidates.add(new DuplicateDetector.Candidate(write.id(), write.request().getSource(),
+                    write.simhash(), currentCanonical.get(write.id())));
+        }
+        Map<Long, Long> canonicalByJobId = new HashMap<>(duplicateDetector.cluster(candidates));
+        jobBulkRepository.updateCanonical(canonicalByJobId);
+
+        // 掲載終了した代表案件のクラスタに加わった・再掲載された案件があれば代表を選び直す
+        Set<Long> closedCanonicalCandidates = new HashSet<>(reopenedCanonicals);
+        canonicalByJobId.values().stream().filter(Objects::nonNull).forEach(closedCanonicalCandidates::add);
+        canonicalByJobId.putAll(duplicateDetector.reelectCanonicals(closedCanonicalCandidates));
+
+        // 説明文・正規スキル・キーワード索引
+        Map<Long, JobDto.CreateRequest> written = new LinkedHashMap<>();
+        inserts.forEach(write -> written.put(ids.get(JobKey.of(write.request())), write.request()));
+        updates.forEach(write -> written.put(write.id(), write.request()));
+
+        Map<Long, String> descriptionByJobId = new LinkedHashMap<>();
+        Map<Long, Set<Long>> skillIdsByJobId = new LinkedHashMap<>();
+        Map<Long, KeywordIndex.Document> documentsByJobId = new LinkedHashMap<>();
+        written.forEach((id, request) -> {
+            descriptionByJobId.put(id, request.getDescription());
+            skillIdsByJobId.put(id, normalizeSkills(request));
+            documentsByJobId.put(id, KeywordSearchService.document(request.getTitle(), request.getDescription(),
+                    request.getRequiredSkills(), request.getPreferredSkills()));
+        });
+        jobBulkRepository.replaceDescriptions(descriptionByJobId);
+        jobBulkRepository.replaceJobSkills(skillIdsByJobId);
+        keywordSearchService.index(documentsByJobId);
+        recordStats(inserts, ids, statsBefore, previousSkillIds, written, skillIdsByJobId);
+        priceTrendService.record(now.toLocalDate(), inserts.stream()
+                .map(write -> new PriceTrendService.Posting(write.request().getSource(), write.request().getMaxPrice(),
+                        skillIdsByJobId.get(ids.get(JobKey.of(write.request())))))
+                .toList());
+        typeaheadService.recordCreated(inserts.stream().map(JobWrite::request).toList(),
+                inserts.stream().map(write -> skillIdsByJobId.get(ids.get(JobKey.of(write.request())))).toList());
+
+        // 保存済み検索条件との照合（新規案件のみ）
+        List<SavedSearchIndex.JobView> created = new ArrayList<>(inserts.size());
+        for (JobWrite write : inserts) {
+            long id = ids.get(JobKey.of(write.request()));
+            created.add(toJobView(id, write.request(), skillIdsByJobId.get(id), canonicalByJobId.get(id) != null));
+        }
+        savedSearchService.recordMatches(created);
+
+        // コミット後に新着案件ストリームへ配信
+        List<NewJobStreamService.NewJob> stream = new ArrayList<>(created.size());
+        for (int i = 0; i < inserts.size(); i++) {
+            stream.add(new NewJobStreamService.NewJob(created.get(i), toSummary(created.get(i).id(),
+                    inserts.get(i).request())));
+        }
+        newJobStreamService.publishAfterCommit(stream);
+
+        List<JobDto.IngestAck> acks = new ArrayList<>(chunk.size());
+        for (JobDto.CreateRequest request : chunk) {
+            Long id = ids.get(JobKey.of(request));
+            acks.add(JobDto.IngestAck.builder()
+                    .id(id)
+                    .sourceUrl(request.getSourceUrl())
+                    .action(actions.get(id))
+                    .build());
+        }
+
+        ingestMetrics.record(inserts.size(), updates.size(), unchanged.size());
+        log.debug("Ingest chunk: {} created, {} updated, {} unchanged",
+                inserts.size(), updates.size(), unchanged.size());
+        return acks;
+    }
+
+    /**
+     * 統計ストアに差分を記録（掲載終了後に再び確認された案件は NEW に戻る。JobBulkRepository と同じ規則）
+     */
+    private void recordStats(List<JobWrite> inserts, Map<JobKey, Long> ids,
+            Map<Long, JobStatsStore.Facts> statsBefore, Map<Long, Set<Long>> previousSkillIds,
+            Map<Long, JobDto.CreateRequest> written, Map<Long, Set<Long>> skillIdsByJobId) {
+        for (JobWrite write : inserts) {
+            JobDto.CreateRequest request = write.request();
+            jobStatsStore.change(null, new JobStatsStore.Facts(request.getSource(), JobStatus.NEW,
+                    request.getRemoteType(), false, request.getMaxPrice(),
+                    skillIdsByJobId.get(ids.get(JobKey.of(request)))));
+        }
+        statsBefore.forEach((id, facts) -> {
+            JobStatsStore.Facts before = facts.withSkillIds(previousSkillIds.getOrDefault(id, Set.of()));
+            JobStatus status = before.status() == JobStatus.CLOSED ? JobStatus.NEW : before.status();
+            JobDto.CreateRequest request = written.get(id);
+            JobStatsStore.Facts after = request == null
+                    ? before.withStatus(status)
+                    : new JobStatsStore.Facts(before.source(), status, request.getRemoteType(), before.favorite(),
+                            request.getMaxPrice(), skillIdsByJobId.get(id));
+            jobStatsStore.change(before, after);
+        });
+    }
+
+    private static JobDto.Summary toSummary(long id, JobDto.CreateRequest request) {
+        return JobDto.Summary.builder()
+                .id(id)
+                .source(request.getSource())
+                .title(request.getTitle())
+                .maxPrice(request.getMaxPrice())
+                .location(request.getLocation())
+                .remoteType(request.getRemoteType())
+                .requiredSkills(request.getRequiredSkills())
+                .status(JobStatus.NEW)
+                .isFavorite(false)
+                .postedAt(request.getPostedAt())
+                .build();
+    }
+
+    private static SavedSearchIndex.JobView toJobView(long id, JobDto.CreateRequest request, Set<Long> skillIds,
+            boolean duplicate) {
+        List<String> texts = new ArrayList<>();
+        texts.add(SimHash.normalize(request.getTitle()));
+        texts.add(SimHash.normalize(request.getDescription()));
+        KeywordSearchService.document(request.getTitle(), request.getDescription(), request.getRequiredSkills(),
+                request.getPreferredSkills()).skills().forEach(skill -> texts.add(SimHash.normalize(skill)));
+        return new SavedSearchIndex.JobView(id, request.getSource(), texts, skillIds, request.getMinPrice(),
+                request.getMaxPrice(), request.getLocation(), request.getRemoteType(), duplicate);
+    }
+
+    private Set<Long> normalizeSkills(JobDto.CreateRequest request) {
+        return skillNormalizer.normalize(request.getRequiredSkills(), request.getPreferredSkills(),
+                request.getTitle(), request.getDescription());
+    }
+
+    private Map<String, Set<String>> groupBySource(Collection<JobKey> keys) {
+        Map<String, Set<String>> urlsBySource = new HashMap<>();
+        for (JobKey key : keys) {
+            urlsBySource.computeIfAbsent(key.source(), s -> new LinkedHashSet<>()).add(key.sourceUrl());
+        }
+        return urlsBySource;
+    }
+
+    private record JobKey(String source, String sourceUrl) {
+        static JobKey of(JobDto.CreateRequest request) {
+            return new JobKey(request.getSource(), request.getSourceUrl());
+        }
+    }
+}
@@ -1,24 +1,41 @@
 package com.sesjob.service;
 
+import com.sesjob.dto.CursorPage;
+import com.sesjob.dto.FacetPage;
 import com.sesjob.dto.JobDto;
+import com.sesjob.dto.ResultSlice;
 import com.sesjob.dto.SearchRequest;
 import com.sesjob.dto.StatsDto;
 import com.sesjob.entity.Job;
 import com.sesjob.entity.Job.JobStatus;
+import com.sesjob.entity.Job.RemoteType;
+import com.sesjob.entity.JobDescription;
+import com.sesjob.entity.JobSkill;
+import com.sesjob.repository.JobDescriptionRepository;
 import com.sesjob.repository.JobRepository;
+import com.sesjob.repository.JobRepositoryCustom.Keyset;
+import com.sesjob.repository.JobRepositoryCustom.SummaryRow;
+import com.sesjob.repository.SkillRepository;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.LongPredicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,98 +43,240 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JobService {
 
+    // キーワードとの関連度（BM25）順に並べる sortBy の値
+    private static final String RELEVANCE_SORT = "relevance";
+
+    // 絞り込み候補として返す上位スキル数
+    private static final int FACET_SKILL_LIMIT = 20;
+
+    // 候補の多いキーワードをカーソル方式で読むときの 1 回の読み込み件数の上限
+    private static final int KEYSET_SCAN_MAX_BATCH = 5000;
+
     private final JobRepository jobRepository;
+    private final JobDescriptionRepository jobDescriptionRepository;
+    private final JobIngestService jobIngestService;
+    private final KeywordSearchService keywordSearchService;
+    private final SkillNormalizer skillNormalizer;
+    private final SearchCache searchCache;
+    private final DataGeneration dataGeneration;
+    private final JobStatsStore jobStatsStore;
+    private final SkillRepository skillRepository;
+    private final PriceTrendService priceTrendService;
+    private final DuplicateDetector duplicateDetector;
 
     /**
-     * 全案件取得（ページネーション）
+     * 全案件取得（ページネーション、withCount=false の場合は件数を数えない）
+     * 検索と同じく、掲載終了した案件は includeClosed=true の場合のみ含める
      */
-    public Page<JobDto.Summary> getAllJobs(int page, int size, String sortBy, String sortOrder) {
-        Sort sort = createSort(sortBy, sortOrder);
-        Pageable pageable = PageRequest.of(page, size, sort);
-        return jobRepository.findAll(pageable).map(this::toSummary);
+    @Transactional(readOnly = true)
+    public Slice<JobDto.Summary> getAllJobs(int page, int size, String sortBy, String sortOrder,
+            boolean collapseDuplicates, boolean includeClosed, boolean withCount) {
+        return searchCache.get(new ListKey(page, size, sortBy, sortOrder, collapseDuplicates, includeClosed,
+                withCount), () -> {
+            Sort sort = createSort(sortBy, sortOrder);
+            Pageable pageable = PageRequest.of(page, size, sort);
+            return findPage(listFilter(collapseDuplicates, includeClosed), pageable,
+                    new CountKey("list", List.of(collapseDuplicates, includeClosed)), withCount);
+        });
     }
 
     /**
-     * 案件詳細取得
+     * 全案件取得（カーソル方式）
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobDto.Summary> scrollJobs(String cursor, int size, String sortBy, String sortOrder,
+            boolean collapseDuplicates, boolean includeClosed) {
+        return scroll(listFilter(collapseDuplicates, includeClosed), cursor, size, sortBy, sortOrder);
+    }
+
+    /**
+     * 案件詳細取得（説明文を含む）
      */
     public Optional<JobDto.Response> getJobById(Long id) {
-        return jobRepository.findById(id).map(this::toResponse);
+        return jobRepository.findById(id).map(this::toResponseWithDescription);
+    }
+
+    /**
+     * 重複案件一覧（指定案件を代表とするクラスタのメンバー）
+     */
+    @Transactional(readOnly = true)
+    public List<JobDto.Summary> getDuplicates(Long id) {
+        return jobRepository.findSummaries((root, query, cb) -> cb.equal(root.get("canonicalJobId"), id),
+                Sort.by("id"));
     }
 
     /**
      * 案件検索
      */
-    public Page<JobDto.Summary> searchJobs(SearchRequest request) {
-        Specification<Job> spec = buildSpecification(request);
+    @Transactional(readOnly = true)
+    public Slice<JobDto.Summary> searchJobs(SearchRequest request) {
+        SearchRequest normalized = normalize(request);
+        return searchCache.get(normalized, () -> findJobs(normalized));
+    }
 
+    private Slice<JobDto.Summary> findJobs(SearchRequest request) {
         int page = request.getPage() != null ? request.getPage() : 0;
         int size = request.getSize() != null ? request.getSize() : 20;
         String sortBy = request.getSortBy() != null ? request.getSortBy() : "crawledAt";
         String sortOrder = request.getSortOrder() != null ? request.getSortOrder() : "desc";
 
-        Sort sort = createSort(sortBy, sortOrder);
+        boolean includeFacets = Boolean.TRUE.equals(request.getIncludeFacets());
+        Optional<KeywordIndex.Matches> keyword = keywordMatches(request);
+        Optional<Page<JobDto.Summary>> ranked = RELEVANCE_SORT.equals(sortBy) && keyword.isPresent()
+                ? rankByRelevance(request, keyword.get(), page, size)
+                : Optional.empty();
+        if (ranked.isPresent() && !includeFacets) {
+            return ranked.get();
+        }
+
+        // 関連度を計算できない場合（キーワードなし、1 文字の語、インデックスのロード前）は新着順
+        Sort sort = createSort(RELEVANCE_SORT.equals(sortBy) ? "crawledAt" : sortBy, sortOrder);
+        if (keyword.isPresent() && isBroad(keyword.get())) {
+            long[] ids = findBroadMatches(request, keyword.get(), sort);
+            Page<JobDto.Summary> results = ranked.orElseGet(() -> pageOf(ids, page, size));
+            if (!includeFacets) {
+                return results;
+            }
+            StatsDto.Facets facets = searchCache.get(new CountKey("facets", filterOnly(request)),
+                    () -> jobRepository.findFacets(ids, FACET_SKILL_LIMIT));
+            return new FacetPage<>(results, facets);
+        }
+
+        Specification<Job> spec = buildSpecification(request, keyword);
         Pageable pageable = PageRequest.of(page, size, sort);
+        if (includeFacets) {
+            // 件数はソースごとの件数の合計から求め、COUNT を発行しない
+            StatsDto.Facets facets = jobRepository.findFacets(spec, FACET_SKILL_LIMIT);
+            long total = facets.getSources().values().stream().mapToLong(Long::longValue).sum();
+            Page<JobDto.Summary> results = ranked.orElseGet(
+                    () -> jobRepository.findSummaries(spec, pageable, () -> total));
+            return new FacetPage<>(results, facets);
+        }
+        CountKey countKey = new CountKey("search", request.toBuilder()
+                .page(null).size(null).sortBy(null).sortOrder(null).withCount(null)
+                .build());
+        return findPage(spec, pageable, countKey, !Boolean.FALSE.equals(request.getWithCount()));
+    }
 
-        return jobRepository.findAll(spec, pageable).map(this::toSummary);
+    /**
+     * 一覧の 1 ページ
+     * 件数はデータ世代ごとにキャッシュし、ページ送りのたびに数え直さない
+     * withCount=false の場合は件数を数えず、同じ条件の件数がキャッシュにあれば付与する
+     */
+    private Slice<JobDto.Summary> findPage(Specification<Job> spec, Pageable pageable, CountKey countKey,
+            boolean withCount) {
+        if (!withCount) {
+            return new ResultSlice<>(jobRepository.findSummarySlice(spec, pageable),
+                    searchCache.<Long>getIfPresent(countKey).orElse(null));
+        }
+        return jobRepository.findSummaries(spec, pageable,
+                () -> searchCache.get(countKey, () -> jobRepository.count(spec)));
     }
 
     /**
-     * 案件作成（クローラーからの登録）
+     * 条件に一致する案件をキーワードとの関連度順に並べたページ
+     * 条件に一致する ID を DB から取得し、順位付けはインデックスの統計で行ってからページ分の行を読む
+     * 候補が max-candidates を超える場合は、インデックスで関連度上位 max-candidates 件を選んでから
+     * キーワード以外の条件で絞り込むため、結果と件数はその上位件数の範囲に限られる
      */
-    @Transactional
-    public JobDto.Response createJob(JobDto.CreateRequest request) {
-        // 重複チェック
-        Optional<Job> existing = jobRepository.findBySourceAndSourceUrl(
-                request.getSource(), request.getSourceUrl());
-
-        if (existing.isPresent()) {
-            // 既存の案件を更新
-            Job job = existing.get();
-            updateJobFromRequest(job, request);
-            job = jobRepository.save(job);
-            log.info("Updated existing job: {} - {}", job.getId(), job.getTitle());
-            return toResponse(job);
+    private Optional<Page<JobDto.Summary>> rankByRelevance(SearchRequest request, KeywordIndex.Matches keyword,
+            int page, int size) {
+        if (isBroad(keyword)) {
+            // 結果はデータ世代ごとにキャッシュし、ページ送りのたびに絞り込み直さない
+            long[] ids = searchCache.get(new MatchKey(filterOnly(request), Sort.by(RELEVANCE_SORT)),
+                    () -> rankBroadMatches(request));
+            return ids != null ? Optional.of(pageOf(ids, page, size)) : Optional.empty();
         }
+        List<Long> ids = jobRepository.findIds(buildSpecification(request, Optional.of(keyword)));
+        return keywordSearchService.rank(request.getKeyword(), ids, page * size, size)
+                .map(pageIds -> new PageImpl<>(findSummariesInOrder(pageIds), PageRequest.of(page, size), ids.size()));
+    }
 
-        // 新規作成
-        Job job = Job.builder()
-                .source(request.getSource())
-                .sourceUrl(request.getSourceUrl())
-                .sourceId(request.getSourceId())
-                .title(request.getTitle())
-                .minPrice(request.getMinPrice())
-                .maxPrice(request.getMaxPrice())
-                .priceType(request.getPriceType())
-                .settlementHours(request.getSettlementHours())
-                .requiredSkills(request.getRequiredSkills())
-                .preferredSkills(request.getPreferredSkills())
-                .experienceYears(request.getExperienceYears())
-                .location(request.getLocation())
-                .remoteType(request.getRemoteType())
-                .workDays(request.getWorkDays())
-                .startDate(request.getStartDate())
-                .contractPeriod(request.getContractPeriod())
-                .companyName(request.getCompanyName())
-                .industry(request.getIndustry())
-                .description(request.getDescription())
-                .postedAt(request.getPostedAt())
-                .crawledAt(LocalDateTime.now())
-                .status(JobStatus.NEW)
-                .build();
+    /**
+     * 候補の多いキーワードの関連度上位 max-candidates 件のうち、キーワード以外の条件に一致する ID（関連度順）
+     * インデックスを使えない場合は null
+     */
+    private long[] rankBroadMatches(SearchRequest request) {
+        Optional<List<Long>> top = keywordSearchService.top(request.getKeyword(),
+                keywordSearchService.getMaxCandidates());
+        if (top.isEmpty()) {
+            return null;
+        }
+        if (top.get().isEmpty()) {
+            return new long[0];
+        }
+        Set<Long> matched = new HashSet<>(jobRepository.findIds(buildSpecification(request, Optional.empty(), false)
+                .and((root, query, cb) -> root.get("id").in(top.get()))));
+        return top.get().stream().filter(matched::contains).mapToLong(Long::longValue).toArray();
+    }
 
-        job = jobRepository.save(job);
-        log.info("Created new job: {} - {}", job.getId(), job.getTitle());
-        return toResponse(job);
+    /**
+     * 候補の多いキーワードに一致する案件 ID（sort の順）
+     * 候補を IN 条件にせず、キーワード以外の条件に一致する ID を並び順どおりに取得して候補と突き合わせる
+     * 結果はデータ世代ごとにキャッシュし、ページ送りのたびに読み直さない
+     */
+    private long[] findBroadMatches(SearchRequest request, KeywordIndex.Matches keyword, Sort sort) {
+        return searchCache.get(new MatchKey(filterOnly(request), sort), () -> jobRepository.findIds(
+                        buildSpecification(request, Optional.empty(), false), sort).stream()
+                .mapToLong(Long::longValue)
+                .filter(keyword::contains)
+                .toArray());
     }
 
     /**
-     * 一括登録
+     * 並び順どおりの ID 列から 1 ページ分の行を読む
+     */
+    private Page<JobDto.Summary> pageOf(long[] ids, int page, int size) {
+        int from = (int) Math.min((long) page * size, ids.length);
+        int to = Math.min(from + size, ids.length);
+        List<Long> pageIds = Arrays.stream(ids, from, to).boxed().toList();
+        return new PageImpl<>(findSummariesInOrder(pageIds), PageRequest.of(page, size), ids.length);
+    }
+
+    private List<JobDto.Summary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, JobDto.Summary> byId = jobRepository.findSummaries(
+                        (root, query, cb) -> root.get("id").in(ids), Sort.unsorted()).stream()
+                .collect(Collectors.toMap(JobDto.Summary::getId, summary -> summary));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * 案件検索（カーソル方式）
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobDto.Summary> scrollSearch(SearchRequest request) {
+        int size = request.getSize() != null ? request.getSize() : 20;
+        String sortBy = request.getSortBy() != null ? request.getSortBy() : "crawledAt";
+        String sortOrder = request.getSortOrder() != null ? request.getSortOrder() : "desc";
+        Optional<KeywordIndex.Matches> keyword = keywordMatches(request);
+        if (keyword.isPresent() && isBroad(keyword.get())) {
+            // 候補の多いキーワードは、キーワード以外の条件でキーセット順に読みながら候補と突き合わせる
+            return scroll(buildSpecification(request, Optional.empty(), false), keyword.get()::contains,
+                    request.getCursor(), size, sortBy, sortOrder);
+        }
+        return scroll(buildSpecification(request, keyword), request.getCursor(), size, sortBy, sortOrder);
+    }
+
+    /**
+     * 案件作成（クローラーからの登録）
      */
     @Transactional
-    public List<JobDto.Response> createJobs(List<JobDto.CreateRequest> requests) {
-        return requests.stream()
-                .map(this::createJob)
-                .collect(Collectors.toList());
+    public JobDto.Response createJob(JobDto.CreateRequest request) {
+        JobDto.IngestAck ack = jobIngestService.ingest(List.of(request)).get(0);
+        Job job = jobRepository.findById(ack.getId())
+                .orElseThrow(() -> new IllegalStateException("Ingested job not found: " + ack.getId()));
+        log.info("{} job: {} - {}", ack.getAction(), job.getId(), job.getTitle());
+        return toResponseWithDescription(job);
+    }
+
+    /**
+     * 一括登録
+     */
+    public List<JobDto.IngestAck> createJobs(List<JobDto.CreateRequest> requests, Long crawlRunId) {
+        return jobIngestService.ingest(requests, crawlRunId);
     }
 
     /**
@@ -127,8 +286,27 @@ public class JobService {
     public Optional<JobDto.Response> updateStatus(Long id, JobStatus status) {
         return jobRepository.findById(id)
                 .map(job -> {
+                    JobStatsStore.Facts before = statsFacts(job);
                     job.setStatus(status);
-                    return toResponse(jobRepository.save(job));
+                    JobStatsStore.Facts after = statsFacts(job);
+                    if (before.active() != after.active()) {
+                        // 掲載中かどうかが変わる場合はスキル別の集計も移す
+                        List<Long> skillIds = jobRepository.findSkillIds(id);
+                        before = before.withSkillIds(skillIds);
+                        after = after.withSkillIds(skillIds);
+                    }
+                    jobStatsStore.change(before, after);
+                    Job saved = jobRepository.saveAndFlush(job);
+                    if (before.active() != after.active()) {
+                        // 代表案件の掲載終了・重複案件の再掲載では、重複をまとめた一覧に出す代表を選び直す
+                        Long clusterId = saved.getCanonicalJobId() != null ? saved.getCanonicalJobId() : id;
+                        Map<Long, Long> changes = duplicateDetector.reelectCanonicals(List.of(clusterId));
+                        if (changes.containsKey(id)) {
+                            saved.setCanonicalJobId(changes.get(id));
+                        }
+                    }
+                    dataGeneration.bump();
+                    return toResponse(saved);
                 });
     }
 
@@ -139,7 +317,10 @@ public class JobService {
     public Optional<JobDto.Response> toggleFavorite(Long id) {
         return jobRepository.findById(id)
                 .map(job -> {
+                    JobStatsStore.Facts before = statsFacts(job);
                     job.setIsFavorite(!job.getIsFavorite());
+                    jobStatsStore.change(before, statsFacts(job));
+                    dataGeneration.bump();
                     return toResponse(jobRepository.save(job));
                 });
     }
@@ -147,43 +328,84 @@ public class JobService {
     /**
      * お気に入り一覧
      */
-    public Page<JobDto.Summary> getFavorites(int page, int size) {
+    @Transactional(readOnly = true)
+    public Slice<JobDto.Summary> getFavorites(int page, int size, boolean withCount) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("crawledAt").descending());
-        return jobRepository.findByIsFavoriteTrue(pageable).map(this::toSummary);
+        return findPage(favoriteOnly(), pageable, new CountKey("favorites", null), withCount);
+    }
+
+    /**
+     * お気に入り一覧（カーソル方式）
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobDto.Summary> scrollFavorites(String cursor, int size) {
+        return scroll(favoriteOnly(), cursor, size, "crawledAt", "desc");
     }
 
     /**
      * 新着案件取得
      */
+    @Transactional(readOnly = true)
     public List<JobDto.Summary> getNewJobsSince(LocalDateTime since) {
-        return jobRepository.findNewJobsSince(since).stream()
-                .map(this::toSummary)
-                .collect(Collectors.toList());
+        return jobRepository.findSummaries(
+                (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("crawledAt"), since), Sort.unsorted());
+    }
+
+    /**
+     * 検索結果キャッシュの統計
+     */
+    public StatsDto.CacheStats getCacheStats() {
+        return searchCache.getStats();
     }
 
     /**
-     * 統計情報取得
+     * 統計情報取得（取り込み・更新時に加算済みの集計値を返す）
      */
     public StatsDto.Overview getOverviewStats() {
-        long total = jobRepository.count();
-        long newJobs = jobRepository.countBySource("NEW"); // ステータス別
-        long favorites = jobRepository.findByIsFavoriteTrue(Pageable.unpaged()).getTotalElements();
-        Double avgPrice = jobRepository.averageMaxPrice();
-
-        Map<String, Long> bySource = new HashMap<>();
-        jobRepository.countBySourceGrouped().forEach(row -> bySource.put((String) row[0], (Long) row[1]));
-
-        return StatsDto.Overview.builder()
-                .totalJobs(total)
-                .newJobs(newJobs)
-                .favoriteJobs(favorites)
-                .averagePrice(avgPrice)
-                .jobsBySource(bySource)
-                .build();
+        return jobStatsStore.getOverview();
+    }
+
+    /**
+     * スキル別の掲載中案件数・平均単価（件数上位）
+     */
+    public List<StatsDto.SkillStats> getSkillStats(String source, RemoteType remoteType, int limit) {
+        List<JobStatsStore.SkillTotals> top = jobStatsStore.getTopSkills(source, remoteType, limit);
+        Map<Long, String> names = new HashMap<>();
+        skillRepository.findAllById(top.stream().map(JobStatsStore.SkillTotals::skillId).toList())
+                .forEach(skill -> names.put(skill.getId(), skill.getName()));
+        return top.stream()
+                .filter(totals -> names.containsKey(totals.skillId()))
+                .map(totals -> StatsDto.SkillStats.builder()
+                        .skill(names.get(totals.skillId()))
+                        .count(totals.count())
+                        .averagePrice(totals.averagePrice())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * 新規掲載案件の単価推移（skill はスキルマスターの名称・別名。未登録のスキルなら空）
+     */
+    public List<StatsDto.PriceTrend> getPriceTrends(LocalDate from, LocalDate to, String source, String skill,
+            PriceTrendService.TrendInterval interval) {
+        Long skillId = null;
+        if (skill != null && !skill.isBlank()) {
+            Optional<Long> resolved = skillNormalizer.resolve(skill);
+            if (resolved.isEmpty()) {
+                return List.of();
+            }
+            skillId = resolved.get();
+        }
+        return priceTrendService.getTrends(from, to, source, skillId, interval);
     }
 
     // Private helper methods
 
+    private static JobStatsStore.Facts statsFacts(Job job) {
+        return new JobStatsStore.Facts(job.getSource(), job.getStatus(), job.getRemoteType(),
+                Boolean.TRUE.equals(job.getIsFavorite()), job.getMaxPrice(), null);
+    }
+
     private Sort createSort(String sortBy, String sortOrder) {
         Sort.Direction direction = "asc".equalsIgnoreCase(sortOrder)
                 ? Sort.Direction.ASC
@@ -191,16 +413,233 @@ public class JobService {
         return Sort.by(direction, sortBy != null ? sortBy : "crawledAt");
     }
 
-    private Specification<Job> buildSpecification(SearchRequest request) {
+    /**
+     * 検索条件のスキル名・別名を正規スキル ID に解決
+     * 条件なしは empty、ALL 条件で解決できないスキルを含む場合は空集合（該当なし）
+     */
+    private Optional<Set<Long>> resolveSkills(List<String> skills, boolean matchAny) {
+        if (skills == null || skills.stream().allMatch(skill -> skill == null || skill.isBlank())) {
+            return Optional.empty();
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String skill : skills) {
+            if (skill == null || skill.isBlank()) {
+                continue;
+            }
+            Optional<Long> id = skillNormalizer.resolve(skill);
+            if (id.isPresent()) {
+                ids.add(id.get());
+            } else if (!matchAny) {
+                return Optional.of(Set.of());
+            }
+        }
+        return Optional.of(ids);
+    }
+
+    private CursorPage<JobDto.Summary> scroll(Specification<Job> spec, String cursor, int size, String sortBy,
+            String sortOrder) {
+        return scroll(spec, null, cursor, size, sortBy, sortOrder);
+    }
+
+    /**
+     * キーセット方式で size + 1 件取得し、次ページの有無と継続トークンを求める
+     * 2 ページ目以降はトークンに含まれるソート条件を使う
+     * filter を指定した場合は、一致する行が size + 1 件になるまで読み進める
+     */
+    private CursorPage<JobDto.Summary> scroll(Specification<Job> spec, LongPredicate filter, String cursor, int size,
+            String sortBy, String sortOrder) {
+        JobCursor after = cursor != null && !cursor.isBlank() ? JobCursor.decode(cursor) : null;
+        String sortField = after != null ? after.sortBy() : sortBy;
+        Sort.Direction direction = after != null ? after.direction()
+                : "asc".equalsIgnoreCase(sortOrder) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        if (!JobCursor.isSortable(sortField)) {
+            throw new IllegalArgumentException("Unsupported sort field for cursor paging: " + sortField);
+        }
+
+        Keyset afterKeyset = after != null ? after.keyset() : null;
+        List<SummaryRow> rows = filter == null
+                ? jobRepository.findByKeyset(spec, sortField, direction, afterKeyset, size + 1)
+                : findByKeyset(spec, filter, sortField, direction, afterKeyset, size + 1);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        return CursorPage.<JobDto.Summary>builder()
+                .content(rows.stream().map(SummaryRow::summary).collect(Collectors.toList()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext
+                        ? new JobCursor(sortField, direction, rows.get(rows.size() - 1).keyset()).encode()
+                        : null)
+                .build();
+    }
+
+    /**
+     * キーセット順に読みながら filter に一致する行を最大 limit 件集める（読み込み件数は回ごとに倍にする）
+     */
+    private List<SummaryRow> findByKeyset(Specification<Job> spec, LongPredicate filter, String sortField,
+            Sort.Direction direction, Keyset after, int limit) {
+        List<SummaryRow> matched = new ArrayList<>(limit);
+        int batchSize = Math.min(limit * 4, KEYSET_SCAN_MAX_BATCH);
+        while (true) {
+            List<SummaryRow> batch = jobRepository.findByKeyset(spec, sortField, direction, after, batchSize);
+            for (SummaryRow row : batch) {
+                if (filter.test(row.summary().getId())) {
+                    matched.add(row);
+                    if (matched.size() == limit) {
+                        return matched;
+                    }
+                }
+            }
+            if (batch.size() < batchSize) {
+                return matched;
+            }
+            after = batch.get(batch.size() - 1).keyset();
+            batchSize = Math.min(batchSize * 2, KEYSET_SCAN_MAX_BATCH);
+        }
+    }
+
+    private Specification<Job> listFilter(boolean collapseDuplicates, boolean includeClosed) {
+        Specification<Job> spec = Specification.where(includeClosed ? null : openOnly());
+        return collapseDuplicates ? spec.and(canonicalOnly()) : spec;
+    }
+
+    private Specification<Job> openOnly() {
+        return (root, query, cb) -> cb.notEqual(root.get("status"), JobStatus.CLOSED);
+    }
+
+    private Specification<Job> canonicalOnly() {
+        return (root, query, cb) -> cb.isNull(root.get("canonicalJobId"));
+    }
+
+    private Specification<Job> favoriteOnly() {
+        return (root, query, cb) -> cb.isTrue(root.get("isFavorite"));
+    }
+
+    /**
+     * 検索条件をキャッシュキー用に正規化（既定値を補い、結果に影響しない表記揺れをそろえる）
+     */
+    private SearchRequest normalize(SearchRequest request) {
+        return SearchRequest.builder()
+                .keyword(blankToNull(request.getKeyword() != null ? request.getKeyword().trim().toLowerCase() : null))
+                .skills(sortedDistinct(request.getSkills(), skill -> skill.trim().toLowerCase()))
+                .skillMatch(request.getSkillMatch() != null ? request.getSkillMatch() : SearchRequest.SkillMatch.ALL)
+                .minPrice(request.getMinPrice())
+                .maxPrice(request.getMaxPrice())
+                .location(blankToNull(request.getLocation()))
+                .remoteType(request.getRemoteType())
+                .sources(sortedDistinct(request.getSources(), source -> source))
+                .collapseDuplicates(Boolean.TRUE.equals(request.getCollapseDuplicates()))
+                .includeClosed(Boolean.TRUE.equals(request.getIncludeClosed()))
+                .includeFacets(Boolean.TRUE.equals(request.getIncludeFacets()))
+                .withCount(!Boolean.FALSE.equals(request.getWithCount()))
+                .sortBy(request.getSortBy() != null ? request.getSortBy() : "crawledAt")
+                .sortOrder(request.getSortOrder() != null ? request.getSortOrder() : "desc")
+                .page(request.getPage() != null ? request.getPage() : 0)
+                .size(request.getSize() != null ? request.getSize() : 20)
+                .build();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static List<String> sortedDistinct(List<String> values, UnaryOperator<String> mapper) {
+        if (values == null) {
+            return null;
+        }
+        List<String> result = values.stream()
+                .filter(value -> value != null && !value.isBlank())
+                .map(mapper)
+                .distinct()
+                .sorted()
+                .toList();
+        return result.isEmpty() ? null : result;
+    }
+
+    /**
+     * 検索条件のキーワードに一致する候補（キーワードなし・インデックスを使えない場合は empty）
+     */
+    private Optional<KeywordIndex.Matches> keywordMatches(SearchRequest request) {
+        return request.getKeyword() != null && !request.getKeyword().isBlank()
+                ? keywordSearchService.findCandidates(request.getKeyword())
+                : Optional.empty();
+    }
+
+    /**
+     * 候補が多く、IN 条件にせず突き合わせるキーワードかどうか
+     */
+    private boolean isBroad(KeywordIndex.Matches keyword) {
+        return keyword.size() > keywordSearchService.getMaxCandidates();
+    }
+
+    /**
+     * ページ・並び順・件数やファセットの要否を除いた絞り込み条件（キャッシュキー用）
+     */
+    private static SearchRequest filterOnly(SearchRequest request) {
+        return request.toBuilder()
+                .page(null).size(null).sortBy(null).sortOrder(null).withCount(null).includeFacets(null)
+                .build();
+    }
+
+    private Specification<Job> buildSpecification(SearchRequest request, Optional<KeywordIndex.Matches> keyword) {
+        return buildSpecification(request, keyword, true);
+    }
+
+    /**
+     * 検索条件の Specification
+     * キーワードはインデックスの候補を IN 条件にし（候補の多いキーワードは呼び出し側で突き合わせる）、
+     * インデックスを使えない場合のみ LIKE で絞り込む
+     */
+    private Specification<Job> buildSpecification(SearchRequest request, Optional<KeywordIndex.Matches> matches,
+            boolean includeKeyword) {
+        boolean hasKeyword = includeKeyword && request.getKeyword() != null && !request.getKeyword().isBlank();
+        if (hasKeyword && matches.isPresent() && isBroad(matches.get())) {
+            throw new IllegalStateException("Broad keyword must be matched against ids: " + request.getKeyword());
+        }
+        Optional<Set<Long>> keywordCandidates = hasKeyword
+                ? matches.map(KeywordIndex.Matches::toSet)
+                : Optional.empty();
+
+        boolean matchAny = request.getSkillMatch() == SearchRequest.SkillMatch.ANY;
+        Optional<Set<Long>> skillIds = resolveSkills(request.getSkills(), matchAny);
+
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
-            // キーワード検索
-            if (request.getKeyword() != null && !request.getKeyword().isBlank()) {
+            // キーワード検索（転置インデックスで一致を確かめた ID）
+            if (keywordCandidates.isPresent()) {
+                Set<Long> ids = keywordCandidates.get();
+                predicates.add(ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids));
+            } else if (hasKeyword) {
+                // フォールバック（説明文は job_descriptions を相関サブクエリで参照）
                 String keyword = "%" + request.getKeyword().toLowerCase() + "%";
+                Subquery<Long> descriptionMatch = query.subquery(Long.class);
+                Root<JobDescription> description = descriptionMatch.from(JobDescription.class);
+                descriptionMatch.select(description.get("jobId"))
+                        .where(cb.equal(description.get("jobId"), root.get("id")),
+                                cb.like(cb.lower(description.get("content")), keyword));
                 predicates.add(cb.or(
                         cb.like(cb.lower(root.get("title")), keyword),
-                        cb.like(cb.lower(root.get("description")), keyword)));
+                        cb.exists(descriptionMatch)));
+            }
+
+            // スキル（job_skills の (skill_id, job_id) インデックスから案件 ID を引く）
+            if (skillIds.isPresent()) {
+                if (skillIds.get().isEmpty()) {
+                    predicates.add(cb.disjunction());
+                } else {
+                    Subquery<Long> skillMatch = query.subquery(Long.class);
+                    Root<JobSkill> jobSkill = skillMatch.from(JobSkill.class);
+                    skillMatch.select(jobSkill.get("jobId"))
+                            .where(jobSkill.get("skillId").in(skillIds.get()));
+                    if (!matchAny) {
+                        skillMatch.groupBy(jobSkill.get("jobId"))
+                                .having(cb.equal(cb.count(jobSkill.get("skillId")), (long) skillIds.get().size()));
+                    }
+                    predicates.add(root.get("id").in(skillMatch));
+                }
             }
 
             // 単価フィルター
@@ -226,29 +665,26 @@ public class JobService {
                 predicates.add(root.get("source").in(request.getSources()));
             }
 
+            // 掲載終了した案件はデフォルトで除外
+            if (!Boolean.TRUE.equals(request.getIncludeClosed())) {
+                predicates.add(cb.notEqual(root.get("status"), JobStatus.CLOSED));
+            }
+
+            // 他ソースの重複案件は代表案件のみ
+            if (Boolean.TRUE.equals(request.getCollapseDuplicates())) {
+                predicates.add(cb.isNull(root.get("canonicalJobId")));
+            }
+
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
 
-    private void updateJobFromRequest(Job job, JobDto.CreateRequest request) {
-        job.setTitle(request.getTitle());
-        job.setMinPrice(request.getMinPrice());
-        job.setMaxPrice(request.getMaxPrice());
-        job.setPriceType(request.getPriceType());
-        job.setSettlementHours(request.getSettlementHours());
-        job.setRequiredSkills(request.getRequiredSkills());
-        job.setPreferredSkills(request.getPreferredSkills());
-        job.setExperienceYears(request.getExperienceYears());
-        job.setLocation(request.getLocation());
-        job.setRemoteType(request.getRemoteType());
-        job.setWorkDays(request.getWorkDays());
-        job.setStartDate(request.getStartDate());
-        job.setContractPeriod(request.getContractPeriod());
-        job.setCompanyName(request.getCompanyName());
-        job.setIndustry(request.getIndustry());
-        job.setDescription(request.getDescription());
-        job.setPostedAt(request.getPostedAt());
-        job.setCrawledAt(LocalDateTime.now());
+    private JobDto.Response toResponseWithDescription(Job job) {
+        JobDto.Response response = toResponse(job);
+        jobDescriptionRepository.findById(job.getId())
+                .map(JobDescription::getContent)
+                .ifPresent(response::setDescription);
+        return response;
     }
 
     private JobDto.Response toResponse(Job job) {
@@ -272,27 +708,25 @@ public class JobService {
                 .contractPeriod(job.getContractPeriod())
                 .companyName(job.getCompanyName())
                 .industry(job.getIndustry())
-                .description(job.getDescription())
                 .status(job.getStatus())
                 .isFavorite(job.getIsFavorite())
+                .canonicalJobId(job.getCanonicalJobId())
                 .postedAt(job.getPostedAt())
                 .crawledAt(job.getCrawledAt())
                 .createdAt(job.getCreatedAt())
                 .build();
     }
 
-    private JobDto.Summary toSummary(Job job) {
-        return JobDto.Summary.builder()
-                .id(job.getId())
-                .source(job.getSource())
-                .title(job.getTitle())
-                .maxPrice(job.getMaxPrice())
-                .location(job.getLocation())
-                .remoteType(job.getRemoteType())
-                .requiredSkills(job.getRequiredSkills())
-                .status(job.getStatus())
-                .isFavorite(job.getIsFavorite())
-                .postedAt(job.getPostedAt())
-                .build();
+    // 全案件一覧のキャッシュキー
+    private record ListKey(int page, int size, String sortBy, String sortOrder, boolean collapseDuplicates,
+            boolean includeClosed, boolean withCount) {
+    }
+
+    // 件数のキャッシュキー（ページ・並び順を含まない絞り込み条件）
+    private record CountKey(String kind, Object filter) {
+    }
+
+    // 候補の多いキーワードに一致する ID 列のキャッシュキー
+    private record MatchKey(Object filter, Sort sort) {
     }
 }
@@ -0,0 +1,418 @@
+package com.sesjob.service;
+
+import com.sesjob.dto.StatsDto;
+import com.sesjob.entity.Job.JobStatus;
+import com.sesjob.entity.Job.RemoteType;
+import com.sesjob.repository.JobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 案件統計の集計値ストア
+ * (ソース, ステータス, リモート区分, お気に入り) ごと、および掲載中案件の (正規スキル, ソース, リモート区分) ごとに
+ * 件数・単価合計を保持し、取り込み・ステータス変更・お気に入り変更・掲載終了の差分をコミット後に加算する
+ * 起動時と定期的に SQL の集計と突き合わせ、ずれがあれば SQL の値で置き換える
+ */
+@Component
+@Slf4j
+public class JobStatsStore {
+
+    private static final int RECONCILE_ATTEMPTS = 5;
+    private static final long RECONCILE_BACKOFF_MS = 200;
+
+    private final JobRepository jobRepository;
+    private final Counter drift;
+
+    private final Object lock = new Object();
+    private Rollups rollups = new Rollups();
+    private long version;
+    private boolean loaded;
+    // 差分を記録しない一括書き換えの後、次回の突き合わせはずれとして扱わない
+    private boolean recountPending;
+
+    // 差分を登録したまま未完了のトランザクション数
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public JobStatsStore(JobRepository jobRepository, MeterRegistry registry) {
+        this.jobRepository = jobRepository;
+        this.drift = Counter.builder("sesjob.stats.drift")
+                .description("Number of reconciliations that found counters out of sync with the database")
+                .register(registry);
+    }
+
+    /**
+     * 案件 1 件の変更を記録（before が null なら新規、after が null なら削除）
+     * スキル別の集計は skillIds が指定された側のみ反映する
+     */
+    public void change(Facts before, Facts after) {
+        Rollups delta = currentDelta();
+        if (before != null) {
+            delta.add(before, -1);
+        }
+        if (after != null) {
+            delta.add(after, 1);
+        }
+        applyIfNoTransaction(delta);
+    }
+
+    /**
+     * 一括 UPDATE によるステータス変更を記録（同じ属性の案件をまとめて移す。before の maxPrice・skillIds は使わない）
+     */
+    public void changeStatus(Facts before, JobStatus status, long count, long priceSum, long priceCount) {
+        Rollups delta = currentDelta();
+        delta.jobs.computeIfAbsent(before.cell(), c -> new Totals()).add(-count, -priceSum, -priceCount);
+        delta.jobs.computeIfAbsent(before.withStatus(status).cell(), c -> new Totals())
+                .add(count, priceSum, priceCount);
+        applyIfNoTransaction(delta);
+    }
+
+    /**
+     * 一括 UPDATE によるスキル別集計の増減を記録（件数・合計は符号付き）
+     */
+    public void changeSkill(long skillId, String source, RemoteType remoteType, long count, long priceSum,
+            long priceCount) {
+        Rollups delta = currentDelta();
+        delta.skills.computeIfAbsent(new SkillCell(skillId, source, remoteType), c -> new Totals())
+                .add(count, priceSum, priceCount);
+        applyIfNoTransaction(delta);
+    }
+
+    /**
+     * 差分を記録しない一括書き換え（スキルの再索引など）を実行し、終了後に集計し直す
+     * 実行中は定期的な突き合わせを見送る
+     */
+    public long recountAfter(LongSupplier bulkChange) {
+        inFlight.incrementAndGet();
+        try {
+            return bulkChange.getAsLong();
+        } finally {
+            synchronized (lock) {
+                recountPending = true;
+            }
+            inFlight.decrementAndGet();
+            reconcile();
+        }
+    }
+
+    /**
+     * 概要統計（件数は組み合わせ数に比例し、案件数には依存しない）
+     */
+    public StatsDto.Overview getOverview() {
+        return read(current -> overview(current.jobs));
+    }
+
+    /**
+     * 掲載中案件のスキル別件数・平均単価の上位（件数順、同数はスキル ID 順）
+     * source / remoteType が null の場合は絞り込まない
+     */
+    public List<SkillTotals> getTopSkills(String source, RemoteType remoteType, int limit) {
+        Map<Long, Totals> bySkill = read(current -> {
+            Map<Long, Totals> totalsBySkill = new HashMap<>();
+            current.skills.forEach((cell, totals) -> {
+                if ((source == null || source.equals(cell.source()))
+                        && (remoteType == null || remoteType == cell.remoteType())) {
+                    totalsBySkill.computeIfAbsent(cell.skillId(), id -> new Totals())
+                            .add(totals.count, totals.priceSum, totals.priceCount);
+                }
+            });
+            return totalsBySkill;
+        });
+
+        Comparator<Map.Entry<Long, Totals>> order = Comparator
+                .comparingLong((Map.Entry<Long, Totals> entry) -> entry.getValue().count)
+                .reversed()
+                .thenComparing(Map.Entry::getKey);
+        return bySkill.entrySet().stream()
+                .filter(entry -> entry.getValue().count > 0)
+                .sorted(order)
+                .limit(Math.max(limit, 0))
+                .map(entry -> new SkillTotals(entry.getKey(), entry.getValue().count, entry.getValue().average()))
+                .toList();
+    }
+
+    /**
+     * SQL の集計と突き合わせ、ずれていれば置き換える
+     * 集計中に差分が反映された場合や未完了のトランザクションがある場合は少し待って再試行する
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval:PT1H}",
+            initialDelayString = "${stats.reconcile-interval:PT1H}")
+    public void reconcile() {
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            long startVersion;
+            synchronized (lock) {
+                startVersion = version;
+            }
+            if (inFlight.get() == 0) {
+                Rollups actual = query();
+                synchronized (lock) {
+                    if (version == startVersion && inFlight.get() == 0) {
+                        replace(actual);
+                        return;
+                    }
+                }
+            }
+            try {
+                Thread.sleep(RECONCILE_BACKOFF_MS * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("Deferred stats reconciliation: counters kept changing after {} attempts", RECONCILE_ATTEMPTS);
+    }
+
+    // Private helper methods
+
+    /**
+     * 集計値を参照（読み込み前は SQL で集計した値を使う）
+     */
+    private <T> T read(Function<Rollups, T> reader) {
+        synchronized (lock) {
+            if (loaded) {
+                return reader.apply(rollups);
+            }
+        }
+        return reader.apply(query());
+    }
+
+    private static StatsDto.Overview overview(Map<Cell, Totals> jobs) {
+        long total = 0;
+        long favorites = 0;
+        Totals price = new Totals();
+        Map<String, Long> bySource = new TreeMap<>();
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<String, Long> byRemoteType = new TreeMap<>();
+        for (Map.Entry<Cell, Totals> entry : jobs.entrySet()) {
+            Cell cell = entry.getKey();
+            Totals totals = entry.getValue();
+            if (totals.count == 0) {
+                continue;
+            }
+            total += totals.count;
+            price.add(0, totals.priceSum, totals.priceCount);
+            if (cell.favorite()) {
+                favorites += totals.count;
+            }
+            bySource.merge(cell.source(), totals.count, Long::sum);
+            if (cell.status() != null) {
+                byStatus.merge(cell.status().name(), totals.count, Long::sum);
+            }
+            if (cell.remoteType() != null) {
+                byRemoteType.merge(cell.remoteType().name(), totals.count, Long::sum);
+            }
+        }
+
+        return StatsDto.Overview.builder()
+                .totalJobs(total)
+                .newJobs(byStatus.getOrDefault(JobStatus.NEW.name(), 0L))
+                .favoriteJobs(favorites)
+                .averagePrice(price.average())
+                .jobsBySource(bySource)
+                .jobsByStatus(byStatus)
+                .jobsByRemoteType(byRemoteType)
+                .build();
+    }
+
+    private void replace(Rollups actual) {
+        if (!loaded) {
+            rollups = actual;
+            loaded = true;
+            log.info("Loaded job stats: {} cells, {} skill cells", actual.jobs.size(), actual.skills.size());
+            return;
+        }
+        List<String> mismatches = new ArrayList<>();
+        if (!recountPending) {
+            diff(rollups.jobs, actual.jobs, mismatches);
+            diff(rollups.skills, actual.skills, mismatches);
+        }
+        rollups = actual;
+        recountPending = false;
+        if (!mismatches.isEmpty()) {
+            drift.increment();
+            log.warn("Job stats drifted from database in {} cells, reset: {}", mismatches.size(),
+                    mismatches.size() > 10 ? mismatches.subList(0, 10) + " ..." : mismatches);
+        } else {
+            log.debug("Job stats reconciled: {} cells, {} skill cells", actual.jobs.size(), actual.skills.size());
+        }
+    }
+
+    private Rollups query() {
+        Rollups actual = new Rollups();
+        for (Object[] row : jobRepository.sumByStatsCell()) {
+            Cell cell = new Cell((String) row[0], (JobStatus) row[1], (RemoteType) row[2],
+                    Boolean.TRUE.equals(row[3]));
+            actual.jobs.computeIfAbsent(cell, c -> new Totals()).add((Long) row[4], sum(row[5]), (Long) row[6]);
+        }
+        for (Object[] row : jobRepository.sumBySkillCell()) {
+            SkillCell cell = new SkillCell((Long) row[0], (String) row[1], (RemoteType) row[2]);
+            actual.skills.computeIfAbsent(cell, c -> new Totals()).add((Long) row[3], sum(row[4]), (Long) row[5]);
+        }
+        return actual;
+    }
+
+    private Rollups currentDelta() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new Rollups();
+        }
+        Rollups delta = (Rollups) TransactionSynchronizationManager.getResource(this);
+        if (delta != null) {
+            return delta;
+        }
+        Rollups created = new Rollups();
+        TransactionSynchronizationManager.bindResource(this, created);
+        inFlight.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(JobStatsStore.this);
+                inFlight.decrementAndGet();
+            }
+        });
+        return created;
+    }
+
+    private void applyIfNoTransaction(Rollups delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(delta);
+        }
+    }
+
+    private void apply(Rollups delta) {
+        synchronized (lock) {
+            merge(rollups.jobs, delta.jobs);
+            merge(rollups.skills, delta.skills);
+            version++;
+        }
+    }
+
+    private static <K> void merge(Map<K, Totals> target, Map<K, Totals> delta) {
+        delta.forEach((key, totals) -> target.computeIfAbsent(key, k -> new Totals())
+                .add(totals.count, totals.priceSum, totals.priceCount));
+    }
+
+    private static <K> void diff(Map<K, Totals> current, Map<K, Totals> actual, List<String> mismatches) {
+        Set<K> keys = new HashSet<>(current.keySet());
+        keys.addAll(actual.keySet());
+        for (K key : keys) {
+            Totals expected = actual.getOrDefault(key, new Totals());
+            Totals counted = current.getOrDefault(key, new Totals());
+            if (!expected.equals(counted)) {
+                mismatches.add(key + " " + counted + " -> " + expected);
+            }
+        }
+    }
+
+    private static long sum(Object value) {
+        return value != null ? ((Number) value).longValue() : 0;
+    }
+
+    /**
+     * 集計に関わる案件の属性（skillIds が null の場合はスキル別集計を変更しない）
+     */
+    public record Facts(String source, JobStatus status, RemoteType remoteType, boolean favorite,
+            Integer maxPrice, Collection<Long> skillIds) {
+
+        public Facts withStatus(JobStatus status) {
+            return new Facts(source, status, remoteType, favorite, maxPrice, skillIds);
+        }
+
+        public Facts withSkillIds(Collection<Long> skillIds) {
+            return new Facts(source, status, remoteType, favorite, maxPrice, skillIds);
+        }
+
+        /**
+         * スキル別集計の対象（掲載中）かどうか
+         */
+        public boolean active() {
+            return status != null && status != JobStatus.CLOSED;
+        }
+
+        private Cell cell() {
+            return new Cell(source, status, remoteType, favorite);
+        }
+    }
+
+    /**
+     * スキル別の集計値
+     */
+    public record SkillTotals(long skillId, long count, Double averagePrice) {
+    }
+
+    private record Cell(String source, JobStatus status, RemoteType remoteType, boolean favorite) {
+    }
+
+    private record SkillCell(long skillId, String source, RemoteType remoteType) {
+    }
+
+    private static final class Rollups {
+        private final Map<Cell, Totals> jobs = new HashMap<>();
+        private final Map<SkillCell, Totals> skills = new HashMap<>();
+
+        void add(Facts facts, int sign) {
+            jobs.computeIfAbsent(facts.cell(), c -> new Totals()).add(facts.maxPrice(), sign);
+            if (facts.skillIds() != null && facts.active()) {
+                for (Long skillId : facts.skillIds()) {
+                    skills.computeIfAbsent(new SkillCell(skillId, facts.source(), facts.remoteType()),
+                            c -> new Totals()).add(facts.maxPrice(), sign);
+                }
+            }
+        }
+    }
+
+    private static final class Totals {
+        private long count;
+        private long priceSum;
+        private long priceCount;
+
+        void add(Integer maxPrice, int sign) {
+            count += sign;
+            if (maxPrice != null) {
+                priceSum += (long) sign * maxPrice;
+                priceCount += sign;
+            }
+        }
+
+        void add(long count, long priceSum, long priceCount) {
+            this.count += count;
+            this.priceSum += priceSum;
+            this.priceCount += priceCount;
+        }
+
+        Double average() {
+            return priceCount > 0 ? (double) priceSum / priceCount : null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Totals t && t.count == count && t.priceSum == priceSum && t.priceCount == priceCount;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(count, priceSum, priceCount);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + count + ", " + priceSum + ", " + priceCount + ")";
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.sesjob.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sesjob.dto.JobDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NDJSON ストリーミング登録サービス
+ * 1行1案件の入力を逐次パースし、チャンクごとにコミットして進捗を NDJSON で返す
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobStreamIngestService {
+
+    private final JobIngestService jobIngestService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ingest.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * ストリーミング登録
+     * チャンク単位で別トランザクションとなるため、途中で失敗しても確定済みのチャンクは残る
+     * （error 行の processed は確定済み件数。未確定のチャンクは破棄される）
+     */
+    public JobDto.IngestProgress ingest(InputStream in, OutputStream out, Long crawlRunId) throws IOException {
+        JobDto.IngestProgress progress = new JobDto.IngestProgress();
+        List<JobDto.CreateRequest> chunk = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected JSON object at line " + parser.currentLocation().getLineNr());
+                }
+                chunk.add(objectMapper.readValue(parser, JobDto.CreateRequest.class));
+
+                if (chunk.size() >= chunkSize) {
+                    commitChunk(chunk, crawlRunId, progress, out);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(chunk, crawlRunId, progress, out);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Streaming ingest aborted after {} jobs: {}", progress.getProcessed(), e.getMessage());
+            progress.setError(e.getMessage());
+            writeLine(progress, out);
+            return progress;
+        }
+
+        progress.setDone(true);
+        writeLine(progress, out);
+        log.info("Streaming ingest completed: {} jobs in {} chunks", progress.getProcessed(), progress.getChunk());
+        return progress;
+    }
+
+    private void commitChunk(List<JobDto.CreateRequest> chunk, Long crawlRunId, JobDto.IngestProgress progress,
+            OutputStream out) throws IOException {
+        List<JobDto.IngestAck> acks = jobIngestService.ingest(chunk, crawlRunId);
+        for (JobDto.IngestAck ack : acks) {
+            switch (ack.getAction()) {
+                case CREATED -> progress.setCreated(progress.getCreated() + 1);
+                case UPDATED -> progress.setUpdated(progress.getUpdated() + 1);
+                case UNCHANGED -> progress.setUnchanged(progress.getUnchanged() + 1);
+            }
+        }
+        progress.setChunk(progress.getChunk() + 1);
+        progress.setProcessed(progress.getProcessed() + acks.size());
+        chunk.clear();
+        writeLine(progress, out);
+    }
+
+    private void writeLine(JobDto.IngestProgress progress, OutputStream out) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(progress));
+        out.write('\n');
+        out.flush();
+    }
+}
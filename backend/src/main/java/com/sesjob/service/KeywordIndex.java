@@ -0,0 +1,505 @@
+package com.sesjob.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * キーワード検索用の転置インデックス
+ * 正規化（NFKC・小文字化・記号除去）したテキストを文字 2-gram に分割し、2-gram → 文書番号を保持する
+ * 分かち書き不要のため日本語と英数字を同じ方法で扱える
+ * 2-gram の積集合は候補にすぎない（「東京」と「京都」を別々に含む案件は「東京都」の 2-gram をすべて含む）ため、
+ * 案件ごとに正規化済みのフィールドを保持し、各語がいずれかのフィールドに連続して含まれる案件だけを一致とする
+ * （SavedSearchIndex.Query の照合と同じ判定）
+ * 案件ごとの 2-gram 出現数（フィールド重み付き）と文書長も保持し、BM25 による関連度順の並び替えに使う
+ * 文書番号は登録順に振る int のため、2-gram ごとの文書番号列は追記だけで昇順に保たれる（ボクシングしない）
+ * 再登録された案件の古い文書番号は削除済みとして残し、一定の割合を超えたら番号を詰め直す
+ */
+public class KeywordIndex {
+
+    // フィールドごとの重み（タイトル中の一致を説明文中の一致より高く評価する）
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SKILL_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // BM25 パラメータ
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // 削除済み文書番号がこの数以上かつ全体のこの割合を超えたら詰め直す
+    private static final int COMPACT_MIN_DEAD = 1024;
+    private static final double COMPACT_DEAD_RATIO = 0.25;
+
+    private final Map<Integer, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docByJob = new HashMap<>();
+    private long[] jobIds = new long[1024];
+    private TermVector[] vectors = new TermVector[1024];
+    private int docCount;
+    private int deadCount;
+    private long totalLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 案件のテキストを登録（既存のエントリは置き換え）
+     */
+    public void put(long jobId, Document document) {
+        TermVector terms = TermVector.of(document);
+        lock.writeLock().lock();
+        try {
+            putInternal(jobId, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 未登録の案件のみ登録（起動時のロード中に取り込まれた新しい内容を上書きしない）
+     */
+    public void putIfAbsent(long jobId, Document document) {
+        TermVector terms = TermVector.of(document);
+        lock.writeLock().lock();
+        try {
+            if (!docByJob.containsKey(jobId)) {
+                putInternal(jobId, terms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * キーワードに一致する案件
+     * 空白区切りの各語をいずれかのフィールドに含む案件を返す（2 文字未満の語を含む場合は empty）
+     */
+    public Optional<Matches> search(String keyword) {
+        Optional<Query> query = parse(keyword);
+        if (query.isEmpty()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] docs = matchingDocs(query.get());
+            long[] ids = new long[docs.length];
+            for (int i = 0; i < docs.length; i++) {
+                ids[i] = jobIds[docs[i]];
+            }
+            Arrays.sort(ids);
+            return Optional.of(new Matches(ids));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 候補案件をキーワードとの関連度（BM25）の高い順に並べ、offset 件目から最大 limit 件の ID を返す
+     * 上位 offset + limit 件だけをヒープで選ぶため、候補全体はソートしない（同点は ID の大きい順）
+     * 2 文字未満の語を含む場合は empty
+     */
+    public Optional<List<Long>> rank(String keyword, Collection<Long> candidates, int offset, int limit) {
+        Optional<Query> query = parse(keyword);
+        if (query.isEmpty()) {
+            return Optional.empty();
+        }
+        int k = offset + limit;
+        PriorityQueue<Scored> heap = new PriorityQueue<>(Math.min(k, candidates.size()) + 1, Scored.ORDER);
+
+        lock.readLock().lock();
+        try {
+            Scorer scorer = scorer(query.get().terms());
+            for (long jobId : candidates) {
+                Integer doc = docByJob.get(jobId);
+                offer(heap, k, jobId, doc != null ? scorer.score(vectors[doc]) : 0);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ranked = drain(heap);
+        return Optional.of(offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size()));
+    }
+
+    /**
+     * キーワードに一致する全案件から関連度（BM25）の高い順に最大 limit 件の ID を返す
+     * 積集合・採点とも文書番号のまま行い、DB は参照しない（2 文字未満の語を含む場合は empty）
+     */
+    public Optional<List<Long>> top(String keyword, int limit) {
+        Optional<Query> query = parse(keyword);
+        if (query.isEmpty()) {
+            return Optional.empty();
+        }
+        PriorityQueue<Scored> heap;
+
+        lock.readLock().lock();
+        try {
+            int[] docs = matchingDocs(query.get());
+            heap = new PriorityQueue<>(Math.min(limit, docs.length) + 1, Scored.ORDER);
+            Scorer scorer = scorer(query.get().terms());
+            for (int doc : docs) {
+                offer(heap, limit, jobIds[doc], scorer.score(vectors[doc]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(drain(heap));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deadCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Private helper methods
+
+    private void putInternal(long jobId, TermVector terms) {
+        Integer previous = docByJob.get(jobId);
+        if (previous != null) {
+            remove(previous);
+        }
+        if (docCount == jobIds.length) {
+            jobIds = Arrays.copyOf(jobIds, docCount * 2);
+            vectors = Arrays.copyOf(vectors, docCount * 2);
+        }
+        int doc = docCount++;
+        jobIds[doc] = jobId;
+        vectors[doc] = terms;
+        docByJob.put(jobId, doc);
+        totalLength += terms.length();
+        for (int term : terms.terms()) {
+            postings.computeIfAbsent(term, k -> new Postings()).add(doc);
+        }
+        if (deadCount >= COMPACT_MIN_DEAD && deadCount > docCount * COMPACT_DEAD_RATIO) {
+            compact();
+        }
+    }
+
+    /**
+     * 文書番号を削除済みにする（文書番号列からは詰め直し時に取り除く）
+     */
+    private void remove(int doc) {
+        TermVector previous = vectors[doc];
+        totalLength -= previous.length();
+        for (int term : previous.terms()) {
+            Postings list = postings.get(term);
+            if (list != null && --list.live == 0) {
+                postings.remove(term);
+            }
+        }
+        vectors[doc] = null;
+        deadCount++;
+    }
+
+    /**
+     * 生きている文書に番号を振り直す（順序を保つため、各 2-gram の文書番号列は昇順のまま）
+     */
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (vectors[doc] == null) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            jobIds[next] = jobIds[doc];
+            vectors[next] = vectors[doc];
+            docByJob.put(jobIds[next], next);
+            next++;
+        }
+        Arrays.fill(vectors, next, docCount, null);
+        for (Postings list : postings.values()) {
+            list.remap(remap);
+        }
+        docCount = next;
+        deadCount = 0;
+    }
+
+    /**
+     * キーワードに一致する文書番号（昇順）
+     * 件数の少ない 2-gram から積集合をとり、残った文書について各語が連続して含まれるかを確かめる
+     */
+    private int[] matchingDocs(Query query) {
+        List<Postings> lists = new ArrayList<>(query.terms().size());
+        for (int term : query.terms()) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int[] docs = liveDocs(lists.get(0));
+        for (int i = 1; i < lists.size() && docs.length > 0; i++) {
+            docs = intersect(docs, lists.get(i));
+        }
+
+        int count = 0;
+        for (int doc : docs) {
+            if (vectors[doc].containsAll(query.words())) {
+                docs[count++] = doc;
+            }
+        }
+        return count == docs.length ? docs : Arrays.copyOf(docs, count);
+    }
+
+    private Scorer scorer(Set<Integer> queryTerms) {
+        int[] terms = queryTerms.stream().mapToInt(Integer::intValue).toArray();
+        double[] idf = new double[terms.length];
+        int documents = docCount - deadCount;
+        for (int i = 0; i < terms.length; i++) {
+            Postings list = postings.get(terms[i]);
+            int df = list != null ? list.live : 0;
+            idf[i] = Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+        }
+        double averageLength = documents > 0 ? Math.max((double) totalLength / documents, 1) : 1;
+        return new Scorer(terms, idf, averageLength);
+    }
+
+    /**
+     * 上位 k 件のヒープに加える（最下位より高い場合のみ入れ替える）
+     */
+    private static void offer(PriorityQueue<Scored> heap, int k, long jobId, double score) {
+        if (heap.size() < k) {
+            heap.add(new Scored(jobId, score));
+        } else if (k > 0 && score >= heap.peek().score()) {
+            Scored scored = new Scored(jobId, score);
+            if (Scored.ORDER.compare(heap.peek(), scored) < 0) {
+                heap.poll();
+                heap.add(scored);
+            }
+        }
+    }
+
+    /**
+     * ヒープは最下位が先頭のため、逆順に取り出して関連度の高い順にする
+     */
+    private static List<Long> drain(PriorityQueue<Scored> heap) {
+        Long[] ranked = new Long[heap.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = heap.poll().jobId();
+        }
+        return List.of(ranked);
+    }
+
+    private int[] liveDocs(Postings list) {
+        int[] docs = new int[list.live];
+        int count = 0;
+        for (int i = 0; i < list.size && count < docs.length; i++) {
+            if (vectors[list.docs[i]] != null) {
+                docs[count++] = list.docs[i];
+            }
+        }
+        return count == docs.length ? docs : Arrays.copyOf(docs, count);
+    }
+
+    /**
+     * 昇順の文書番号列どうしの積集合（相手が十分長い場合は二分探索、そうでなければ線形マージ）
+     */
+    private static int[] intersect(int[] docs, Postings list) {
+        int[] result = new int[docs.length];
+        int count = 0;
+        if ((long) docs.length * 16 < list.size) {
+            int from = 0;
+            for (int doc : docs) {
+                int index = Arrays.binarySearch(list.docs, from, list.size, doc);
+                if (index >= 0) {
+                    result[count++] = doc;
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < docs.length && j < list.size) {
+                if (docs[i] < list.docs[j]) {
+                    i++;
+                } else if (docs[i] > list.docs[j]) {
+                    j++;
+                } else {
+                    result[count++] = docs[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static Optional<Query> parse(String keyword) {
+        Set<Integer> terms = new HashSet<>();
+        List<String> words = new ArrayList<>();
+        for (String word : keyword.trim().split("\\s+")) {
+            String normalized = SimHash.normalize(word);
+            if (normalized.length() < 2) {
+                return Optional.empty();
+            }
+            for (int i = 0; i + 1 < normalized.length(); i++) {
+                terms.add(bigram(normalized, i));
+            }
+            words.add(normalized);
+        }
+        return Optional.of(new Query(terms, words));
+    }
+
+    private static int bigram(String normalized, int i) {
+        return normalized.charAt(i) << 16 | normalized.charAt(i + 1);
+    }
+
+    /**
+     * 検索に一致した案件 ID（昇順の long 配列）
+     */
+    public static final class Matches {
+
+        static final Matches EMPTY = new Matches(new long[0]);
+
+        private final long[] jobIds;
+
+        private Matches(long[] jobIds) {
+            this.jobIds = jobIds;
+        }
+
+        public int size() {
+            return jobIds.length;
+        }
+
+        public boolean contains(long jobId) {
+            return Arrays.binarySearch(jobIds, jobId) >= 0;
+        }
+
+        /**
+         * IN 条件などに渡すための Set（候補の少ない場合に使う）
+         */
+        public Set<Long> toSet() {
+            Set<Long> set = new HashSet<>(jobIds.length * 2);
+            for (long jobId : jobIds) {
+                set.add(jobId);
+            }
+            return set;
+        }
+    }
+
+    /**
+     * 2-gram ごとの文書番号列（昇順、削除済みの文書番号を含む）
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int size;
+        private int live;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            docs[size++] = doc;
+            live++;
+        }
+
+        void remap(int[] remap) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[count++] = doc;
+                }
+            }
+            size = count;
+            if (docs.length > size * 2) {
+                docs = Arrays.copyOf(docs, Math.max(size, 4));
+            }
+        }
+    }
+
+    /**
+     * インデックス対象のテキスト（フィールドごとに重みが異なる）
+     */
+    public record Document(String title, List<String> skills, String description) {
+    }
+
+    /**
+     * 検索語（全語の 2-gram と、正規化した各語）
+     */
+    private record Query(Set<Integer> terms, List<String> words) {
+    }
+
+    /**
+     * 案件ごとの 2-gram（昇順）と重み付き出現数（short で頭打ち）、文書長
+     * text は正規化したフィールドを区切り文字で連結したもの（正規化で記号は除かれるため、語が区切りをまたいで一致しない）
+     */
+    private record TermVector(int[] terms, short[] frequencies, int length, String text) {
+
+        private static final char FIELD_SEPARATOR = '\n';
+
+        static TermVector of(Document document) {
+            Map<Integer, Integer> frequencies = new HashMap<>();
+            StringBuilder text = new StringBuilder();
+            int length = add(frequencies, text, document.title(), TITLE_WEIGHT);
+            if (document.skills() != null) {
+                for (String skill : document.skills()) {
+                    length += add(frequencies, text, skill, SKILL_WEIGHT);
+                }
+            }
+            length += add(frequencies, text, document.description(), DESCRIPTION_WEIGHT);
+
+            int[] terms = frequencies.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            short[] counts = new short[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                counts[i] = (short) Math.min(frequencies.get(terms[i]), Short.MAX_VALUE);
+            }
+            return new TermVector(terms, counts, length, text.toString());
+        }
+
+        boolean containsAll(List<String> words) {
+            for (String word : words) {
+                if (!text.contains(word)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double score(int[] queryTerms, double[] idf, double averageLength) {
+            double norm = K1 * (1 - B + B * length / averageLength);
+            double score = 0;
+            for (int i = 0; i < queryTerms.length; i++) {
+                int index = Arrays.binarySearch(terms, queryTerms[i]);
+                if (index >= 0) {
+                    int tf = frequencies[index];
+                    score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+            return score;
+        }
+
+        private static int add(Map<Integer, Integer> frequencies, StringBuilder text, String field, int weight) {
+            if (field == null) {
+                return 0;
+            }
+            String normalized = SimHash.normalize(field);
+            for (int i = 0; i + 1 < normalized.length(); i++) {
+                frequencies.merge(bigram(normalized, i), weight, Integer::sum);
+            }
+            text.append(normalized).append(FIELD_SEPARATOR);
+            return Math.max(normalized.length() - 1, 0) * weight;
+        }
+    }
+
+    private record Scorer(int[] terms, double[] idf, double averageLength) {
+
+        double score(TermVector vector) {
+            return vector.score(terms, idf, averageLength);
+        }
+    }
+
+    private record Scored(long jobId, double score) {
+        // 関連度の低い順（同点は ID の小さい順）
+        static final Comparator<Scored> ORDER =
+                Comparator.comparingDouble(Scored::score).thenComparingLong(Scored::jobId);
+    }
+}
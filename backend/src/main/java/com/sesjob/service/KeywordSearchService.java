@@ -0,0 +1,144 @@
+package com.sesjob.service;
+
+import com.sesjob.repository.JobBulkRepository;
+import com.sesjob.repository.JobBulkRepository.JobContentRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * キーワード検索サービス
+ * タイトル・説明文・スキルの転置インデックスからキーワードに一致する案件 ID を引き、検索条件（Specification）に渡す
+ * 候補が max-candidates を超える場合は IN 条件にせず、呼び出し側でキーワード以外の条件の結果と突き合わせる
+ * インデックスが使えない場合（ロード前、1 文字の語）のみ LIKE 検索にフォールバックする
+ * 関連度順の並び替え（BM25）もインデックスの統計から行う
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KeywordSearchService {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final JobBulkRepository jobBulkRepository;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.max-candidates:5000}")
+    private int maxCandidates;
+
+    private final KeywordIndex index = new KeywordIndex();
+
+    private volatile boolean ready;
+
+    /**
+     * 起動時に全案件をインデックスに登録
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        long afterId = 0;
+        List<JobContentRow> rows;
+        while (!(rows = jobBulkRepository.findContentAfter(afterId, LOAD_BATCH_SIZE)).isEmpty()) {
+            for (JobContentRow row : rows) {
+                index.putIfAbsent(row.id(),
+                        document(row.title(), row.description(), row.requiredSkills(), row.preferredSkills()));
+            }
+            afterId = rows.get(rows.size() - 1).id();
+        }
+        ready = true;
+        log.info("Keyword index loaded: {} jobs in {} ms", index.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * 新規・更新案件をインデックスに反映（トランザクション中ならコミット後）
+     */
+    public void index(Map<Long, KeywordIndex.Document> documentsByJobId) {
+        if (!enabled || documentsByJobId.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            documentsByJobId.forEach(index::put);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                documentsByJobId.forEach(index::put);
+            }
+        });
+    }
+
+    /**
+     * キーワードに一致する案件（2-gram の候補を語の連続一致で確かめたもの。件数によらず返し、インデックスを使えない場合は empty）
+     */
+    public Optional<KeywordIndex.Matches> findCandidates(String keyword) {
+        if (!enabled || !ready) {
+            return Optional.empty();
+        }
+        return index.search(keyword);
+    }
+
+    /**
+     * 候補案件を関連度の高い順に並べたページ分の ID（インデックスを使えない場合は empty）
+     */
+    public Optional<List<Long>> rank(String keyword, Collection<Long> candidates, int offset, int limit) {
+        if (!enabled || !ready) {
+            return Optional.empty();
+        }
+        long startedAt = System.nanoTime();
+        Optional<List<Long>> ranked = index.rank(keyword, candidates, offset, limit);
+        log.debug("Ranked {} candidates for '{}' in {} us", candidates.size(), keyword,
+                (System.nanoTime() - startedAt) / 1_000);
+        return ranked;
+    }
+
+    /**
+     * キーワードに一致する全案件のうち関連度の高い順に最大 limit 件の ID（インデックスを使えない場合は empty）
+     */
+    public Optional<List<Long>> top(String keyword, int limit) {
+        if (!enabled || !ready) {
+            return Optional.empty();
+        }
+        long startedAt = System.nanoTime();
+        Optional<List<Long>> top = index.top(keyword, limit);
+        log.debug("Selected top {} matches for '{}' in {} us", limit, keyword,
+                (System.nanoTime() - startedAt) / 1_000);
+        return top;
+    }
+
+    /**
+     * DB 側で候補 ID に絞り込む（IN 条件にする）候補数の上限
+     * これを超える候補はキーワード以外の条件に一致する ID と突き合わせる
+     * 関連度順ではインデックスで選んだ上位この件数だけを DB で絞り込む
+     */
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    /**
+     * インデックス対象のテキスト
+     */
+    public static KeywordIndex.Document document(String title, String description, List<String> requiredSkills,
+            List<String> preferredSkills) {
+        List<String> skills = new ArrayList<>();
+        if (requiredSkills != null) {
+            skills.addAll(requiredSkills);
+        }
+        if (preferredSkills != null) {
+            skills.addAll(preferredSkills);
+        }
+        return new KeywordIndex.Document(title, skills, description);
+    }
+}
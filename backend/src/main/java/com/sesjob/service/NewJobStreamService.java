@@ -0,0 +1,328 @@
+package com.sesjob.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sesjob.dto.JobDto;
+import com.sesjob.dto.SearchRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 新着案件ストリーム（Server-Sent Events）
+ * 取り込みのコミット後に新規案件の Summary を購読者へ送る。購読者の絞り込み条件は SearchRequest と同じ意味で、
+ * 全購読者の条件を SavedSearchIndex にまとめて照合する
+ * 接続はサーブレットの非同期処理で保持するため待機中の購読者はスレッドを使わず、送信は少数の送信スレッドが行う
+ * 購読者ごとの送信待ちは有界で、溢れた（受信が追いつかない）購読者は切断する
+ * 接続を閉じる（complete）のはその購読者の送信タスクのみ。SseEmitter の送信と完了は同じロックを取るため、
+ * 配信側から閉じると送信中の購読者に配信スレッドが待たされる
+ * 1 回の送信が send-timeout を超えて終わらない購読者は切り離し、送信が戻るまで送信スレッドを 1 つ補充する
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NewJobStreamService {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final SavedSearchService savedSearchService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${job-stream.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    @Value("${job-stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${job-stream.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${job-stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${job-stream.send-timeout:PT10S}")
+    private Duration sendTimeout;
+
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+    private final Object indexLock = new Object();
+    private final Object senderLock = new Object();
+    private volatile SavedSearchIndex index = SavedSearchIndex.empty();
+    private volatile boolean indexStale;
+    private ThreadPoolExecutor sender;
+    private int stalledSends;
+
+    @PostConstruct
+    void start() {
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("job-stream-"));
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+        subscribers.values().forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * 購読を開始（購読者数が上限に達している場合は empty）
+     */
+    public Optional<SseEmitter> subscribe(SearchRequest filter) {
+        if (subscribers.size() >= maxSubscribers) {
+            log.warn("Job stream is full ({} subscribers), rejecting subscription", maxSubscribers);
+            return Optional.empty();
+        }
+        long id = nextId.incrementAndGet();
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(id, savedSearchService.compile(id, filter), emitter,
+                new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(id));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(id));
+        subscribers.put(id, subscriber);
+        indexStale = true;
+        return Optional.of(emitter);
+    }
+
+    /**
+     * 新規案件を購読者に送る（トランザクション中ならコミット後、ロールバック時は送らない）
+     */
+    public void publishAfterCommit(List<NewJob> jobs) {
+        if (jobs.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(jobs);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(jobs);
+            }
+        });
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * 無通信でプロキシに切断されないよう、また切断済みの購読者を検出するために定期的にコメント行を送る
+     */
+    @Scheduled(fixedDelayString = "${job-stream.heartbeat-interval:PT30S}",
+            initialDelayString = "${job-stream.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        subscribers.values().forEach(subscriber -> offer(subscriber, HEARTBEAT));
+    }
+
+    /**
+     * 送信が send-timeout を超えて終わらない購読者を切り離し、止まっている送信スレッドの分を補充する
+     * 止まった送信自体はコネクターの書き込みタイムアウトで戻り、その時点で補充分を減らす
+     */
+    @Scheduled(fixedDelayString = "${job-stream.send-timeout:PT10S}",
+            initialDelayString = "${job-stream.send-timeout:PT10S}")
+    public void expireStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers.values()) {
+            long startedAt = subscriber.sendStartedAt;
+            if (startedAt == 0 || now - startedAt <= sendTimeout.toNanos()
+                    || !subscriber.stalled.compareAndSet(false, true)) {
+                continue;
+            }
+            log.info("Dropping stalled job stream subscriber {}: send pending for more than {}", subscriber.id,
+                    sendTimeout);
+            resizeSender(1);
+            // 判定の直後に送信が戻っていた場合は補充を取り消す
+            if (subscriber.sendStartedAt == 0 && subscriber.stalled.compareAndSet(true, false)) {
+                resizeSender(-1);
+            }
+            drop(subscriber);
+        }
+    }
+
+    // Private helper methods
+
+    private void publish(List<NewJob> jobs) {
+        SavedSearchIndex current = currentIndex();
+        for (NewJob job : jobs) {
+            Set<Long> matched = current.match(job.view());
+            if (matched.isEmpty()) {
+                continue;
+            }
+            Event event = toEvent(job.summary());
+            for (Long id : matched) {
+                Subscriber subscriber = subscribers.get(id);
+                if (subscriber != null) {
+                    offer(subscriber, event);
+                }
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Object item) {
+        if (subscriber.dropped) {
+            return;
+        }
+        if (!subscriber.queue.offer(item)) {
+            log.info("Dropping slow job stream subscriber {}: {} events pending", subscriber.id, bufferSize);
+            drop(subscriber);
+            return;
+        }
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * 購読者を切り離す（接続は送信タスクが閉じる。送信中ならその送信が戻った後）
+     */
+    private void drop(Subscriber subscriber) {
+        subscriber.dropped = true;
+        remove(subscriber.id);
+        subscriber.queue.clear();
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * 購読者の送信待ちを送り切る（1 購読者を同時に送るのは 1 スレッドのみ）
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            Object item;
+            while (!subscriber.dropped && (item = subscriber.queue.poll()) != null) {
+                if (!send(subscriber, item)) {
+                    // 切断済み、または完了済みの接続
+                    subscriber.dropped = true;
+                    remove(subscriber.id);
+                    subscriber.queue.clear();
+                    return;
+                }
+            }
+            if (subscriber.dropped) {
+                subscriber.queue.clear();
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.scheduled.set(false);
+        } while (!subscriber.queue.isEmpty() && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    private boolean send(Subscriber subscriber, Object item) {
+        subscriber.sendStartedAt = System.nanoTime();
+        try {
+            if (item == HEARTBEAT) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                Event event = (Event) item;
+                subscriber.emitter.send(SseEmitter.event()
+                        .name("job")
+                        .id(String.valueOf(event.id()))
+                        .data(event.json(), MediaType.APPLICATION_JSON));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        } finally {
+            subscriber.sendStartedAt = 0;
+            if (subscriber.stalled.compareAndSet(true, false)) {
+                resizeSender(-1);
+            }
+        }
+    }
+
+    /**
+     * 止まっている送信の数だけ送信スレッドを増減する
+     */
+    private void resizeSender(int delta) {
+        synchronized (senderLock) {
+            stalledSends += delta;
+            int size = senderThreads + stalledSends;
+            if (delta > 0) {
+                sender.setMaximumPoolSize(size);
+                sender.setCorePoolSize(size);
+            } else {
+                sender.setCorePoolSize(size);
+                sender.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private void remove(long id) {
+        if (subscribers.remove(id) != null) {
+            indexStale = true;
+        }
+    }
+
+    /**
+     * 購読者の増減があれば照合用インデックスを作り直す（次の配信時にまとめて 1 回）
+     */
+    private SavedSearchIndex currentIndex() {
+        if (indexStale) {
+            synchronized (indexLock) {
+                if (indexStale) {
+                    indexStale = false;
+                    index = SavedSearchIndex.build(subscribers.values().stream().map(s -> s.query).toList());
+                }
+            }
+        }
+        return index;
+    }
+
+    private Event toEvent(JobDto.Summary summary) {
+        try {
+            return new Event(summary.getId(), objectMapper.writeValueAsString(summary));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize job " + summary.getId(), e);
+        }
+    }
+
+    /**
+     * 配信対象の新規案件（照合用の属性と送信する Summary）
+     */
+    public record NewJob(SavedSearchIndex.JobView view, JobDto.Summary summary) {
+    }
+
+    /**
+     * 購読者間で共有する送信データ（JSON は 1 回だけ生成する）
+     */
+    private record Event(long id, String json) {
+    }
+
+    private static final class Subscriber {
+        private final long id;
+        private final SavedSearchIndex.Query query;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean stalled = new AtomicBoolean();
+        private volatile boolean dropped;
+        // 送信中なら開始時刻（System.nanoTime）、送信していなければ 0
+        private volatile long sendStartedAt;
+
+        Subscriber(long id, SavedSearchIndex.Query query, SseEmitter emitter, BlockingQueue<Object> queue) {
+            this.id = id;
+            this.query = query;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
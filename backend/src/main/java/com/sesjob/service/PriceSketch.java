@@ -0,0 +1,136 @@
+package com.sesjob.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * 単価の分位点スケッチ（HDR 形式の対数線形ヒストグラム）
+ * 128 未満は値ごと、それ以上は 2 倍ごとの区間を 64 分割した幅で数えるため、分位点の相対誤差は 1/64 以下
+ * 区間の件数を足すだけでマージでき、日次バケットを任意の期間で合算できる
+ */
+public final class PriceSketch {
+
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private long[] counts = new long[SUB_COUNT * 2];
+    private long total;
+
+    /**
+     * 単価を 1 件加える（負の値は 0 として数える）
+     */
+    public void add(int value) {
+        int index = indexOf(Math.max(value, 0));
+        ensureCapacity(index + 1);
+        counts[index]++;
+        total++;
+    }
+
+    /**
+     * 別のスケッチの件数を加算
+     */
+    public void merge(PriceSketch other) {
+        ensureCapacity(other.counts.length);
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    /**
+     * 分位点（0 ≦ q ≦ 1、件数がなければ null）
+     * 区間内の値は区間の中央値で代表する
+     */
+    public Double quantile(double q) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(q, 0), 1) * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return representative(i);
+            }
+        }
+        return representative(counts.length - 1);
+    }
+
+    /**
+     * 件数のある区間だけを (区間番号の差分, 件数) の可変長整数列に符号化
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int previous = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                writeVarLong(out, i - previous);
+                writeVarLong(out, counts[i]);
+                previous = i;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static PriceSketch fromBytes(byte[] bytes) {
+        PriceSketch sketch = new PriceSketch();
+        if (bytes == null) {
+            return sketch;
+        }
+        int[] position = {0};
+        int index = 0;
+        while (position[0] < bytes.length) {
+            index += (int) readVarLong(bytes, position);
+            long count = readVarLong(bytes, position);
+            sketch.ensureCapacity(index + 1);
+            sketch.counts[index] += count;
+            sketch.total += count;
+        }
+        return sketch;
+    }
+
+    // Private helper methods
+
+    private static int indexOf(int value) {
+        int shift = Math.max(0, 31 - Integer.numberOfLeadingZeros(value) - SUB_BITS);
+        return shift * SUB_COUNT + (value >> shift);
+    }
+
+    private static double representative(int index) {
+        int shift = index < SUB_COUNT * 2 ? 0 : index / SUB_COUNT - 1;
+        long lower = (long) (index - shift * SUB_COUNT) << shift;
+        long upper = lower + (1L << shift) - 1;
+        return (lower + upper) / 2.0;
+    }
+
+    private void ensureCapacity(int size) {
+        if (counts.length < size) {
+            counts = Arrays.copyOf(counts, Math.max(size, counts.length * 2));
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.sesjob.service;
+
+import com.sesjob.dto.StatsDto;
+import com.sesjob.entity.PriceTrendBucket;
+import com.sesjob.repository.JobBulkRepository;
+import com.sesjob.repository.PriceTrendBucketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * 単価推移サービス
+ * 新規掲載案件の単価を (日付, ソース, 正規スキル) ごとの日次バケットに分位点スケッチとして記録し、
+ * 推移の取得時は期間内のバケットをマージするだけで jobs テーブルは読まない
+ * 取り込みのたびに行を追加するため書き込みは競合せず、前々日以前の行は定期的に 1 行へまとめる
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceTrendService {
+
+    private final PriceTrendBucketRepository priceTrendBucketRepository;
+    private final JobBulkRepository jobBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 新規掲載案件を指定日のバケットに記録（呼び出し元のトランザクションで書き込む）
+     */
+    public void record(LocalDate day, List<Posting> postings) {
+        Map<BucketKey, Accumulator> buckets = new LinkedHashMap<>();
+        for (Posting posting : postings) {
+            buckets.computeIfAbsent(new BucketKey(posting.source(), PriceTrendBucket.ALL_SKILLS),
+                    key -> new Accumulator()).add(posting.maxPrice());
+            if (posting.skillIds() != null) {
+                for (Long skillId : posting.skillIds()) {
+                    buckets.computeIfAbsent(new BucketKey(posting.source(), skillId), key -> new Accumulator())
+                            .add(posting.maxPrice());
+                }
+            }
+        }
+
+        List<PriceTrendBucket> rows = new ArrayList<>(buckets.size());
+        buckets.forEach((key, accumulator) -> rows.add(accumulator.toBucket(day, key)));
+        jobBulkRepository.insertPriceTrendBuckets(rows);
+    }
+
+    /**
+     * 期間内の単価推移（skillId が null ならスキルを問わず、source が null なら全ソース）
+     * 件数のない期間は含めない
+     */
+    public List<StatsDto.PriceTrend> getTrends(LocalDate from, LocalDate to, String source, Long skillId,
+            TrendInterval interval) {
+        Map<LocalDate, Accumulator> byPeriod = new TreeMap<>();
+        for (PriceTrendBucket bucket : priceTrendBucketRepository.findRange(
+                skillId != null ? skillId : PriceTrendBucket.ALL_SKILLS, source, from, to)) {
+            byPeriod.computeIfAbsent(interval.periodOf(bucket.getBucketDate()), period -> new Accumulator())
+                    .merge(bucket);
+        }
+
+        List<StatsDto.PriceTrend> trends = new ArrayList<>(byPeriod.size());
+        byPeriod.forEach((period, accumulator) -> trends.add(StatsDto.PriceTrend.builder()
+                .period(period)
+                .count(accumulator.jobCount)
+                .pricedCount(accumulator.priceCount)
+                .averagePrice(accumulator.priceCount > 0 ? (double) accumulator.priceSum / accumulator.priceCount
+                        : null)
+                .medianPrice(accumulator.sketch.quantile(0.5))
+                .p90Price(accumulator.sketch.quantile(0.9))
+                .build()));
+        return trends;
+    }
+
+    /**
+     * 前々日以前で複数行に分かれたバケットを 1 行にまとめる（取り込みが書き込むのは当日分のみ）
+     */
+    @Scheduled(fixedDelayString = "${stats.trends.compact-interval:PT1H}",
+            initialDelayString = "${stats.trends.compact-interval:PT1H}")
+    public void compact() {
+        List<Object[]> keys = priceTrendBucketRepository.findFragmentedKeys(LocalDate.now().minusDays(1));
+        int merged = 0;
+        for (Object[] key : keys) {
+            Integer rows = transactionTemplate.execute(status -> compact((LocalDate) key[0], (String) key[1],
+                    (Long) key[2]));
+            merged += rows != null ? rows : 0;
+        }
+        if (!keys.isEmpty()) {
+            log.info("Compacted {} price trend rows into {} buckets", merged, keys.size());
+        }
+    }
+
+    // Private helper methods
+
+    private int compact(LocalDate day, String source, Long skillId) {
+        List<PriceTrendBucket> rows = priceTrendBucketRepository.findByBucketDateAndSourceAndSkillId(day, source,
+                skillId);
+        if (rows.size() <= 1) {
+            return 0;
+        }
+        Accumulator accumulator = new Accumulator();
+        rows.forEach(accumulator::merge);
+        priceTrendBucketRepository.deleteAllInBatch(rows);
+        priceTrendBucketRepository.save(accumulator.toBucket(day, new BucketKey(source, skillId)));
+        return rows.size();
+    }
+
+    /**
+     * 記録対象の新規掲載案件
+     */
+    public record Posting(String source, Integer maxPrice, Collection<Long> skillIds) {
+    }
+
+    /**
+     * 推移の集計単位（WEEK は月曜始まり）
+     */
+    public enum TrendInterval {
+        DAY, WEEK, MONTH;
+
+        LocalDate periodOf(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+    }
+
+    private record BucketKey(String source, long skillId) {
+    }
+
+    private static final class Accumulator {
+        private long jobCount;
+        private long priceCount;
+        private long priceSum;
+        private final PriceSketch sketch = new PriceSketch();
+
+        void add(Integer maxPrice) {
+            jobCount++;
+            if (maxPrice != null) {
+                priceCount++;
+                priceSum += maxPrice;
+                sketch.add(maxPrice);
+            }
+        }
+
+        void merge(PriceTrendBucket bucket) {
+            jobCount += bucket.getJobCount();
+            priceCount += bucket.getPriceCount();
+            priceSum += bucket.getPriceSum();
+            sketch.merge(PriceSketch.fromBytes(bucket.getSketch()));
+        }
+
+        PriceTrendBucket toBucket(LocalDate day, BucketKey key) {
+            return PriceTrendBucket.builder()
+                    .bucketDate(day)
+                    .source(key.source())
+                    .skillId(key.skillId())
+                    .jobCount(jobCount)
+                    .priceCount(priceCount)
+                    .priceSum(priceSum)
+                    .sketch(sketch.toBytes())
+                    .build();
+        }
+    }
+}
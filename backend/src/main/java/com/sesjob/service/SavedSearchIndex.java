@@ -0,0 +1,216 @@
+package com.sesjob.service;
+
+import com.sesjob.entity.Job.RemoteType;
+
+import java.util.*;
+
+/**
+ * 保存済み検索条件の逆引きインデックス（パーコレーター）
+ * 各条件を最も絞り込める 1 つの軸（スキル、キーワードの 2-gram、ソース、リモート区分、単価）のバケットに登録し、
+ * 案件の属性から引けるバケットの条件だけを照合する（全条件を毎回評価しない）
+ * 構築後は不変のため、複数スレッドから同時に照合してよい
+ */
+public final class SavedSearchIndex {
+
+    private final Map<Long, List<Query>> bySkill;
+    private final Map<Integer, List<Query>> byBigram;
+    private final Map<String, List<Query>> bySource;
+    private final Map<RemoteType, List<Query>> byRemoteType;
+    private final NavigableMap<Integer, List<Query>> byMinPrice;
+    private final NavigableMap<Integer, List<Query>> byMaxPrice;
+    private final List<Query> unindexed;
+    private final int size;
+
+    private SavedSearchIndex(Builder builder) {
+        this.bySkill = builder.bySkill;
+        this.byBigram = builder.byBigram;
+        this.bySource = builder.bySource;
+        this.byRemoteType = builder.byRemoteType;
+        this.byMinPrice = builder.byMinPrice;
+        this.byMaxPrice = builder.byMaxPrice;
+        this.unindexed = builder.unindexed;
+        this.size = builder.size;
+    }
+
+    /**
+     * 条件一覧からインデックスを構築（一致しえない条件は登録しない）
+     */
+    public static SavedSearchIndex build(Collection<Query> queries) {
+        Builder builder = new Builder();
+        queries.forEach(builder::add);
+        return new SavedSearchIndex(builder);
+    }
+
+    public static SavedSearchIndex empty() {
+        return new SavedSearchIndex(new Builder());
+    }
+
+    /**
+     * 案件に一致する検索条件の ID
+     */
+    public Set<Long> match(JobView job) {
+        Set<Query> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Long skillId : job.skillIds()) {
+            candidates.addAll(bySkill.getOrDefault(skillId, List.of()));
+        }
+        if (!byBigram.isEmpty()) {
+            Set<Integer> bigrams = new HashSet<>();
+            for (String text : job.texts()) {
+                addBigrams(bigrams, text);
+            }
+            for (int bigram : bigrams) {
+                candidates.addAll(byBigram.getOrDefault(bigram, List.of()));
+            }
+        }
+        if (job.source() != null) {
+            candidates.addAll(bySource.getOrDefault(job.source(), List.of()));
+        }
+        if (job.remoteType() != null) {
+            candidates.addAll(byRemoteType.getOrDefault(job.remoteType(), List.of()));
+        }
+        if (job.maxPrice() != null) {
+            byMinPrice.headMap(job.maxPrice(), true).values().forEach(candidates::addAll);
+        }
+        if (job.minPrice() != null) {
+            byMaxPrice.tailMap(job.minPrice(), true).values().forEach(candidates::addAll);
+        }
+        candidates.addAll(unindexed);
+
+        Set<Long> matched = new LinkedHashSet<>();
+        for (Query query : candidates) {
+            if (query.matches(job)) {
+                matched.add(query.id());
+            }
+        }
+        return matched;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static void addBigrams(Collection<Integer> bigrams, String normalized) {
+        for (int i = 0; i + 1 < normalized.length(); i++) {
+            bigrams.add(normalized.charAt(i) << 16 | normalized.charAt(i + 1));
+        }
+    }
+
+    /**
+     * コンパイル済みの検索条件（キーワードは SimHash.normalize で正規化した語、スキルは正規スキル ID）
+     * skillIds が null の場合はスキル条件なし
+     */
+    public record Query(long id, List<String> keywordWords, Set<Long> skillIds, boolean matchAny,
+            Integer minPrice, Integer maxPrice, String location, RemoteType remoteType, Set<String> sources,
+            boolean collapseDuplicates) {
+
+        boolean matches(JobView job) {
+            if (collapseDuplicates && job.duplicate()) {
+                return false;
+            }
+            if (sources != null && !sources.contains(job.source())) {
+                return false;
+            }
+            if (remoteType != null && remoteType != job.remoteType()) {
+                return false;
+            }
+            if (minPrice != null && (job.maxPrice() == null || job.maxPrice() < minPrice)) {
+                return false;
+            }
+            if (maxPrice != null && (job.minPrice() == null || job.minPrice() > maxPrice)) {
+                return false;
+            }
+            if (location != null && (job.location() == null || !job.location().contains(location))) {
+                return false;
+            }
+            if (skillIds != null) {
+                boolean skillMatch = matchAny
+                        ? skillIds.stream().anyMatch(job.skillIds()::contains)
+                        : job.skillIds().containsAll(skillIds);
+                if (!skillMatch) {
+                    return false;
+                }
+            }
+            for (String word : keywordWords) {
+                if (job.texts().stream().noneMatch(text -> text.contains(word))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 一致しえない条件（すべて必須のスキルに未知のものを含むなど）
+         */
+        boolean unsatisfiable() {
+            return skillIds != null && skillIds.isEmpty();
+        }
+    }
+
+    /**
+     * 照合対象の案件（texts はタイトル・説明文・スキルを SimHash.normalize で正規化したもの）
+     */
+    public record JobView(long id, String source, List<String> texts, Set<Long> skillIds, Integer minPrice,
+            Integer maxPrice, String location, RemoteType remoteType, boolean duplicate) {
+    }
+
+    private static final class Builder {
+        private final Map<Long, List<Query>> bySkill = new HashMap<>();
+        private final Map<Integer, List<Query>> byBigram = new HashMap<>();
+        private final Map<String, List<Query>> bySource = new HashMap<>();
+        private final Map<RemoteType, List<Query>> byRemoteType = new EnumMap<>(RemoteType.class);
+        private final NavigableMap<Integer, List<Query>> byMinPrice = new TreeMap<>();
+        private final NavigableMap<Integer, List<Query>> byMaxPrice = new TreeMap<>();
+        private final List<Query> unindexed = new ArrayList<>();
+        private int size;
+
+        void add(Query query) {
+            if (query.unsatisfiable()) {
+                return;
+            }
+            size++;
+            if (query.skillIds() != null) {
+                if (query.matchAny()) {
+                    // いずれかのスキルで一致するため、全スキルのバケットに登録
+                    query.skillIds().forEach(skillId -> put(bySkill, skillId, query));
+                } else {
+                    // すべて必須のため、どれか 1 つ（登録数の少ないバケット）に登録すれば足りる
+                    long skillId = query.skillIds().stream()
+                            .min(Comparator.comparingInt(id -> bySkill.getOrDefault(id, List.of()).size()))
+                            .orElseThrow();
+                    put(bySkill, skillId, query);
+                }
+                return;
+            }
+            Set<Integer> bigrams = new LinkedHashSet<>();
+            query.keywordWords().forEach(word -> addBigrams(bigrams, word));
+            if (!bigrams.isEmpty()) {
+                int bigram = bigrams.stream()
+                        .min(Comparator.comparingInt(term -> byBigram.getOrDefault(term, List.of()).size()))
+                        .orElseThrow();
+                put(byBigram, bigram, query);
+                return;
+            }
+            if (query.sources() != null) {
+                query.sources().forEach(source -> put(bySource, source, query));
+                return;
+            }
+            if (query.remoteType() != null) {
+                put(byRemoteType, query.remoteType(), query);
+                return;
+            }
+            if (query.minPrice() != null) {
+                put(byMinPrice, query.minPrice(), query);
+                return;
+            }
+            if (query.maxPrice() != null) {
+                put(byMaxPrice, query.maxPrice(), query);
+                return;
+            }
+            unindexed.add(query);
+        }
+
+        private static <K> void put(Map<K, List<Query>> buckets, K key, Query query) {
+            buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(query);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.sesjob.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sesjob.dto.SavedSearchDto;
+import com.sesjob.dto.SearchRequest;
+import com.sesjob.entity.SavedSearch;
+import com.sesjob.repository.JobBulkRepository;
+import com.sesjob.repository.NotificationRepository;
+import com.sesjob.repository.SavedSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 保存済み検索条件サービス
+ * 通知が有効な条件を SavedSearchIndex にコンパイルしておき、新規案件の取り込み時に一致した条件を通知履歴に記録する
+ * 条件の変更時・スキルマスターの変更時に作り直して参照を差し替える
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SavedSearchService {
+
+    // 取り込み時の照合結果を記録する通知チャネル
+    public static final String MATCH_CHANNEL = "saved_search";
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final NotificationRepository notificationRepository;
+    private final JobBulkRepository jobBulkRepository;
+    private final SkillNormalizer skillNormalizer;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<SavedSearchIndex> index = new AtomicReference<>(SavedSearchIndex.empty());
+
+    /**
+     * 通知が有効な検索条件からインデックスを再構築
+     * 他インスタンスでの条件変更も定期的に取り込む
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${saved-search.refresh-interval:PT10M}",
+            initialDelayString = "${saved-search.refresh-interval:PT10M}")
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        List<SavedSearchIndex.Query> queries = new ArrayList<>();
+        for (SavedSearch savedSearch : savedSearchRepository.findByNotifyEnabledTrue()) {
+            queries.add(compile(savedSearch.getId(), toRequest(savedSearch)));
+        }
+        SavedSearchIndex compiled = SavedSearchIndex.build(queries);
+        index.set(compiled);
+        log.debug("Saved search index rebuilt: {} of {} searches in {} ms", compiled.size(), queries.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * 新規案件に一致する検索条件を通知履歴に記録（取り込みと同じトランザクション）
+     */
+    public int recordMatches(List<SavedSearchIndex.JobView> jobs) {
+        SavedSearchIndex current = index.get();
+        if (current.size() == 0 || jobs.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Set<Long>> searchIdsByJobId = new LinkedHashMap<>();
+        for (SavedSearchIndex.JobView job : jobs) {
+            Set<Long> searchIds = current.match(job);
+            if (!searchIds.isEmpty()) {
+                searchIdsByJobId.put(job.id(), searchIds);
+            }
+        }
+        int recorded = jobBulkRepository.insertSearchMatches(searchIdsByJobId, MATCH_CHANNEL, LocalDateTime.now());
+        if (recorded > 0) {
+            log.info("Recorded {} saved search matches for {} jobs", recorded, searchIdsByJobId.size());
+        }
+        return recorded;
+    }
+
+    /**
+     * 検索条件一覧
+     */
+    public List<SavedSearchDto.Response> getSavedSearches() {
+        return savedSearchRepository.findAll().stream().map(this::toResponse).toList();
+    }
+
+    /**
+     * 検索条件登録
+     */
+    @Transactional
+    public SavedSearchDto.Response createSavedSearch(SavedSearchDto.Request request) {
+        SavedSearch saved = savedSearchRepository.save(SavedSearch.builder()
+                .name(request.getName())
+                .conditions(toConditions(request.getConditions()))
+                .notifyEnabled(Boolean.TRUE.equals(request.getNotifyEnabled()))
+                .build());
+        rebuild();
+        return toResponse(saved);
+    }
+
+    /**
+     * 検索条件削除（通知履歴も削除）
+     */
+    @Transactional
+    public boolean deleteSavedSearch(Long id) {
+        if (!savedSearchRepository.existsById(id)) {
+            return false;
+        }
+        notificationRepository.deleteBySavedSearchId(id);
+        savedSearchRepository.deleteById(id);
+        rebuild();
+        return true;
+    }
+
+    /**
+     * 検索条件に一致した新着案件（新しい順）
+     */
+    @Transactional(readOnly = true)
+    public Page<SavedSearchDto.Match> getMatches(Long id, int page, int size) {
+        return notificationRepository.findBySavedSearchId(id, PageRequest.of(page, size))
+                .map(notification -> SavedSearchDto.Match.builder()
+                        .jobId(notification.getJob().getId())
+                        .title(notification.getJob().getTitle())
+                        .maxPrice(notification.getJob().getMaxPrice())
+                        .matchedAt(notification.getSentAt())
+                        .build());
+    }
+
+    // Private helper methods
+
+    /**
+     * 検索条件を照合用にコンパイル（JobService の検索条件と同じ意味になるようにする）
+     * 新着案件ストリームの絞り込みにも使う
+     */
+    SavedSearchIndex.Query compile(long id, SearchRequest request) {
+        List<String> words = new ArrayList<>();
+        if (request.getKeyword() != null) {
+            for (String word : request.getKeyword().trim().split("\\s+")) {
+                String normalized = SimHash.normalize(word);
+                if (!normalized.isEmpty()) {
+                    words.add(normalized);
+                }
+            }
+        }
+
+        boolean matchAny = request.getSkillMatch() == SearchRequest.SkillMatch.ANY;
+        Set<Long> skillIds = null;
+        if (request.getSkills() != null && request.getSkills().stream().anyMatch(s -> s != null && !s.isBlank())) {
+            skillIds = new LinkedHashSet<>();
+            for (String skill : request.getSkills()) {
+                if (skill == null || skill.isBlank()) {
+                    continue;
+                }
+                Optional<Long> skillId = skillNormalizer.resolve(skill);
+                if (skillId.isPresent()) {
+                    skillIds.add(skillId.get());
+                } else if (!matchAny) {
+                    skillIds = Set.of();
+                    break;
+                }
+            }
+        }
+
+        Set<String> sources = request.getSources() != null && !request.getSources().isEmpty()
+                ? Set.copyOf(request.getSources())
+                : null;
+        String location = request.getLocation() != null && !request.getLocation().isBlank()
+                ? request.getLocation()
+                : null;
+        return new SavedSearchIndex.Query(id, words, skillIds, matchAny, request.getMinPrice(),
+                request.getMaxPrice(), location, request.getRemoteType(), sources,
+                Boolean.TRUE.equals(request.getCollapseDuplicates()));
+    }
+
+    private SearchRequest toRequest(SavedSearch savedSearch) {
+        return savedSearch.getConditions() != null
+                ? objectMapper.convertValue(savedSearch.getConditions(), SearchRequest.class)
+                : new SearchRequest();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toConditions(SearchRequest request) {
+        Map<String, Object> conditions = new LinkedHashMap<>();
+        if (request != null) {
+            objectMapper.convertValue(request, Map.class).forEach((key, value) -> {
+                if (value != null) {
+                    conditions.put((String) key, value);
+                }
+            });
+        }
+        return conditions;
+    }
+
+    private SavedSearchDto.Response toResponse(SavedSearch savedSearch) {
+        return SavedSearchDto.Response.builder()
+                .id(savedSearch.getId())
+                .name(savedSearch.getName())
+                .conditions(toRequest(savedSearch))
+                .notifyEnabled(savedSearch.getNotifyEnabled())
+                .createdAt(savedSearch.getCreatedAt())
+                .build();
+    }
+}
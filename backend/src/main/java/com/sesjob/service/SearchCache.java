@@ -0,0 +1,146 @@
+package com.sesjob.service;
+
+import com.sesjob.dto.StatsDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 検索結果キャッシュ（LRU）
+ * キーにデータ世代を含め、世代が進んだら古いエントリを一括で破棄する
+ * /actuator/metrics/sesjob.search.cache などで参照できる
+ */
+@Component
+public class SearchCache {
+
+    private final DataGeneration dataGeneration;
+    private final boolean enabled;
+    private final int maxEntries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private final Map<Key, Object> entries;
+    private long entriesGeneration;
+
+    public SearchCache(DataGeneration dataGeneration, MeterRegistry registry,
+            @Value("${search.cache.enabled:true}") boolean enabled,
+            @Value("${search.cache.max-entries:1000}") int maxEntries) {
+        this.dataGeneration = dataGeneration;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.hits = counter(registry, "hit");
+        this.misses = counter(registry, "miss");
+        this.evictions = Counter.builder("sesjob.search.cache.evictions")
+                .description("Number of search cache entries evicted by the LRU bound")
+                .register(registry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() > SearchCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("sesjob.search.cache.size", this, SearchCache::size)
+                .description("Number of cached search results")
+                .register(registry);
+    }
+
+    /**
+     * キャッシュから取得し、なければ loader の結果を保存して返す
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object request, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(dataGeneration.current(), request);
+        synchronized (entries) {
+            evictStale(key.generation());
+            Object cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return (T) cached;
+            }
+        }
+        misses.increment();
+
+        T value = loader.get();
+        synchronized (entries) {
+            // 読み込み中に世代が進んだ結果は保存しない
+            if (value != null && key.generation() == dataGeneration.current()) {
+                evictStale(key.generation());
+                entries.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * キャッシュにあれば取得（なければ empty、読み込みは行わない）
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> getIfPresent(Object request) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Key key = new Key(dataGeneration.current(), request);
+        synchronized (entries) {
+            evictStale(key.generation());
+            return Optional.ofNullable((T) entries.get(key));
+        }
+    }
+
+    public StatsDto.CacheStats getStats() {
+        double hitCount = hits.count();
+        double missCount = misses.count();
+        double total = hitCount + missCount;
+        return StatsDto.CacheStats.builder()
+                .size(size())
+                .maxEntries(maxEntries)
+                .hits((long) hitCount)
+                .misses((long) missCount)
+                .hitRate(total > 0 ? hitCount / total : null)
+                .evictions((long) evictions.count())
+                .generation(dataGeneration.current())
+                .build();
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evictStale(long generation) {
+        if (entriesGeneration != generation) {
+            entries.clear();
+            entriesGeneration = generation;
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("sesjob.search.cache")
+                .description("Number of search cache lookups")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record Key(long generation, Object request) {
+        Key {
+            Objects.requireNonNull(request);
+        }
+    }
+}
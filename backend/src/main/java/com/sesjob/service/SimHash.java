@@ -0,0 +1,112 @@
+package com.sesjob.service;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * 案件内容の SimHash（64bit）
+ * 正規化したタイトル・説明文の文字 3-gram、単価帯、スキルを特徴量とする
+ * 掲載サイトが違っても同じ案件であればハミング距離が小さくなる
+ */
+public final class SimHash {
+
+    private static final int SHINGLE = 3;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int SKILL_WEIGHT = 3;
+    private static final int PRICE_WEIGHT = 3;
+    private static final int PRICE_BUCKET = 5; // 5万円刻み
+
+    private SimHash() {
+    }
+
+    public static long of(String title, String description, Integer maxPrice, List<String> skills) {
+        int[] weights = new int[64];
+
+        addShingles(weights, normalize(title), TITLE_WEIGHT);
+        addShingles(weights, normalize(description), DESCRIPTION_WEIGHT);
+
+        if (skills != null) {
+            // 並び順や重複の違いを吸収する
+            TreeSet<String> normalized = new TreeSet<>();
+            for (String skill : skills) {
+                String s = normalize(skill);
+                if (!s.isEmpty()) {
+                    normalized.add(s);
+                }
+            }
+            for (String skill : normalized) {
+                addFeature(weights, "skill:" + skill, SKILL_WEIGHT);
+            }
+        }
+        if (maxPrice != null) {
+            addFeature(weights, "price:" + maxPrice / PRICE_BUCKET, PRICE_WEIGHT);
+        }
+
+        long hash = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                hash |= 1L << bit;
+            }
+        }
+        return hash;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * 全角/半角・大文字/小文字を揃え、空白と記号を除去
+     */
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String nfkc = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(nfkc.length());
+        nfkc.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    private static void addShingles(int[] weights, String text, int weight) {
+        if (text.isEmpty()) {
+            return;
+        }
+        if (text.length() <= SHINGLE) {
+            addFeature(weights, text, weight);
+            return;
+        }
+        for (int i = 0; i + SHINGLE <= text.length(); i++) {
+            addFeature(weights, text.substring(i, i + SHINGLE), weight);
+        }
+    }
+
+    private static void addFeature(int[] weights, String feature, int weight) {
+        long h = hash64(feature);
+        for (int bit = 0; bit < 64; bit++) {
+            weights[bit] += ((h >>> bit) & 1L) != 0 ? weight : -weight;
+        }
+    }
+
+    /**
+     * FNV-1a + splitmix64 の最終化
+     */
+    private static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+}
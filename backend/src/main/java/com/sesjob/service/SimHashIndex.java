@@ -0,0 +1,145 @@
+package com.sesjob.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * SimHash の近傍検索インデックス
+ * 64bit を 16bit × 4 バンドに分割し、いずれかのバンドが一致する案件だけを候補にする
+ * （ハミング距離 3 以下なら鳩の巣原理で必ずどれかのバンドが一致する）
+ */
+public class SimHashIndex {
+
+    private static final int BANDS = 4;
+    private static final int BAND_BITS = 16;
+
+    /**
+     * 取りこぼしなく検索できるハミング距離の上限（バンド数 - 1）
+     */
+    public static final int MAX_DISTANCE = BANDS - 1;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final List<Map<Integer, Set<Long>>> bands = new ArrayList<>(BANDS);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SimHashIndex() {
+        for (int i = 0; i < BANDS; i++) {
+            bands.add(new HashMap<>());
+        }
+    }
+
+    public void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(entry.jobId());
+            entries.put(entry.jobId(), entry);
+            for (int band = 0; band < BANDS; band++) {
+                bands.get(band).computeIfAbsent(bandValue(entry.simhash(), band), k -> new HashSet<>())
+                        .add(entry.jobId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(Collection<Entry> newEntries) {
+        newEntries.forEach(this::put);
+    }
+
+    public Optional<Entry> get(long jobId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(entries.get(jobId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 他ソースの案件のうち最も近いものを返す
+     */
+    public Optional<Entry> findNearest(long simhash, String source, long excludeJobId, int maxDistance) {
+        lock.readLock().lock();
+        try {
+            Entry best = null;
+            int bestDistance = Integer.MAX_VALUE;
+            Set<Long> visited = new HashSet<>();
+
+            for (int band = 0; band < BANDS; band++) {
+                Set<Long> ids = bands.get(band).get(bandValue(simhash, band));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    if (id == excludeJobId || !visited.add(id)) {
+                        continue;
+                    }
+                    Entry candidate = entries.get(id);
+                    if (Objects.equals(candidate.source(), source)) {
+                        continue;
+                    }
+                    int distance = SimHash.distance(simhash, candidate.simhash());
+                    if (distance <= maxDistance && (distance < bestDistance
+                            || (distance == bestDistance && candidate.jobId() < best.jobId()))) {
+                        best = candidate;
+                        bestDistance = distance;
+                    }
+                }
+            }
+            return Optional.ofNullable(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Entry> snapshot() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(entries.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(long jobId) {
+        Entry old = entries.remove(jobId);
+        if (old == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            int value = bandValue(old.simhash(), band);
+            Set<Long> ids = bands.get(band).get(value);
+            if (ids != null) {
+                ids.remove(jobId);
+                if (ids.isEmpty()) {
+                    bands.get(band).remove(value);
+                }
+            }
+        }
+    }
+
+    private static int bandValue(long simhash, int band) {
+        return (int) ((simhash >>> (band * BAND_BITS)) & 0xFFFF);
+    }
+
+    /**
+     * インデックスのエントリ
+     * canonicalJobId は重複クラスタの代表案件（自身が代表の場合は null）
+     */
+    public record Entry(long jobId, String source, long simhash, Long canonicalJobId) {
+
+        public long clusterId() {
+            return canonicalJobId != null ? canonicalJobId : jobId;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.sesjob.service;
+
+import com.sesjob.entity.Skill;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * スキルマスター（名称・別名）をコンパイルしたマッチャー
+ * 生のスキル文字列や説明文から正規スキル ID を 1 パスで抽出する
+ */
+public final class SkillMatcher {
+
+    private static final SkillMatcher EMPTY = new SkillMatcher(AhoCorasick.build(List.of()), new long[0], Map.of());
+
+    private final AhoCorasick automaton;
+    private final long[] skillIds;
+    private final Map<String, Long> skillIdByPattern;
+
+    private SkillMatcher(AhoCorasick automaton, long[] skillIds, Map<String, Long> skillIdByPattern) {
+        this.automaton = automaton;
+        this.skillIds = skillIds;
+        this.skillIdByPattern = skillIdByPattern;
+    }
+
+    public static SkillMatcher empty() {
+        return EMPTY;
+    }
+
+    public static SkillMatcher compile(Collection<Skill> skills) {
+        // 同じ別名が複数スキルに登録されている場合は先勝ち
+        Map<String, Long> skillIdByPattern = new LinkedHashMap<>();
+        for (Skill skill : skills) {
+            addPattern(skillIdByPattern, skill.getName(), skill.getId());
+            if (skill.getAliases() != null) {
+                skill.getAliases().forEach(alias -> addPattern(skillIdByPattern, alias, skill.getId()));
+            }
+        }
+
+        List<String> patterns = new ArrayList<>(skillIdByPattern.keySet());
+        long[] skillIds = new long[patterns.size()];
+        for (int i = 0; i < patterns.size(); i++) {
+            skillIds[i] = skillIdByPattern.get(patterns.get(i));
+        }
+        return new SkillMatcher(AhoCorasick.build(patterns), skillIds, Map.copyOf(skillIdByPattern));
+    }
+
+    /**
+     * 案件のスキル・タイトル・説明文に含まれる正規スキル ID
+     */
+    public Set<Long> match(List<String> requiredSkills, List<String> preferredSkills, String title, String description) {
+        StringBuilder sb = new StringBuilder();
+        appendAll(sb, requiredSkills);
+        appendAll(sb, preferredSkills);
+        append(sb, title);
+        append(sb, description);
+        return match(sb);
+    }
+
+    /**
+     * テキストに含まれる正規スキル ID
+     */
+    public Set<Long> match(CharSequence text) {
+        Set<Long> matched = new LinkedHashSet<>();
+        if (automaton.size() == 0 || text.isEmpty()) {
+            return matched;
+        }
+        String normalized = normalize(text.toString());
+        automaton.search(normalized, (patternIndex, start, end) -> {
+            if (isBoundary(normalized, start, end)) {
+                matched.add(skillIds[patternIndex]);
+            }
+        });
+        return matched;
+    }
+
+    /**
+     * スキル名・別名から正規スキル ID を解決（完全一致を優先し、なければ部分一致の先頭）
+     */
+    public Optional<Long> resolve(String name) {
+        if (name == null || name.isBlank()) {
+            return Optional.empty();
+        }
+        Long exact = skillIdByPattern.get(normalize(name.trim()));
+        if (exact != null) {
+            return Optional.of(exact);
+        }
+        return match(name).stream().findFirst();
+    }
+
+    public int patternCount() {
+        return automaton.size();
+    }
+
+    static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 英数字で始まる/終わるパターンは単語境界でのみ一致させる（"go" が "google" に、"java" が "javascript" に一致しないように）
+     */
+    private static boolean isBoundary(String text, int start, int end) {
+        if (isWordChar(text.charAt(start)) && start > 0 && isWordChar(text.charAt(start - 1))) {
+            return false;
+        }
+        return !(isWordChar(text.charAt(end - 1)) && end < text.length() && isWordChar(text.charAt(end)));
+    }
+
+    private static boolean isWordChar(char c) {
+        return c < 128 && Character.isLetterOrDigit(c);
+    }
+
+    private static void addPattern(Map<String, Long> skillIdByPattern, String pattern, Long skillId) {
+        if (pattern == null || pattern.isBlank()) {
+            return;
+        }
+        skillIdByPattern.putIfAbsent(normalize(pattern.trim()), skillId);
+    }
+
+    private static void appendAll(StringBuilder sb, List<String> values) {
+        if (values != null) {
+            values.forEach(value -> append(sb, value));
+        }
+    }
+
+    private static void append(StringBuilder sb, String value) {
+        if (value != null && !value.isEmpty()) {
+            sb.append(value).append('\n');
+        }
+    }
+}
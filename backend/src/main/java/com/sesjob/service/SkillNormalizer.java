@@ -0,0 +1,93 @@
+package com.sesjob.service;
+
+import com.sesjob.repository.JobBulkRepository;
+import com.sesjob.repository.JobBulkRepository.JobContentRow;
+import com.sesjob.repository.SkillRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * スキル正規化サービス
+ * スキルマスターの名称・別名を 1 つのオートマトンにコンパイルし、案件のスキル文字列・説明文を正規スキル ID に変換する
+ * マスター変更時はマッチャーを作り直して参照を差し替える（検索中のスレッドは旧マッチャーを使い切る）
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillNormalizer {
+
+    private static final int REINDEX_BATCH_SIZE = 1000;
+
+    private final SkillRepository skillRepository;
+    private final JobBulkRepository jobBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DataGeneration dataGeneration;
+    private final JobStatsStore jobStatsStore;
+
+    private final AtomicReference<SkillMatcher> matcher = new AtomicReference<>(SkillMatcher.empty());
+
+    /**
+     * スキルマスターからマッチャーを再構築
+     * 他インスタンスでのマスター変更も定期的に取り込む
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${skills.refresh-interval:PT10M}", initialDelayString = "${skills.refresh-interval:PT10M}")
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        SkillMatcher compiled = SkillMatcher.compile(skillRepository.findAll());
+        matcher.set(compiled);
+        log.debug("Skill matcher rebuilt: {} patterns in {} ms", compiled.patternCount(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * 案件のスキル・タイトル・説明文に含まれる正規スキル ID
+     */
+    public Set<Long> normalize(List<String> requiredSkills, List<String> preferredSkills, String title,
+            String description) {
+        return matcher.get().match(requiredSkills, preferredSkills, title, description);
+    }
+
+    /**
+     * スキル名・別名から正規スキル ID を解決
+     */
+    public Optional<Long> resolve(String name) {
+        return matcher.get().resolve(name);
+    }
+
+    /**
+     * 既存案件の正規スキルを現在のマスターで作り直す（id 順にバッチ処理、スキル別の統計は作り直した後に集計し直す）
+     */
+    public long reindex() {
+        long processed = jobStatsStore.recountAfter(this::replaceAllJobSkills);
+        dataGeneration.bump();
+        log.info("Reindexed skills for {} jobs", processed);
+        return processed;
+    }
+
+    private long replaceAllJobSkills() {
+        SkillMatcher current = matcher.get();
+        long afterId = 0;
+        long processed = 0;
+        List<JobContentRow> rows;
+        while (!(rows = jobBulkRepository.findContentAfter(afterId, REINDEX_BATCH_SIZE)).isEmpty()) {
+            Map<Long, Set<Long>> skillIdsByJobId = new LinkedHashMap<>();
+            for (JobContentRow row : rows) {
+                skillIdsByJobId.put(row.id(), current.match(row.requiredSkills(), row.preferredSkills(),
+                        row.title(), row.description()));
+            }
+            transactionTemplate.executeWithoutResult(status -> jobBulkRepository.replaceJobSkills(skillIdsByJobId));
+            afterId = rows.get(rows.size() - 1).id();
+            processed += rows.size();
+        }
+        return processed;
+    }
+}
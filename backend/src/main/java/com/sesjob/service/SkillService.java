@@ -0,0 +1,91 @@
+package com.sesjob.service;
+
+import com.sesjob.dto.SkillDto;
+import com.sesjob.entity.Skill;
+import com.sesjob.repository.SkillRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * スキルマスター管理サービス
+ * 変更後はスキル正規化のマッチャーを再構築する
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillService {
+
+    private final SkillRepository skillRepository;
+    private final SkillNormalizer skillNormalizer;
+    private final DataGeneration dataGeneration;
+    private final TypeaheadService typeaheadService;
+    private final SavedSearchService savedSearchService;
+
+    /**
+     * スキル一覧
+     */
+    public List<SkillDto.Response> getSkills(String category) {
+        List<Skill> skills = category != null && !category.isBlank()
+                ? skillRepository.findByCategory(category)
+                : skillRepository.findAll(Sort.by("category", "name"));
+        return skills.stream().map(this::toResponse).toList();
+    }
+
+    /**
+     * スキル登録（同名が存在する場合は empty）
+     */
+    public Optional<SkillDto.Response> createSkill(SkillDto.Request request) {
+        if (skillRepository.existsByName(request.getName())) {
+            return Optional.empty();
+        }
+        Skill skill = skillRepository.save(Skill.builder()
+                .name(request.getName())
+                .category(request.getCategory())
+                .aliases(request.getAliases())
+                .build());
+        skillNormalizer.rebuild();
+        dataGeneration.bump();
+        typeaheadService.rebuild();
+        savedSearchService.rebuild();
+        log.info("Skill created: {}", skill.getName());
+        return Optional.of(toResponse(skill));
+    }
+
+    /**
+     * スキル更新
+     */
+    public Optional<SkillDto.Response> updateSkill(Long id, SkillDto.Request request) {
+        return skillRepository.findById(id)
+                .map(skill -> {
+                    if (request.getName() != null) {
+                        skill.setName(request.getName());
+                    }
+                    if (request.getCategory() != null) {
+                        skill.setCategory(request.getCategory());
+                    }
+                    if (request.getAliases() != null) {
+                        skill.setAliases(request.getAliases());
+                    }
+                    Skill saved = skillRepository.save(skill);
+                    skillNormalizer.rebuild();
+                    dataGeneration.bump();
+                    typeaheadService.rebuild();
+                    savedSearchService.rebuild();
+                    return toResponse(saved);
+                });
+    }
+
+    private SkillDto.Response toResponse(Skill skill) {
+        return SkillDto.Response.builder()
+                .id(skill.getId())
+                .name(skill.getName())
+                .category(skill.getCategory())
+                .aliases(skill.getAliases())
+                .build();
+    }
+}
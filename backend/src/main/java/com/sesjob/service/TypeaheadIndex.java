@@ -0,0 +1,142 @@
+package com.sesjob.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 前方一致の入力補完用インデックス
+ * 正規化（NFKC・小文字化・ひらがなをカタカナに統一）した読み → 候補を辞書順の木に保持し、前方一致の範囲だけを走査して件数の多い順に返す
+ * 1 つの候補に複数の読み（スキルの別名など）を登録でき、件数は候補単位で共有する
+ */
+public class TypeaheadIndex {
+
+    private final NavigableMap<String, Entry> entriesByKey = new TreeMap<>();
+    private final Map<String, Entry> entriesByValue = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 候補を登録（keys は value 自身以外の読み）
+     */
+    public void put(String value, long count, Collection<String> keys) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entriesByValue.computeIfAbsent(value, Entry::new);
+            entry.count = count;
+            addKey(normalize(value), entry);
+            for (String key : keys) {
+                if (key != null && !key.isBlank()) {
+                    addKey(normalize(key), entry);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 候補の件数を加算（未登録の候補は追加）
+     */
+    public void increment(String value, long delta) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Entry entry = entriesByValue.get(value);
+            if (entry == null) {
+                entry = new Entry(value);
+                entriesByValue.put(value, entry);
+                addKey(normalize(value), entry);
+            }
+            entry.count += delta;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 前方一致する候補を件数の多い順に最大 limit 件（同数は辞書順）
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Suggestion> top = new PriorityQueue<>(limit + 1, Suggestion.ORDER.reversed());
+        Set<Entry> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        lock.readLock().lock();
+        try {
+            for (Entry entry : entriesByKey.subMap(key, true, key + Character.MAX_VALUE, true).values()) {
+                // 下位の候補は比較だけで読み飛ばす（同数は辞書順の比較が必要）
+                if (top.size() == limit && entry.count < top.peek().count()) {
+                    continue;
+                }
+                // 複数の読みを持つ候補は 1 回だけ数える
+                if (entry.keys > 1 && !seen.add(entry)) {
+                    continue;
+                }
+                top.add(new Suggestion(entry.value, entry.count));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Suggestion> result = new ArrayList<>(top);
+        result.sort(Suggestion.ORDER);
+        return result;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entriesByValue.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addKey(String key, Entry entry) {
+        Entry previous = entriesByKey.put(key, entry);
+        if (previous != entry) {
+            entry.keys++;
+            if (previous != null) {
+                previous.keys--;
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        String normalized = SkillMatcher.normalize(text.strip());
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            // ひらがな（ぁ-ゖ）をカタカナに寄せる
+            sb.append(c >= '\u3041' && c <= '\u3096' ? (char) (c + 0x60) : c);
+        }
+        return sb.toString();
+    }
+
+    private static final class Entry {
+        private final String value;
+        private long count;
+        private int keys;
+
+        private Entry(String value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * 補完候補と案件数
+     */
+    public record Suggestion(String value, long count) {
+        // 件数の多い順、同数は辞書順
+        static final Comparator<Suggestion> ORDER = Comparator.comparingLong(Suggestion::count).reversed()
+                .thenComparing(Suggestion::value);
+    }
+}
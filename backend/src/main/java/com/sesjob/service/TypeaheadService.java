@@ -0,0 +1,135 @@
+package com.sesjob.service;
+
+import com.sesjob.dto.JobDto;
+import com.sesjob.dto.TypeaheadDto;
+import com.sesjob.entity.Skill;
+import com.sesjob.repository.JobRepository;
+import com.sesjob.repository.SkillRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 入力補完サービス
+ * スキル（名称・別名）、勤務地、会社名を案件数付きで前方一致インデックスに保持する
+ * 新規案件の取り込み時に件数を加算し、更新・終了による減少は定期的な再構築で反映する
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TypeaheadService {
+
+    private final JobRepository jobRepository;
+    private final SkillRepository skillRepository;
+
+    private final AtomicReference<Indexes> indexes = new AtomicReference<>(Indexes.empty());
+
+    /**
+     * スキルマスターと案件から補完インデックスを再構築
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${typeahead.refresh-interval:PT10M}",
+            initialDelayString = "${typeahead.refresh-interval:PT10M}")
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+
+        Map<Long, Long> jobsBySkill = new HashMap<>();
+        jobRepository.countBySkillGrouped().forEach(row -> jobsBySkill.put((Long) row[0], (Long) row[1]));
+        Map<Long, String> skillNames = new HashMap<>();
+        TypeaheadIndex skills = new TypeaheadIndex();
+        for (Skill skill : skillRepository.findAll()) {
+            skillNames.put(skill.getId(), skill.getName());
+            skills.put(skill.getName(), jobsBySkill.getOrDefault(skill.getId(), 0L),
+                    skill.getAliases() != null ? skill.getAliases() : List.of());
+        }
+
+        TypeaheadIndex locations = new TypeaheadIndex();
+        jobRepository.countByLocationGrouped().forEach(row -> locations.put((String) row[0], (Long) row[1], List.of()));
+        TypeaheadIndex companies = new TypeaheadIndex();
+        jobRepository.countByCompanyNameGrouped()
+                .forEach(row -> companies.put((String) row[0], (Long) row[1], List.of()));
+
+        indexes.set(new Indexes(skills, locations, companies, skillNames));
+        log.debug("Typeahead index rebuilt: {} skills, {} locations, {} companies in {} ms", skills.size(),
+                locations.size(), companies.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * 前方一致する候補を案件数の多い順に取得（type 未指定時は全種別をまとめて順位付け）
+     */
+    public List<TypeaheadDto.Suggestion> suggest(String prefix, TypeaheadDto.Type type, int limit) {
+        Indexes current = indexes.get();
+        List<TypeaheadDto.Suggestion> suggestions = new ArrayList<>();
+        for (TypeaheadDto.Type candidate : type != null ? List.of(type) : List.of(TypeaheadDto.Type.values())) {
+            for (TypeaheadIndex.Suggestion suggestion : current.of(candidate).suggest(prefix, limit)) {
+                suggestions.add(TypeaheadDto.Suggestion.builder()
+                        .type(candidate)
+                        .value(suggestion.value())
+                        .count(suggestion.count())
+                        .build());
+            }
+        }
+        if (type == null) {
+            suggestions.sort(Comparator.comparingLong(TypeaheadDto.Suggestion::getCount).reversed());
+        }
+        return suggestions.size() > limit ? suggestions.subList(0, limit) : suggestions;
+    }
+
+    /**
+     * 新規案件の勤務地・会社名・正規スキルの件数を加算（トランザクション中ならコミット後）
+     */
+    public void recordCreated(Collection<JobDto.CreateRequest> requests, Collection<? extends Set<Long>> skillIds) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        Runnable apply = () -> {
+            Indexes current = indexes.get();
+            for (JobDto.CreateRequest request : requests) {
+                current.locations().increment(request.getLocation(), 1);
+                current.companies().increment(request.getCompanyName(), 1);
+            }
+            for (Set<Long> ids : skillIds) {
+                for (Long id : ids) {
+                    String name = current.skillNames().get(id);
+                    if (name != null) {
+                        current.skills().increment(name, 1);
+                    }
+                }
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    private record Indexes(TypeaheadIndex skills, TypeaheadIndex locations, TypeaheadIndex companies,
+            Map<Long, String> skillNames) {
+
+        static Indexes empty() {
+            return new Indexes(new TypeaheadIndex(), new TypeaheadIndex(), new TypeaheadIndex(), Map.of());
+        }
+
+        TypeaheadIndex of(TypeaheadDto.Type type) {
+            return switch (type) {
+                case SKILL -> skills;
+                case LOCATION -> locations;
+                case COMPANY -> companies;
+            };
+        }
+    }
+}
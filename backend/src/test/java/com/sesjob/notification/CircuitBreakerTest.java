@@ -0,0 +1,41 @@
+package com.sesjob.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensAfterTheThresholdAndReportsWhenItReopens() {
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofMinutes(5));
+        breaker.onFailure();
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        Instant before = Instant.now();
+        breaker.onFailure();
+        Instant after = Instant.now();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.reopensAt()).isBetween(before.plus(Duration.ofMinutes(5)), after.plus(Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void allowsOneTrialAfterTheOpenPeriod() {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ZERO);
+        breaker.onFailure();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        // 試行中は結果が分からないため、再開はもう 1 期間後
+        assertThat(breaker.reopensAt()).isAfterOrEqualTo(Instant.now().minusSeconds(1));
+
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+}
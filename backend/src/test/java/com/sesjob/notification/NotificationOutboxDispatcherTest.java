@@ -0,0 +1,157 @@
+package com.sesjob.notification;
+
+import com.sesjob.entity.Job;
+import com.sesjob.entity.NotificationOutbox;
+import com.sesjob.entity.NotificationOutbox.OutboxStatus;
+import com.sesjob.entity.NotificationSettings;
+import com.sesjob.repository.JobRepository;
+import com.sesjob.repository.NotificationOutboxRepository;
+import com.sesjob.repository.NotificationRepository;
+import com.sesjob.repository.NotificationSettingsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationOutboxDispatcherTest {
+
+    private final NotificationOutboxRepository outboxRepository = mock(NotificationOutboxRepository.class);
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final NotificationSettingsRepository settingsRepository = mock(NotificationSettingsRepository.class);
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final NotificationDispatcher dispatcher = mock(NotificationDispatcher.class);
+
+    private final NotificationOutboxDispatcher outboxDispatcher = new NotificationOutboxDispatcher(outboxRepository,
+            notificationRepository, settingsRepository, jobRepository, dispatcher,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    private final Map<Long, NotificationOutbox> rows = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxDispatcher, "batchSize", 100);
+        ReflectionTestUtils.setField(outboxDispatcher, "maxAttempts", 4);
+        ReflectionTestUtils.setField(outboxDispatcher, "initialBackoff", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(outboxDispatcher, "maxBackoff", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(outboxDispatcher, "lease", Duration.ofMinutes(5));
+
+        when(settingsRepository.getOrCreateSettings()).thenReturn(NotificationSettings.builder().build());
+        when(dispatcher.enabledChannels(any())).thenReturn(List.of("slack"));
+        when(outboxRepository.findDue(any(), any())).thenAnswer(invocation -> new ArrayList<>(rows.values()));
+        when(outboxRepository.claim(anyLong(), any(), any())).thenReturn(1);
+        when(outboxRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<NotificationOutbox> found = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(id -> found.add(rows.get(id)));
+            return found;
+        });
+        when(jobRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Job> jobs = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(id -> jobs.add(Job.builder().id(id).build()));
+            return jobs;
+        });
+    }
+
+    @Test
+    void claimsRowsWithALeaseAndSendsOnlyTheOnesItWon() {
+        add(1, "slack", 0);
+        add(2, "slack", 0);
+        // 2 は他インスタンスが先に確保した
+        when(outboxRepository.claim(eq(2L), any(), any())).thenReturn(0);
+        when(dispatcher.deliver(eq("slack"), any(), any())).thenReturn(NotificationDispatcher.Delivery.SENT);
+
+        outboxDispatcher.drain();
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).claim(eq(1L), now.capture(), leaseUntil.capture());
+        assertThat(Duration.between(now.getValue(), leaseUntil.getValue())).isEqualTo(Duration.ofMinutes(5));
+
+        verify(dispatcher).deliver(eq("slack"), any(), argThat(jobs -> jobs.size() == 1 && jobs.get(0).getId() == 101));
+        assertThat(rows.get(1L).getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(rows.get(1L).getAttempts()).isEqualTo(1);
+        assertThat(rows.get(2L).getStatus()).isEqualTo(OutboxStatus.PENDING);
+        verify(notificationRepository).saveAll(argThat(notifications -> notifications.iterator().hasNext()));
+    }
+
+    @Test
+    void failedDeliveryBacksOffExponentiallyUpToTheCap() {
+        add(1, "slack", 1);
+        add(2, "slack", 2);
+        when(dispatcher.deliver(eq("slack"), any(), any())).thenReturn(NotificationDispatcher.Delivery.FAILED);
+
+        LocalDateTime before = LocalDateTime.now();
+        outboxDispatcher.drain();
+        LocalDateTime after = LocalDateTime.now();
+
+        // 2 回目の失敗は 1 分 × 2、3 回目の失敗は 1 分 × 4 後に再試行
+        assertThat(rows.get(1L).getAttempts()).isEqualTo(2);
+        assertThat(rows.get(1L).getNextAttemptAt()).isBetween(before.plusMinutes(2), after.plusMinutes(2));
+        assertThat(rows.get(2L).getAttempts()).isEqualTo(3);
+        assertThat(rows.get(2L).getNextAttemptAt()).isBetween(before.plusMinutes(4), after.plusMinutes(4));
+        assertThat(rows.get(1L).getStatus()).isEqualTo(OutboxStatus.PENDING);
+    }
+
+    @Test
+    void backoffIsCappedAndTheRowGivesUpAtMaxAttempts() {
+        ReflectionTestUtils.setField(outboxDispatcher, "maxAttempts", 10);
+        add(1, "slack", 5);
+        add(2, "slack", 9);
+        when(dispatcher.deliver(eq("slack"), any(), any())).thenReturn(NotificationDispatcher.Delivery.FAILED);
+
+        LocalDateTime before = LocalDateTime.now();
+        outboxDispatcher.drain();
+        LocalDateTime after = LocalDateTime.now();
+
+        assertThat(rows.get(1L).getNextAttemptAt()).isBetween(before.plusMinutes(5), after.plusMinutes(5));
+        assertThat(rows.get(2L).getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(rows.get(2L).getAttempts()).isEqualTo(10);
+    }
+
+    @Test
+    void openCircuitPostponesUntilReopenWithoutSpendingAnAttempt() {
+        add(1, "slack", 2);
+        Instant reopensAt = Instant.now().plus(Duration.ofMinutes(3));
+        when(dispatcher.deliver(eq("slack"), any(), any()))
+                .thenReturn(NotificationDispatcher.Delivery.rejected(reopensAt));
+
+        outboxDispatcher.drain();
+
+        assertThat(rows.get(1L).getAttempts()).isEqualTo(2);
+        assertThat(rows.get(1L).getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(rows.get(1L).getNextAttemptAt())
+                .isEqualTo(LocalDateTime.ofInstant(reopensAt, ZoneId.systemDefault()));
+    }
+
+    @Test
+    void cancelsRowsForDisabledChannels() {
+        add(1, "line", 0);
+
+        outboxDispatcher.drain();
+
+        assertThat(rows.get(1L).getStatus()).isEqualTo(OutboxStatus.CANCELLED);
+        verify(dispatcher, never()).deliver(any(), any(), any());
+    }
+
+    private void add(long id, String channel, int attempts) {
+        rows.put(id, NotificationOutbox.builder()
+                .id(id)
+                .jobId(100 + id)
+                .channel(channel)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now().minusMinutes(1))
+                .createdAt(LocalDateTime.now().minusMinutes(1))
+                .build());
+    }
+}
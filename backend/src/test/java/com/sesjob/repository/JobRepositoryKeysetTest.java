@@ -0,0 +1,83 @@
+package com.sesjob.repository;
+
+import com.sesjob.entity.Job;
+import com.sesjob.repository.JobRepositoryCustom.Keyset;
+import com.sesjob.repository.JobRepositoryCustom.SummaryRow;
+import com.sesjob.service.JobCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class JobRepositoryKeysetTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Test
+    void scrollsNullableKeysWithNullsLastInBothDirections() {
+        List<Long> ids = save(80, null, 80, 60, null, 100, 60);
+
+        assertThat(scroll("maxPrice", Sort.Direction.ASC, 2)).containsExactly(
+                ids.get(3), ids.get(6), ids.get(0), ids.get(2), ids.get(5), ids.get(1), ids.get(4));
+        assertThat(scroll("maxPrice", Sort.Direction.DESC, 2)).containsExactly(
+                ids.get(5), ids.get(2), ids.get(0), ids.get(6), ids.get(3), ids.get(4), ids.get(1));
+    }
+
+    @Test
+    void scrollsNonNullableKeysAndTiesById() {
+        List<Long> ids = save(1, 2, 3, 4, 5);
+
+        // 同じクロール日時の行は id で並ぶ
+        assertThat(scroll("crawledAt", Sort.Direction.DESC, 2)).containsExactly(
+                ids.get(4), ids.get(3), ids.get(2), ids.get(1), ids.get(0));
+        assertThat(scroll("id", Sort.Direction.ASC, 3)).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void treatsANullKeyOnANonNullableSortFieldAsTheEnd() {
+        save(1);
+
+        assertThat(jobRepository.findByKeyset(null, "crawledAt", Sort.Direction.DESC, new Keyset(null, 1), 10))
+                .isEmpty();
+    }
+
+    private List<Long> scroll(String sortBy, Sort.Direction direction, int size) {
+        List<Long> ids = new ArrayList<>();
+        Keyset after = null;
+        while (true) {
+            List<SummaryRow> rows = jobRepository.findByKeyset((Specification<Job>) null, sortBy, direction, after,
+                    size);
+            rows.forEach(row -> ids.add(row.summary().getId()));
+            if (rows.size() < size) {
+                return ids;
+            }
+            // API と同じくトークンを経由して続きを読む
+            Keyset last = rows.get(rows.size() - 1).keyset();
+            after = JobCursor.decode(new JobCursor(sortBy, direction, last).encode()).keyset();
+        }
+    }
+
+    private List<Long> save(Integer... maxPrices) {
+        return Arrays.stream(maxPrices)
+                .map(maxPrice -> jobRepository.save(Job.builder()
+                        .source("sesboard")
+                        .sourceUrl("https://example.com/jobs/" + System.nanoTime())
+                        .title("案件")
+                        .maxPrice(maxPrice)
+                        .crawledAt(BASE)
+                        .build()).getId())
+                .toList();
+    }
+}
@@ -0,0 +1,41 @@
+package com.sesjob.repository;
+
+import com.sesjob.entity.NotificationOutbox;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class NotificationOutboxRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Test
+    void claimHoldsTheRowUntilTheLeaseExpires() {
+        long id = outboxRepository.save(NotificationOutbox.builder()
+                .jobId(1L)
+                .channel("slack")
+                .nextAttemptAt(NOW)
+                .createdAt(NOW)
+                .build()).getId();
+        LocalDateTime leaseUntil = NOW.plusMinutes(5);
+
+        assertThat(outboxRepository.claim(id, NOW, leaseUntil)).isEqualTo(1);
+        // 確保中は他のインスタンスから見えず、確保もできない
+        assertThat(outboxRepository.findDue(NOW.plusMinutes(4), PageRequest.of(0, 10))).isEmpty();
+        assertThat(outboxRepository.claim(id, NOW.plusMinutes(4), NOW.plusMinutes(9))).isZero();
+
+        // 送信結果を記録しないまま lease が切れた行は、再び確保できる
+        assertThat(outboxRepository.findDue(leaseUntil, PageRequest.of(0, 10)))
+                .extracting(NotificationOutbox::getId).containsExactly(id);
+        assertThat(outboxRepository.claim(id, leaseUntil, leaseUntil.plusMinutes(5))).isEqualTo(1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.sesjob.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickTest {
+
+    @Test
+    void followsFailureLinksAndInheritsTheirOutputs() {
+        // 「she」の失敗遷移先は「he」、「hers」の途中で「she」から「he」に移って一致を続ける
+        AhoCorasick automaton = AhoCorasick.build(List.of("he", "she", "his", "hers"));
+
+        assertThat(matches(automaton, "ushers")).containsExactly("1:1-4", "0:2-4", "3:2-6");
+        assertThat(matches(automaton, "ahishers")).containsExactly("2:1-4", "1:3-6", "0:4-6", "3:4-8");
+    }
+
+    @Test
+    void reportsOverlappingAndNestedPatterns() {
+        AhoCorasick automaton = AhoCorasick.build(List.of("a", "aa", "aaa"));
+
+        assertThat(matches(automaton, "aaa")).containsExactly("0:0-1", "1:0-2", "0:1-2", "2:0-3", "1:1-3", "0:2-3");
+    }
+
+    @Test
+    void matchesTheSameResultsAsANaiveScan() {
+        Random random = new Random(1);
+        for (int round = 0; round < 200; round++) {
+            List<String> patterns = new ArrayList<>();
+            for (int p = 0; p < 1 + random.nextInt(8); p++) {
+                patterns.add(randomText(random, 1 + random.nextInt(4)));
+            }
+            String text = randomText(random, 40);
+
+            Set<String> expected = new TreeSet<>();
+            for (int p = 0; p < patterns.size(); p++) {
+                String pattern = patterns.get(p);
+                for (int start = text.indexOf(pattern); start >= 0; start = text.indexOf(pattern, start + 1)) {
+                    expected.add(p + ":" + start + "-" + (start + pattern.length()));
+                }
+            }
+            assertThat(new TreeSet<>(matches(AhoCorasick.build(patterns), text)))
+                    .as("patterns %s in %s", patterns, text)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void ignoresEmptyPatternsAndKeepsIndices() {
+        AhoCorasick automaton = AhoCorasick.build(List.of("", "go"));
+
+        assertThat(matches(automaton, "golang")).containsExactly("1:0-2");
+        assertThat(automaton.size()).isEqualTo(2);
+        assertThat(matches(AhoCorasick.build(List.of()), "anything")).isEmpty();
+    }
+
+    @Test
+    void containsAnyIgnoreCaseLowercasesTheText() {
+        AhoCorasick automaton = AhoCorasick.build(List.of("react", "vue"));
+
+        assertThat(automaton.containsAnyIgnoreCase("Next.js と REACT の案件")).isTrue();
+        assertThat(automaton.containsAnyIgnoreCase("Angular の案件")).isFalse();
+        // 失敗遷移を辿った先で一致する
+        assertThat(automaton.containsAnyIgnoreCase("reaVUE")).isTrue();
+    }
+
+    private static List<String> matches(AhoCorasick automaton, String text) {
+        List<String> matches = new ArrayList<>();
+        automaton.search(text, (patternIndex, start, end) -> matches.add(patternIndex + ":" + start + "-" + end));
+        return matches;
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(3)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.sesjob.service;
+
+import com.sesjob.repository.JobBulkRepository;
+import com.sesjob.repository.JobBulkRepository.ClusterMember;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DuplicateDetectorTest {
+
+    private final JobBulkRepository jobBulkRepository = mock(JobBulkRepository.class);
+    private final DuplicateDetector detector = new DuplicateDetector(jobBulkRepository, null);
+
+    @Test
+    void promotesTheSmallestLiveMemberWhenTheCanonicalIsClosed() {
+        // 代表 1 が掲載終了、所属 2（掲載終了）・3・4（掲載中）
+        when(jobBulkRepository.findMembersOfClosedCanonicals(List.of(1L))).thenReturn(List.of(
+                new ClusterMember(2, 1, false), new ClusterMember(4, 1, true), new ClusterMember(3, 1, true)));
+
+        Map<Long, Long> changes = detector.reelectCanonicals(List.of(1L));
+
+        Map<Long, Long> expected = new HashMap<>();
+        expected.put(3L, null);
+        expected.put(1L, 3L);
+        expected.put(2L, 3L);
+        expected.put(4L, 3L);
+        assertThat(changes).isEqualTo(expected);
+        verify(jobBulkRepository).updateCanonical(changes);
+    }
+
+    @Test
+    void leavesClustersWithoutClosedCanonicalsAlone() {
+        when(jobBulkRepository.findMembersOfClosedCanonicals(null)).thenReturn(List.of());
+
+        assertThat(detector.reelectCanonicals(null)).isEmpty();
+        verify(jobBulkRepository, never()).updateCanonical(any());
+    }
+}
@@ -0,0 +1,162 @@
+package com.sesjob.service;
+
+import com.sesjob.dto.JobDto;
+import com.sesjob.dto.JobDto.IngestState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class IngestQueueServiceTest {
+
+    private final JobIngestService jobIngestService = mock(JobIngestService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final IngestQueueService queue = new IngestQueueService(jobIngestService,
+            new TransactionTemplate(transactionManager));
+
+    // タイトル "block" の要求は release まで取り込みを止める
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        queue.stop();
+    }
+
+    @Test
+    void mergesQueuedRequestsAndRetriesThemIndividuallyWhenTheMergedTransactionFails() throws Exception {
+        start(100, 10);
+        String blocker = submit("block");
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // ワーカーが止まっている間に積まれた 3 件は 1 トランザクションにまとめられる
+        String good = submit("a", "b");
+        String bad = submit("bad");
+        String other = submit("c");
+        release.countDown();
+
+        assertThat(await(blocker).getState()).isEqualTo(IngestState.COMPLETED);
+        JobDto.IngestStatus goodStatus = await(good);
+        JobDto.IngestStatus badStatus = await(bad);
+        JobDto.IngestStatus otherStatus = await(other);
+
+        assertThat(goodStatus.getState()).isEqualTo(IngestState.COMPLETED);
+        assertThat(goodStatus.getCreated()).isEqualTo(2);
+        assertThat(otherStatus.getState()).isEqualTo(IngestState.COMPLETED);
+        assertThat(badStatus.getState()).isEqualTo(IngestState.FAILED);
+        assertThat(badStatus.getFailed()).isEqualTo(1);
+        assertThat(badStatus.getError()).isEqualTo("rejected bad");
+
+        // 先頭の 1 件と、まとめた 3 件のトランザクション（切り分けの再実行は要求ごとのトランザクション）
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(jobIngestService, times(2)).ingest(argThat(requests -> requests.size() == 2), any());
+    }
+
+    @Test
+    void doesNotMergeBeyondTheJobLimit() throws Exception {
+        start(100, 3);
+        String blocker = submit("block");
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        String first = submit("a", "b");
+        String second = submit("c", "d");
+        release.countDown();
+
+        await(blocker);
+        assertThat(await(first).getState()).isEqualTo(IngestState.COMPLETED);
+        assertThat(await(second).getState()).isEqualTo(IngestState.COMPLETED);
+        // 2 + 2 件は上限の 3 件を超えるため、別々のトランザクションになる
+        verify(transactionManager, times(3)).getTransaction(any());
+    }
+
+    @Test
+    void largeRequestsCommitInSlicesAndKeepCommittedProgressOnFailure() throws Exception {
+        start(100, 10);
+        ReflectionTestUtils.setField(queue, "commitInterval", 3);
+
+        JobDto.IngestStatus status = await(submit("a", "b", "c", "d", "e", "f", "bad"));
+
+        assertThat(status.getState()).isEqualTo(IngestState.FAILED);
+        assertThat(status.getProcessed()).isEqualTo(6);
+        assertThat(status.getFailed()).isEqualTo(1);
+        verify(jobIngestService, times(3)).ingest(anyList(), any());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void rejectsRequestsWhenTheQueueIsFull() throws Exception {
+        start(1, 10);
+        submit("block");
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(queue.submit(requests("a"), null)).isPresent();
+        assertThat(queue.submit(requests("b"), null)).isEmpty();
+        assertThat(queue.getStatus("unknown")).isEmpty();
+    }
+
+    private void start(int queueCapacity, int maxJobsPerTransaction) {
+        ReflectionTestUtils.setField(queue, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(queue, "workers", 1);
+        ReflectionTestUtils.setField(queue, "maxJobsPerTransaction", maxJobsPerTransaction);
+        ReflectionTestUtils.setField(queue, "commitInterval", 1000);
+        ReflectionTestUtils.setField(queue, "statusRetention", Duration.ofHours(1));
+
+        when(jobIngestService.ingest(anyList(), any())).thenAnswer(invocation -> {
+            List<JobDto.CreateRequest> requests = invocation.getArgument(0);
+            List<JobDto.IngestAck> acks = new ArrayList<>();
+            for (JobDto.CreateRequest request : requests) {
+                switch (request.getTitle()) {
+                    case "block" -> {
+                        blocked.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                    }
+                    case "bad" -> throw new IllegalStateException("rejected bad");
+                    default -> {
+                    }
+                }
+                acks.add(JobDto.IngestAck.builder().action(JobDto.IngestAction.CREATED).build());
+            }
+            return acks;
+        });
+        queue.start();
+    }
+
+    private String submit(String... titles) {
+        return queue.submit(requests(titles), null).orElseThrow().getIngestId();
+    }
+
+    private static List<JobDto.CreateRequest> requests(String... titles) {
+        List<JobDto.CreateRequest> requests = new ArrayList<>();
+        for (String title : titles) {
+            requests.add(JobDto.CreateRequest.builder().source("sesboard").sourceUrl("https://example.com/" + title)
+                    .title(title).build());
+        }
+        return requests;
+    }
+
+    private JobDto.IngestStatus await(String ingestId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            JobDto.IngestStatus status = queue.getStatus(ingestId).orElseThrow();
+            if (status.getState() == IngestState.COMPLETED || status.getState() == IngestState.FAILED) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Ingest " + ingestId + " did not finish");
+    }
+}
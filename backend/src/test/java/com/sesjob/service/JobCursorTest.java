@@ -0,0 +1,54 @@
+package com.sesjob.service;
+
+import com.sesjob.repository.JobRepositoryCustom.Keyset;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class JobCursorTest {
+
+    @Test
+    void roundTripsWithAndWithoutSortKey() {
+        JobCursor keyed = new JobCursor("postedAt", Sort.Direction.DESC, new Keyset("2024-05-01T10:15:30", 42));
+        JobCursor nullKey = new JobCursor("postedAt", Sort.Direction.ASC, new Keyset(null, 7));
+
+        assertThat(JobCursor.decode(keyed.encode())).isEqualTo(keyed);
+        assertThat(JobCursor.decode(nullKey.encode())).isEqualTo(nullKey);
+    }
+
+    @Test
+    void rejectsASortKeyOfTheWrongType() {
+        // 日時の項目に日時でない値を入れたトークンは、検索時の解析失敗（500）ではなく不正なカーソルとして扱う
+        assertThatIllegalArgumentException().isThrownBy(() -> JobCursor.decode(token("crawledAt", "DESC", "1", "vabc")));
+        assertThatIllegalArgumentException().isThrownBy(() -> JobCursor.decode(token("maxPrice", "ASC", "1", "v1.5")));
+        assertThatIllegalArgumentException().isThrownBy(() -> JobCursor.decode(token("id", "ASC", "1", "v3")));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatIllegalArgumentException().isThrownBy(() -> JobCursor.decode("***"));
+        assertThatIllegalArgumentException().isThrownBy(() -> JobCursor.decode(token("title", "ASC", "1", "vx")));
+        assertThatIllegalArgumentException().isThrownBy(() -> JobCursor.decode(token("id", "UP", "1", "")));
+        assertThatIllegalArgumentException().isThrownBy(() -> JobCursor.decode(token("id", "ASC", "x", "")));
+        assertThatIllegalArgumentException().isThrownBy(() -> JobCursor.decode(
+                Base64.getUrlEncoder().encodeToString("id".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void knowsTheSortableFields() {
+        assertThat(JobCursor.isSortable("crawledAt")).isTrue();
+        assertThat(JobCursor.isSortable("id")).isTrue();
+        assertThat(JobCursor.isSortable("title")).isFalse();
+        assertThat(JobCursor.isSortable(null)).isFalse();
+    }
+
+    private static String token(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join("\u001f", parts).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,54 @@
+package com.sesjob.service;
+
+import com.sesjob.dto.JobDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobFingerprintTest {
+
+    @Test
+    void sameContentHasTheSameFingerprint() {
+        assertThat(JobFingerprint.of(request().build())).isEqualTo(JobFingerprint.of(request().build()))
+                .hasSize(64);
+    }
+
+    @Test
+    void anyFieldChangeChangesTheFingerprint() {
+        String base = JobFingerprint.of(request().build());
+
+        assertThat(JobFingerprint.of(request().title("Java 開発（急募）").build())).isNotEqualTo(base);
+        assertThat(JobFingerprint.of(request().maxPrice(81).build())).isNotEqualTo(base);
+        assertThat(JobFingerprint.of(request().description("詳細").build())).isNotEqualTo(base);
+        assertThat(JobFingerprint.of(request().postedAt(LocalDateTime.of(2024, 5, 2, 0, 0)).build()))
+                .isNotEqualTo(base);
+        assertThat(JobFingerprint.of(request().requiredSkills(List.of("AWS", "Java")).build())).isNotEqualTo(base);
+    }
+
+    @Test
+    void fieldAndListBoundariesAreNotAmbiguous() {
+        // 区切りを入れているため、値の切れ目が移っただけの内容や null と空文字は区別される
+        assertThat(JobFingerprint.of(request().requiredSkills(List.of("JavaAWS")).build()))
+                .isNotEqualTo(JobFingerprint.of(request().requiredSkills(List.of("Java", "AWS")).build()));
+        assertThat(JobFingerprint.of(request().location("").build()))
+                .isNotEqualTo(JobFingerprint.of(request().location(null).build()));
+        assertThat(JobFingerprint.of(request().requiredSkills(List.of()).build()))
+                .isNotEqualTo(JobFingerprint.of(request().requiredSkills(null).build()));
+        assertThat(JobFingerprint.of(request().title("ab").location("c").build()))
+                .isNotEqualTo(JobFingerprint.of(request().title("a").location("bc").build()));
+    }
+
+    private static JobDto.CreateRequest.CreateRequestBuilder request() {
+        return JobDto.CreateRequest.builder()
+                .source("sesboard")
+                .sourceUrl("https://example.com/jobs/1")
+                .title("Java 開発")
+                .maxPrice(80)
+                .requiredSkills(List.of("Java", "AWS"))
+                .location("東京都")
+                .postedAt(LocalDateTime.of(2024, 5, 1, 0, 0));
+    }
+}
@@ -0,0 +1,100 @@
+package com.sesjob.service;
+
+import com.sesjob.dto.JobDto;
+import com.sesjob.dto.JobDto.IngestAction;
+import com.sesjob.entity.Job;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingest-test;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("dev")
+class JobIngestServiceTest {
+
+    @Autowired
+    private JobIngestService jobIngestService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void insertsNewJobsAndUpdatesChangedOnes() {
+        List<JobDto.IngestAck> created = jobIngestService.ingest(List.of(request("upsert-1", "Java 開発"),
+                request("upsert-2", "Go 開発")));
+        assertThat(created).extracting(JobDto.IngestAck::getAction)
+                .containsExactly(IngestAction.CREATED, IngestAction.CREATED);
+        assertThat(created).extracting(JobDto.IngestAck::getId).doesNotContainNull().doesNotHaveDuplicates();
+
+        List<JobDto.IngestAck> updated = jobIngestService.ingest(List.of(request("upsert-1", "Java 開発（改）")));
+        assertThat(updated.get(0).getAction()).isEqualTo(IngestAction.UPDATED);
+        assertThat(updated.get(0).getId()).isEqualTo(created.get(0).getId());
+        assertThat(row(created.get(0).getId()).get("title")).isEqualTo("Java 開発（改）");
+    }
+
+    @Test
+    void skipsWritesForUnchangedContentButTouchesLastSeen() throws Exception {
+        long id = jobIngestService.ingest(List.of(request("unchanged-1", "Python 開発"))).get(0).getId();
+        Map<String, Object> before = row(id);
+        Thread.sleep(5);
+
+        List<JobDto.IngestAck> acks = jobIngestService.ingest(List.of(request("unchanged-1", "Python 開発")));
+
+        assertThat(acks.get(0).getAction()).isEqualTo(IngestAction.UNCHANGED);
+        Map<String, Object> after = row(id);
+        // 内容は書き換えず、確認日時だけを進める
+        assertThat(after.get("updated_at")).isEqualTo(before.get("updated_at"));
+        assertThat(after.get("content_hash")).isEqualTo(before.get("content_hash"));
+        assertThat((Timestamp) after.get("last_seen_at")).isAfter((Timestamp) before.get("last_seen_at"));
+    }
+
+    @Test
+    void reopensClosedJobsSeenAgain() {
+        long id = jobIngestService.ingest(List.of(request("reopen-1", "Kotlin 開発"))).get(0).getId();
+        jobService.updateStatus(id, Job.JobStatus.CLOSED);
+
+        List<JobDto.IngestAck> acks = jobIngestService.ingest(List.of(request("reopen-1", "Kotlin 開発")));
+
+        assertThat(acks.get(0).getAction()).isEqualTo(IngestAction.UNCHANGED);
+        assertThat(row(id).get("status")).isEqualTo(Job.JobStatus.NEW.name());
+    }
+
+    @Test
+    void laterDuplicatesInOneBatchWin() {
+        List<JobDto.IngestAck> acks = jobIngestService.ingest(List.of(request("dup-1", "古い内容"),
+                request("dup-1", "新しい内容")));
+
+        assertThat(acks).extracting(JobDto.IngestAck::getId).containsOnly(acks.get(0).getId());
+        assertThat(row(acks.get(0).getId()).get("title")).isEqualTo("新しい内容");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM jobs WHERE source_url = ?", Long.class,
+                "https://example.com/jobs/dup-1")).isEqualTo(1);
+    }
+
+    private Map<String, Object> row(long id) {
+        return jdbcTemplate.queryForMap("SELECT title, status, content_hash, updated_at, last_seen_at FROM jobs "
+                + "WHERE id = ?", id);
+    }
+
+    private static JobDto.CreateRequest request(String key, String title) {
+        return JobDto.CreateRequest.builder()
+                .source("sesboard")
+                .sourceUrl("https://example.com/jobs/" + key)
+                .title(title)
+                .maxPrice(80)
+                .requiredSkills(List.of("Java"))
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.sesjob.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordIndexTest {
+
+    private final KeywordIndex index = new KeywordIndex();
+
+    @Test
+    void searchRequiresTheWordNotJustItsBigrams() {
+        // 「東京」と「京都」を別々に含むだけの案件は「東京都」の 2-gram をすべて含むが、一致しない
+        index.put(1, new KeywordIndex.Document("東京の案件", List.of(), "京都にも拠点あり"));
+        index.put(2, new KeywordIndex.Document("東京都港区の案件", List.of(), null));
+
+        assertThat(ids(index.search("東京都"))).containsExactly(2L);
+        assertThat(index.top("東京都", 10)).contains(List.of(2L));
+    }
+
+    @Test
+    void wordMustNotSpanTwoFields() {
+        index.put(1, new KeywordIndex.Document("Java", List.of("Script"), null));
+        index.put(2, new KeywordIndex.Document("JavaScript 開発", List.of(), null));
+
+        assertThat(ids(index.search("javascript"))).containsExactly(2L);
+    }
+
+    @Test
+    void everyWordMustMatchSomeField() {
+        index.put(1, new KeywordIndex.Document("Java 開発", List.of("AWS"), null));
+        index.put(2, new KeywordIndex.Document("Java 開発", List.of("GCP"), null));
+
+        assertThat(ids(index.search("java aws"))).containsExactly(1L);
+        assertThat(ids(index.search("ＪＡＶＡ"))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shortWordsCannotUseTheIndex() {
+        index.put(1, new KeywordIndex.Document("Go 開発", List.of(), null));
+
+        assertThat(index.search("go 開")).isEmpty();
+        assertThat(index.top("a", 10)).isEmpty();
+        assertThat(index.rank("x", List.of(1L), 0, 10)).isEmpty();
+    }
+
+    @Test
+    void putReplacesThePreviousText() {
+        index.put(1, new KeywordIndex.Document("Java 開発", List.of(), null));
+        index.put(1, new KeywordIndex.Document("Python 開発", List.of(), null));
+
+        assertThat(ids(index.search("java"))).isEmpty();
+        assertThat(ids(index.search("python"))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void putIfAbsentKeepsTheExistingText() {
+        index.put(1, new KeywordIndex.Document("Java 開発", List.of(), null));
+        index.putIfAbsent(1, new KeywordIndex.Document("Python 開発", List.of(), null));
+
+        assertThat(ids(index.search("java"))).containsExactly(1L);
+    }
+
+    @Test
+    void compactionKeepsSearchAndRankingIntact() {
+        index.put(1, new KeywordIndex.Document("Kotlin 開発", List.of(), null));
+        // 再登録で削除済みの文書番号を溜め、詰め直しを起こす
+        for (int i = 0; i < 3000; i++) {
+            index.put(2, new KeywordIndex.Document("Java 開発 " + i, List.of(), null));
+        }
+        index.put(3, new KeywordIndex.Document("Java Java 開発", List.of(), null));
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(ids(index.search("java"))).containsExactly(2L, 3L);
+        assertThat(ids(index.search("kotlin"))).containsExactly(1L);
+        assertThat(index.top("java", 1)).contains(List.of(3L));
+    }
+
+    @Test
+    void rankOrdersByRelevanceAndPages() {
+        index.put(1, new KeywordIndex.Document("案件", List.of(), "Java の経験があれば尚可"));
+        index.put(2, new KeywordIndex.Document("Java", List.of("Java"), null));
+        index.put(3, new KeywordIndex.Document("Java 開発", List.of(), null));
+
+        assertThat(index.rank("java", List.of(1L, 2L, 3L), 0, 3)).contains(List.of(2L, 3L, 1L));
+        assertThat(index.rank("java", List.of(1L, 2L, 3L), 1, 1)).contains(List.of(3L));
+        assertThat(index.rank("java", List.of(1L, 2L, 3L), 5, 1)).contains(List.of());
+        // 未登録の候補は 0 点で末尾に並ぶ
+        assertThat(index.rank("java", List.of(9L, 2L), 0, 2)).contains(List.of(2L, 9L));
+    }
+
+    @Test
+    void matchesSupportsContainsAndToSet() {
+        index.put(5, new KeywordIndex.Document("Java", List.of(), null));
+        index.put(3, new KeywordIndex.Document("Java", List.of(), null));
+
+        KeywordIndex.Matches matches = index.search("java").orElseThrow();
+        assertThat(matches.size()).isEqualTo(2);
+        assertThat(matches.contains(3)).isTrue();
+        assertThat(matches.contains(4)).isFalse();
+        assertThat(matches.toSet()).containsExactlyInAnyOrder(3L, 5L);
+    }
+
+    private static List<Long> ids(Optional<KeywordIndex.Matches> matches) {
+        return matches.map(m -> m.toSet().stream().sorted().toList()).orElse(List.of());
+    }
+}
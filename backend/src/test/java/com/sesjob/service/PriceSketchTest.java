@@ -0,0 +1,91 @@
+package com.sesjob.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PriceSketchTest {
+
+    @Test
+    void roundTripsThroughBytes() {
+        PriceSketch sketch = new PriceSketch();
+        // 1 バイトに収まらない区間番号の差分・件数を含める
+        sketch.add(0);
+        sketch.add(127);
+        sketch.add(128);
+        sketch.add(Integer.MAX_VALUE);
+        for (int i = 0; i < 300; i++) {
+            sketch.add(80);
+        }
+
+        PriceSketch restored = PriceSketch.fromBytes(sketch.toBytes());
+
+        assertThat(restored.count()).isEqualTo(sketch.count()).isEqualTo(304);
+        assertThat(restored.toBytes()).isEqualTo(sketch.toBytes());
+        for (double q : new double[]{0, 0.001, 0.5, 0.99, 1}) {
+            assertThat(restored.quantile(q)).isEqualTo(sketch.quantile(q));
+        }
+    }
+
+    @Test
+    void roundTripsCountsBeyondIntRange() {
+        PriceSketch big = new PriceSketch();
+        big.add(70);
+        PriceSketch merged = new PriceSketch();
+        for (int i = 0; i < 40; i++) {
+            merged.merge(big);
+            big = PriceSketch.fromBytes(merged.toBytes());
+        }
+
+        // 件数 2^39 は 6 バイトの可変長整数になる
+        assertThat(PriceSketch.fromBytes(merged.toBytes()).count()).isEqualTo(1L << 39);
+    }
+
+    @Test
+    void emptySketchHasNoQuantiles() {
+        PriceSketch empty = new PriceSketch();
+
+        assertThat(empty.toBytes()).isEmpty();
+        assertThat(empty.quantile(0.5)).isNull();
+        assertThat(PriceSketch.fromBytes(null).count()).isZero();
+        assertThat(PriceSketch.fromBytes(new byte[0]).quantile(0.5)).isNull();
+    }
+
+    @Test
+    void smallValuesAreExactAndLargeValuesStayWithinTheRelativeError() {
+        PriceSketch sketch = new PriceSketch();
+        sketch.add(-5);
+        sketch.add(42);
+        sketch.add(100);
+        assertThat(sketch.quantile(0)).isEqualTo(0.0);
+        assertThat(sketch.quantile(0.5)).isEqualTo(42.0);
+        assertThat(sketch.quantile(1)).isEqualTo(100.0);
+
+        for (int value : new int[]{128, 1000, 65_537, 1_000_000}) {
+            PriceSketch single = new PriceSketch();
+            single.add(value);
+            assertThat(single.quantile(0.5)).isCloseTo(value, within(value / 64.0));
+        }
+    }
+
+    @Test
+    void mergingMatchesAddingEverything() {
+        Random random = new Random(7);
+        PriceSketch all = new PriceSketch();
+        PriceSketch left = new PriceSketch();
+        PriceSketch right = new PriceSketch();
+        for (int i = 0; i < 10_000; i++) {
+            int value = 30 + random.nextInt(200);
+            all.add(value);
+            (i % 2 == 0 ? left : right).add(value);
+        }
+
+        left.merge(PriceSketch.fromBytes(right.toBytes()));
+
+        assertThat(left.toBytes()).isEqualTo(all.toBytes());
+        assertThat(left.quantile(0.9)).isEqualTo(all.quantile(0.9));
+    }
+}
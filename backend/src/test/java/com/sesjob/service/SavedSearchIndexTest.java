@@ -0,0 +1,132 @@
+package com.sesjob.service;
+
+import com.sesjob.entity.Job.RemoteType;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SavedSearchIndexTest {
+
+    @Test
+    void matchesKeywordsOnlyWhenTheWholeWordAppears() {
+        SavedSearchIndex index = SavedSearchIndex.build(List.of(keywords(1, "東京都"), keywords(2, "java", "aws")));
+
+        // 「東京」と「京都」を別々に含むだけでは「東京都」に一致しない
+        assertThat(index.match(job(texts("東京の案件", "京都にも拠点あり")))).isEmpty();
+        assertThat(index.match(job(texts("東京都港区の案件")))).containsExactly(1L);
+        assertThat(index.match(job(texts("java 開発", "aws")))).containsExactly(2L);
+        assertThat(index.match(job(texts("java 開発")))).isEmpty();
+    }
+
+    @Test
+    void matchesAllOrAnySkills() {
+        SavedSearchIndex index = SavedSearchIndex.build(List.of(
+                skills(1, false, 10L, 20L),
+                skills(2, true, 10L, 30L),
+                skills(3, false)));
+
+        assertThat(index.match(job(Set.of(10L)))).containsExactly(2L);
+        assertThat(index.match(job(Set.of(10L, 20L)))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.match(job(Set.of(30L)))).containsExactly(2L);
+        // 未知のスキルしか指定していない「すべて必須」の条件は登録しない
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void priceBoundsAreInclusiveAndNeedThePrice() {
+        SavedSearchIndex index = SavedSearchIndex.build(List.of(
+                query(1, null, null, false, 80, null, null, null, null, false),
+                query(2, null, null, false, null, 60, null, null, null, false)));
+
+        assertThat(index.match(priced(50, 80))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.match(priced(61, 79))).isEmpty();
+        assertThat(index.match(priced(null, null))).isEmpty();
+    }
+
+    @Test
+    void filtersBySourceRemoteTypeLocationAndDuplicates() {
+        SavedSearchIndex index = SavedSearchIndex.build(List.of(
+                query(1, null, null, false, null, null, null, null, Set.of("sesboard"), false),
+                query(2, null, null, false, null, null, null, RemoteType.FULL, null, false),
+                query(3, null, null, false, null, null, "東京", null, null, true)));
+
+        SavedSearchIndex.JobView job = new SavedSearchIndex.JobView(1, "sesboard", List.of(), Set.of(), null, null,
+                "東京都港区", RemoteType.FULL, false);
+        assertThat(index.match(job)).containsExactlyInAnyOrder(1L, 2L, 3L);
+
+        SavedSearchIndex.JobView duplicate = new SavedSearchIndex.JobView(2, "techdirect", List.of(), Set.of(), null,
+                null, "東京都港区", RemoteType.PARTIAL, true);
+        assertThat(index.match(duplicate)).isEmpty();
+    }
+
+    @Test
+    void bucketsReturnTheSameMatchesAsEvaluatingEveryQuery() {
+        Random random = new Random(3);
+        String[] words = {"java", "aws", "東京", "react", "開発", "go"};
+        String[] sources = {"sesboard", "techdirect"};
+        List<SavedSearchIndex.Query> queries = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            List<String> keywordWords = random.nextInt(3) == 0 ? List.of(words[random.nextInt(words.length)])
+                    : List.of();
+            Set<Long> skillIds = random.nextInt(3) == 0
+                    ? new HashSet<>(List.of(1L + random.nextInt(5), 1L + random.nextInt(5))) : null;
+            queries.add(query(id, keywordWords, skillIds, random.nextBoolean(),
+                    random.nextInt(4) == 0 ? 50 + random.nextInt(50) : null,
+                    random.nextInt(4) == 0 ? 50 + random.nextInt(50) : null,
+                    null,
+                    random.nextInt(4) == 0 ? RemoteType.values()[random.nextInt(RemoteType.values().length)] : null,
+                    random.nextInt(4) == 0 ? Set.of(sources[random.nextInt(sources.length)]) : null,
+                    random.nextBoolean()));
+        }
+        SavedSearchIndex index = SavedSearchIndex.build(queries);
+
+        for (int n = 0; n < 300; n++) {
+            Set<Long> skillIds = new HashSet<>();
+            for (int s = 0; s < random.nextInt(4); s++) {
+                skillIds.add(1L + random.nextInt(5));
+            }
+            int minPrice = 40 + random.nextInt(60);
+            SavedSearchIndex.JobView job = new SavedSearchIndex.JobView(n, sources[random.nextInt(sources.length)],
+                    List.of(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]),
+                    skillIds, minPrice, minPrice + random.nextInt(30), null,
+                    RemoteType.values()[random.nextInt(RemoteType.values().length)], random.nextInt(5) == 0);
+
+            Set<Long> expected = new HashSet<>();
+            queries.stream().filter(query -> query.matches(job)).forEach(query -> expected.add(query.id()));
+            assertThat(index.match(job)).as("job %s", job).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private static SavedSearchIndex.Query keywords(long id, String... words) {
+        return query(id, List.of(words), null, false, null, null, null, null, null, false);
+    }
+
+    private static SavedSearchIndex.Query skills(long id, boolean matchAny, Long... skillIds) {
+        return query(id, List.of(), Set.of(skillIds), matchAny, null, null, null, null, null, false);
+    }
+
+    private static SavedSearchIndex.Query query(long id, List<String> keywordWords, Set<Long> skillIds,
+            boolean matchAny, Integer minPrice, Integer maxPrice, String location, RemoteType remoteType,
+            Set<String> sources, boolean collapseDuplicates) {
+        return new SavedSearchIndex.Query(id, keywordWords != null ? keywordWords : List.of(), skillIds, matchAny,
+                minPrice, maxPrice, location, remoteType, sources, collapseDuplicates);
+    }
+
+    private static List<String> texts(String... texts) {
+        return Arrays.stream(texts).map(SimHash::normalize).toList();
+    }
+
+    private static SavedSearchIndex.JobView job(List<String> texts) {
+        return new SavedSearchIndex.JobView(1, "sesboard", texts, Set.of(), null, null, null, null, false);
+    }
+
+    private static SavedSearchIndex.JobView job(Set<Long> skillIds) {
+        return new SavedSearchIndex.JobView(1, "sesboard", List.of(), skillIds, null, null, null, null, false);
+    }
+
+    private static SavedSearchIndex.JobView priced(Integer minPrice, Integer maxPrice) {
+        return new SavedSearchIndex.JobView(1, "sesboard", List.of(), Set.of(), minPrice, maxPrice, null, null, false);
+    }
+}
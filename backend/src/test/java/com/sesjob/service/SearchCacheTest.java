@@ -0,0 +1,73 @@
+package com.sesjob.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchCacheTest {
+
+    private final DataGeneration dataGeneration = new DataGeneration();
+    private final SearchCache cache = new SearchCache(dataGeneration, new SimpleMeterRegistry(), true, 2);
+
+    @Test
+    void servesCachedResultsUntilTheGenerationAdvances() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("list", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get("list", loads::incrementAndGet)).isEqualTo(1);
+
+        dataGeneration.bump();
+        assertThat(cache.get("list", loads::incrementAndGet)).isEqualTo(2);
+        assertThat(cache.getStats().getHits()).isEqualTo(1);
+        assertThat(cache.getStats().getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        cache.get("a", () -> "A");
+        cache.get("b", () -> "B");
+        // a を参照したので、次に追い出されるのは b
+        cache.get("a", () -> "A2");
+        cache.get("c", () -> "C");
+
+        assertThat(cache.<String>getIfPresent("a")).contains("A");
+        assertThat(cache.<String>getIfPresent("b")).isEmpty();
+        assertThat(cache.<String>getIfPresent("c")).contains("C");
+        assertThat(cache.getStats().getEvictions()).isEqualTo(1);
+        assertThat(cache.getStats().getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotStoreResultsLoadedAcrossAGenerationChange() {
+        // 読み込み中に取り込みがコミットされた結果は、新しい世代のキャッシュとして保存しない
+        cache.get("list", () -> {
+            dataGeneration.bump();
+            return "stale";
+        });
+
+        assertThat(cache.<String>getIfPresent("list")).isEmpty();
+        assertThat(cache.get("list", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void doesNotStoreNullAndGetIfPresentNeverLoads() {
+        assertThat(cache.<String>get("missing", () -> null)).isNull();
+        assertThat(cache.<String>getIfPresent("missing")).isEmpty();
+        assertThat(cache.getStats().getSize()).isZero();
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        SearchCache disabled = new SearchCache(dataGeneration, new SimpleMeterRegistry(), false, 2);
+        AtomicInteger loads = new AtomicInteger();
+
+        disabled.get("list", loads::incrementAndGet);
+        disabled.get("list", loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+        assertThat(disabled.<Integer>getIfPresent("list")).isEmpty();
+    }
+}
@@ -0,0 +1,63 @@
+package com.sesjob.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimHashIndexTest {
+
+    private final SimHashIndex index = new SimHashIndex();
+
+    @Test
+    void findsTheNearestJobOfAnotherSource() {
+        long simhash = 0x0123_4567_89AB_CDEFL;
+        index.put(new SimHashIndex.Entry(1, "sesboard", simhash, null));
+        index.put(new SimHashIndex.Entry(2, "techdirect", simhash ^ 0b111, null));
+        index.put(new SimHashIndex.Entry(3, "techdirect", simhash ^ 0b1, null));
+
+        assertThat(index.findNearest(simhash, "other", 0, 3)).map(SimHashIndex.Entry::jobId).contains(1L);
+        // 同じソースの案件と自分自身は候補にしない
+        assertThat(index.findNearest(simhash, "sesboard", 0, 3)).map(SimHashIndex.Entry::jobId).contains(3L);
+        assertThat(index.findNearest(simhash, "techdirect", 1, 3)).isEmpty();
+    }
+
+    @Test
+    void findsEveryDistanceUpToTheBandLimit() {
+        long simhash = 0xFFFF_0000_FFFF_0000L;
+        // 4 バンドのうち 3 バンドに 1 bit ずつ差をつけても、残り 1 バンドの一致で見つかる
+        long far = simhash ^ 1L ^ (1L << 16) ^ (1L << 32);
+        index.put(new SimHashIndex.Entry(1, "sesboard", far, null));
+
+        assertThat(index.findNearest(simhash, "techdirect", 0, SimHashIndex.MAX_DISTANCE)).isPresent();
+        assertThat(index.findNearest(simhash, "techdirect", 0, 2)).isEmpty();
+    }
+
+    @Test
+    void breaksDistanceTiesByTheSmallestId() {
+        long simhash = 42;
+        index.put(new SimHashIndex.Entry(7, "a", simhash ^ 1, null));
+        index.put(new SimHashIndex.Entry(5, "b", simhash ^ 2, null));
+
+        assertThat(index.findNearest(simhash, "c", 0, 3)).map(SimHashIndex.Entry::jobId).contains(5L);
+    }
+
+    @Test
+    void putReplacesTheBandsOfTheSameJob() {
+        index.put(new SimHashIndex.Entry(1, "sesboard", 0L, null));
+        index.put(new SimHashIndex.Entry(1, "sesboard", -1L, 9L));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findNearest(0L, "techdirect", 0, 3)).isEmpty();
+        assertThat(index.findNearest(-1L, "techdirect", 0, 3)).map(SimHashIndex.Entry::clusterId).contains(9L);
+    }
+
+    @Test
+    void clusterIdFallsBackToTheJobItself() {
+        assertThat(new SimHashIndex.Entry(4, "a", 0, null).clusterId()).isEqualTo(4L);
+        assertThat(new SimHashIndex.Entry(4, "a", 0, 2L).clusterId()).isEqualTo(2L);
+        index.putAll(List.of(new SimHashIndex.Entry(4, "a", 0, 2L)));
+        assertThat(index.snapshot()).extracting(SimHashIndex.Entry::canonicalJobId).containsExactly(2L);
+    }
+}
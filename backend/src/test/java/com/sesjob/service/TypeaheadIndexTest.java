@@ -0,0 +1,77 @@
+package com.sesjob.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeaheadIndexTest {
+
+    private final TypeaheadIndex index = new TypeaheadIndex();
+
+    @Test
+    void suggestsByPrefixInCountOrderThenAlphabetically() {
+        index.put("Java", 10, List.of());
+        index.put("JavaScript", 30, List.of());
+        index.put("Jenkins", 10, List.of());
+        index.put("Python", 50, List.of());
+
+        assertThat(index.suggest("j", 10)).containsExactly(
+                new TypeaheadIndex.Suggestion("JavaScript", 30),
+                new TypeaheadIndex.Suggestion("Java", 10),
+                new TypeaheadIndex.Suggestion("Jenkins", 10));
+        assertThat(index.suggest("ja", 1)).containsExactly(new TypeaheadIndex.Suggestion("JavaScript", 30));
+        assertThat(index.suggest("rust", 10)).isEmpty();
+        assertThat(index.suggest(" ", 10)).isEmpty();
+        assertThat(index.suggest("j", 0)).isEmpty();
+    }
+
+    @Test
+    void keepsTheTopEntriesWhenTiesCrossTheLimit() {
+        index.put("Go", 5, List.of());
+        index.put("Gradle", 5, List.of());
+        index.put("GraphQL", 5, List.of());
+
+        assertThat(index.suggest("g", 2)).extracting(TypeaheadIndex.Suggestion::value)
+                .containsExactly("Go", "Gradle");
+    }
+
+    @Test
+    void aliasesShareOneEntryAndAreCountedOnce() {
+        index.put("Kubernetes", 20, List.of("k8s", "クバネティス"));
+        index.put("Kotlin", 5, List.of());
+
+        assertThat(index.suggest("k", 10)).containsExactly(
+                new TypeaheadIndex.Suggestion("Kubernetes", 20),
+                new TypeaheadIndex.Suggestion("Kotlin", 5));
+        assertThat(index.suggest("K8", 10)).containsExactly(new TypeaheadIndex.Suggestion("Kubernetes", 20));
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void normalizesWidthCaseAndKana() {
+        index.put("東京都", 3, List.of("とうきょうと"));
+
+        assertThat(index.suggest("トウキョウ", 10)).extracting(TypeaheadIndex.Suggestion::value)
+                .containsExactly("東京都");
+        assertThat(index.suggest("とう", 10)).extracting(TypeaheadIndex.Suggestion::value).containsExactly("東京都");
+
+        index.put("AWS", 1, List.of());
+        assertThat(index.suggest("ａｗ", 10)).extracting(TypeaheadIndex.Suggestion::value).containsExactly("AWS");
+    }
+
+    @Test
+    void incrementAddsUnknownValuesAndAdjustsCounts() {
+        index.increment("株式会社サンプル", 2);
+        index.increment("株式会社サンプル", 3);
+        index.increment(" ", 1);
+        index.increment(null, 1);
+
+        assertThat(index.suggest("株式会社", 10)).containsExactly(new TypeaheadIndex.Suggestion("株式会社サンプル", 5));
+
+        index.increment("株式会社サンプル", -5);
+        assertThat(index.suggest("株式会社", 10)).containsExactly(new TypeaheadIndex.Suggestion("株式会社サンプル", 0));
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
@@ -2,13 +2,16 @@
 API Client - バックエンドAPIとの通信
 """
 import httpx
+import json
 import logging
-from typing import List, Optional
+import time
+from typing import List, Optional, Tuple
 from models import JobData
 
 logger = logging.getLogger(__name__)
 
 BATCH_SIZE = 50  # 每批发送50条记录
+MAX_SUBMIT_RETRIES = 10  # 429 時の再送回数上限
 
 
 class ApiClient:
@@ -32,8 +35,32 @@ class ApiClient:
             logger.error(f"Failed to create job: {e}")
             return None
     
-    def create_jobs_batch(self, jobs: List[JobData]) -> List[dict]:
+    def open_crawl_run(self, source: str) -> Optional[int]:
+        """クロール実行を開始し、実行IDを返す"""
+        try:
+            response = self.client.post(f"{self.base_url}/crawl-runs", json={"source": source})
+            response.raise_for_status()
+            return response.json()["id"]
+        except httpx.HTTPError as e:
+            logger.error(f"Failed to open crawl run: {e}")
+            return None
+
+    def close_crawl_run(self, run_id: int, expire: bool = True) -> Optional[dict]:
+        """クロール実行を終了（expire=True で未確認の案件を掲載終了にする）"""
+        try:
+            response = self.client.post(
+                f"{self.base_url}/crawl-runs/{run_id}/close",
+                params={"expire": str(expire).lower()},
+            )
+            response.raise_for_status()
+            return response.json()
+        except httpx.HTTPError as e:
+            logger.error(f"Failed to close crawl run: {e}")
+            return None
+
+    def create_jobs_batch(self, jobs: List[JobData], run_id: Optional[int] = None) -> List[dict]:
         """複数案件を一括登録（分批发送）"""
+        params = {"crawlRunId": run_id} if run_id is not None else None
         all_results = []
         total = len(jobs)
         
@@ -48,6 +75,7 @@ class ApiClient:
             try:
                 response = self.client.post(
                     f"{self.base_url}/jobs/batch",
+                    params=params,
                     json=[job.to_api_request() for job in batch]
                 )
                 response.raise_for_status()
@@ -60,6 +88,92 @@ class ApiClient:
         logger.info(f"Total saved: {len(all_results)} / {total} jobs")
         return all_results
 
+    def submit_jobs_async(self, jobs: List[JobData], run_id: Optional[int] = None) -> Tuple[List[str], bool]:
+        """複数案件を非同期登録キューに投入し、(ingestId の一覧, 全バッチを投入できたか) を返す"""
+        params = {"async": "true"}
+        if run_id is not None:
+            params["crawlRunId"] = run_id
+        ingest_ids = []
+        total_batches = (len(jobs) + BATCH_SIZE - 1) // BATCH_SIZE
+        for i in range(0, len(jobs), BATCH_SIZE):
+            batch = jobs[i:i + BATCH_SIZE]
+            payload = [job.to_api_request() for job in batch]
+
+            for attempt in range(MAX_SUBMIT_RETRIES):
+                try:
+                    response = self.client.post(f"{self.base_url}/jobs/batch", params=params, json=payload)
+                    if response.status_code == 429:
+                        wait = float(response.headers.get("Retry-After", "5"))
+                        logger.warning(f"Ingest queue is full, retrying in {wait}s ({attempt + 1}/{MAX_SUBMIT_RETRIES})")
+                        time.sleep(wait)
+                        continue
+                    response.raise_for_status()
+                    ingest_ids.append(response.json()["ingestId"])
+                    break
+                except httpx.HTTPError as e:
+                    logger.error(f"Failed to submit batch: {e}")
+                    break
+            else:
+                logger.error(f"Gave up submitting batch of {len(batch)} jobs")
+
+        logger.info(f"Submitted {len(ingest_ids)} / {total_batches} batches for async ingest")
+        return ingest_ids, len(ingest_ids) == total_batches
+
+    def wait_for_ingests(self, ingest_ids: List[str], timeout: float = 600.0, interval: float = 2.0) -> bool:
+        """非同期登録の完了を待つ（全件成功なら True）"""
+        pending = set(ingest_ids)
+        deadline = time.monotonic() + timeout
+        while pending and time.monotonic() < deadline:
+            for ingest_id in list(pending):
+                status = self.get_ingest_status(ingest_id)
+                if status is None or status["state"] == "FAILED":
+                    return False
+                if status["state"] == "COMPLETED":
+                    pending.discard(ingest_id)
+            if pending:
+                time.sleep(interval)
+        return not pending
+
+    def get_ingest_status(self, ingest_id: str) -> Optional[dict]:
+        """非同期登録の進捗を取得"""
+        try:
+            response = self.client.get(f"{self.base_url}/jobs/ingest/{ingest_id}")
+            response.raise_for_status()
+            return response.json()
+        except httpx.HTTPError as e:
+            logger.error(f"Failed to get ingest status: {e}")
+            return None
+
+    def create_jobs_stream(self, jobs: List[JobData], run_id: Optional[int] = None) -> dict:
+        """NDJSON ストリームで一括登録（大量件数向け）し、最後の進捗行を返す"""
+        params = {"crawlRunId": run_id} if run_id is not None else None
+
+        def body():
+            for job in jobs:
+                yield (json.dumps(job.to_api_request(), ensure_ascii=False) + "\n").encode("utf-8")
+
+        progress = {}
+        try:
+            with self.client.stream(
+                "POST",
+                f"{self.base_url}/jobs/batch/stream",
+                params=params,
+                content=body(),
+                headers={"Content-Type": "application/x-ndjson"},
+            ) as response:
+                response.raise_for_status()
+                for line in response.iter_lines():
+                    if not line:
+                        continue
+                    progress = json.loads(line)
+                    logger.info(f"Stream progress: {progress['processed']} / {len(jobs)} jobs")
+        except httpx.HTTPError as e:
+            logger.error(f"Stream ingest failed: {e}")
+
+        if progress.get("error"):
+            logger.error(f"Stream ingest aborted: {progress['error']}")
+        return progress
+
     
     def health_check(self) -> bool:
         """APIヘルスチェック"""
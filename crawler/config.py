@@ -13,6 +13,9 @@ BACKEND_API_URL = os.getenv("BACKEND_API_URL", "http://localhost:8080/api")
 REQUEST_DELAY = float(os.getenv("REQUEST_DELAY", "2.0"))  # Delay between requests (seconds)
 MAX_PAGES = int(os.getenv("MAX_PAGES", "10"))  # Maximum pages to crawl per source
 TIMEOUT = int(os.getenv("TIMEOUT", "30"))  # Request timeout (seconds)
+ASYNC_INGEST = os.getenv("ASYNC_INGEST", "false").lower() == "true"  # バックエンドの非同期登録キューを使う
+ASYNC_INGEST_WAIT_TIMEOUT = float(os.getenv("ASYNC_INGEST_WAIT_TIMEOUT", "600"))  # 終了前に取り込み完了を待つ上限（秒）
+STREAM_INGEST = os.getenv("STREAM_INGEST", "false").lower() == "true"  # NDJSON ストリーミング登録を使う（ASYNC_INGEST が優先）
 
 # User Agent
 USER_AGENT = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36"
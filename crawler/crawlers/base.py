@@ -24,6 +24,8 @@ class BaseCrawler(ABC):
         self.source_name = ""
         self.base_url = ""
         self.list_url = ""
+        # 一覧の最後まで到達したか（MAX_PAGES で打ち切った・取得に失敗した場合は False）
+        self.reached_end = False
         self.client = httpx.AsyncClient(
             timeout=config.TIMEOUT,
             headers={"User-Agent": config.USER_AGENT},
@@ -38,6 +40,7 @@ class BaseCrawler(ABC):
         
         try:
             logger.info(f"Starting crawl: {self.source_name}")
+            self.reached_end = False
             jobs = await self._crawl_all_pages()
             logger.info(f"Crawled {len(jobs)} jobs from {self.source_name}")
         except Exception as e:
@@ -54,6 +57,7 @@ class BaseCrawler(ABC):
     
     async def get_jobs(self) -> List[JobData]:
         """案件リストを取得"""
+        self.reached_end = False
         return await self._crawl_all_pages()
     
     @abstractmethod
@@ -50,6 +50,7 @@ class SESBoardCrawler(BaseCrawler):
             jobs = await self._parse_job_list(html)
             if not jobs:
                 logger.info(f"No more jobs found on page {page}")
+                self.reached_end = True
                 break
             
             # 过滤掉排除关键字
@@ -64,6 +65,8 @@ class SESBoardCrawler(BaseCrawler):
             logger.info(f"Found {len(jobs)} jobs, kept {len(filtered_jobs)} after filtering")
             page += 1
         
+        if not self.reached_end:
+            logger.info(f"Stopped before the end of the listing (MAX_PAGES={config.MAX_PAGES} or fetch failure)")
         return all_jobs
     
     def _should_exclude(self, text: str) -> bool:
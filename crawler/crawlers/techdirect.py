@@ -55,6 +55,7 @@ class TechDirectCrawler(BaseCrawler):
                     jobs = await self._parse_job_list(html)
                     
                     if not jobs:
+                        self.reached_end = True
                         break
                     
                     all_jobs.extend(jobs)
@@ -63,6 +64,7 @@ class TechDirectCrawler(BaseCrawler):
                     # 次のページへ
                     next_button = await page.query_selector('a[rel="next"], button:has-text("次へ")')
                     if not next_button:
+                        self.reached_end = True
                         break
                     
                     await next_button.click()
@@ -23,7 +23,7 @@ logging.basicConfig(
 logger = logging.getLogger(__name__)
 
 
-async def run_crawler(crawler, api_client: ApiClient) -> int:
+async def run_crawler(crawler, api_client: ApiClient, pending_runs: list) -> int:
     """単一クローラーを実行し、結果をAPIに送信"""
     try:
         logger.info(f"Starting crawler: {crawler.source_name}")
@@ -31,8 +31,32 @@ async def run_crawler(crawler, api_client: ApiClient) -> int:
         
         if jobs:
             logger.info(f"Sending {len(jobs)} jobs to API")
-            results = api_client.create_jobs_batch(jobs)
+            run_id = api_client.open_crawl_run(jobs[0].source)
+            # 一覧を最後まで取得できなかった場合（MAX_PAGES 打ち切りなど）は未取得分を掲載終了にしない
+            reached_end = crawler.reached_end
+
+            if config.ASYNC_INGEST:
+                ingest_ids, all_submitted = api_client.submit_jobs_async(jobs, run_id)
+                if run_id is not None:
+                    # 取り込み完了の確認とクロール実行の終了は全クローラーの投入後にまとめて行う
+                    pending_runs.append((run_id, ingest_ids, reached_end and all_submitted))
+                return len(jobs)
+
+            if config.STREAM_INGEST:
+                progress = api_client.create_jobs_stream(jobs, run_id)
+                saved = progress.get("processed", 0)
+                logger.info(f"Successfully saved {saved} jobs")
+                if run_id is not None:
+                    # ストリームが途中で打ち切られた場合は掲載終了の判定を行わない
+                    completed = progress.get("done", False) and saved == len(jobs)
+                    api_client.close_crawl_run(run_id, expire=reached_end and completed)
+                return saved
+
+            results = api_client.create_jobs_batch(jobs, run_id)
             logger.info(f"Successfully saved {len(results)} jobs")
+            if run_id is not None:
+                # 一部のバッチが失敗した場合は掲載終了の判定を行わない
+                api_client.close_crawl_run(run_id, expire=reached_end and len(results) == len(jobs))
             return len(results)
         else:
             logger.warning(f"No jobs found from {crawler.source_name}")
@@ -45,6 +69,14 @@ async def run_crawler(crawler, api_client: ApiClient) -> int:
         await crawler.close()
 
 
+def close_pending_runs(api_client: ApiClient, pending_runs: list) -> None:
+    """非同期登録したクロール実行を、取り込み完了を待ってから終了する"""
+    for run_id, ingest_ids, expire in pending_runs:
+        # 全件の取り込み完了を確認できた場合のみ未確認案件を掲載終了にする
+        completed = api_client.wait_for_ingests(ingest_ids, timeout=config.ASYNC_INGEST_WAIT_TIMEOUT)
+        api_client.close_crawl_run(run_id, expire=expire and completed)
+
+
 async def main():
     """メイン処理"""
     logger.info("=" * 60)
@@ -78,10 +110,12 @@ async def main():
         # else:
         crawlers.append(TechDirectCrawler())  # ログインなしで公開情報のみ取得
     
+    pending_runs = []
     for crawler in crawlers:
-        count = await run_crawler(crawler, api_client)
+        count = await run_crawler(crawler, api_client, pending_runs)
         total_jobs += count
     
+    close_pending_runs(api_client, pending_runs)
     api_client.close()
     
     logger.info("=" * 60)
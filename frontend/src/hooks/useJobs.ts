@@ -1,9 +1,10 @@
 /**
  * React Query Hooks
  */
+import { useEffect, useState } from 'react';
 import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { jobService } from '../services/api';
-import type { SearchRequest, JobStatus } from '../types';
+import type { SearchRequest, JobStatus, JobSummary, TrendInterval } from '../types';
 
 // 案件一覧
 export function useJobs(page: number = 0, size: number = 20, sortBy?: string, sortOrder?: string) {
@@ -47,6 +48,47 @@ export function useStats() {
     });
 }
 
+// スキル別統計
+export function useSkillStats(limit: number = 20) {
+    return useQuery({
+        queryKey: ['skillStats', limit],
+        queryFn: () => jobService.getSkillStats(limit),
+    });
+}
+
+// 単価推移
+export function usePriceTrends(interval: TrendInterval = 'WEEK', skill?: string) {
+    return useQuery({
+        queryKey: ['priceTrends', interval, skill],
+        queryFn: () => jobService.getPriceTrends(interval, undefined, skill),
+    });
+}
+
+// 新着案件ストリーム（受信した案件を溜め、reset で一覧を再取得）
+export function useNewJobStream(request: SearchRequest) {
+    const queryClient = useQueryClient();
+    const [newJobs, setNewJobs] = useState<JobSummary[]>([]);
+    const { keyword, skills, minPrice, maxPrice, location, remoteType, sources } = request;
+    const filterKey = JSON.stringify({ keyword, skills, minPrice, maxPrice, location, remoteType, sources });
+
+    useEffect(() => {
+        setNewJobs([]);
+        const source = jobService.openNewJobStream(JSON.parse(filterKey));
+        source.addEventListener('job', (event) => {
+            const job = JSON.parse((event as MessageEvent).data) as JobSummary;
+            setNewJobs((prev) => [job, ...prev]);
+        });
+        return () => source.close();
+    }, [filterKey]);
+
+    const reset = () => {
+        setNewJobs([]);
+        queryClient.invalidateQueries({ queryKey: ['jobs'] });
+    };
+
+    return { newJobs, reset };
+}
+
 // ステータス更新
 export function useUpdateStatus() {
     const queryClient = useQueryClient();
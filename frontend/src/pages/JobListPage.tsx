@@ -3,7 +3,7 @@
  */
 import { useState, useCallback } from 'react';
 import { SearchFilter, JobCard, JobDetail, Pagination } from '../components';
-import { useSearchJobs, useJob } from '../hooks/useJobs';
+import { useSearchJobs, useJob, useNewJobStream } from '../hooks/useJobs';
 import type { SearchRequest } from '../types';
 import './JobListPage.css';
 
@@ -19,6 +19,7 @@ export function JobListPage() {
 
     const { data: jobsData, isLoading, error } = useSearchJobs(searchRequest);
     const { data: selectedJob } = useJob(selectedJobId || 0);
+    const { newJobs, reset: showNewJobs } = useNewJobStream(searchRequest);
 
     const handleSearch = useCallback((request: SearchRequest) => {
         setSearchRequest({
@@ -68,6 +69,12 @@ export function JobListPage() {
                 </div>
             </div>
 
+            {newJobs.length > 0 && (
+                <button className="btn btn-primary new-jobs-banner" onClick={showNewJobs}>
+                    🆕 新着案件 {newJobs.length} 件 — クリックで一覧を更新
+                </button>
+            )}
+
             {isLoading && (
                 <div className="loading-container">
                     <div className="spinner"></div>
@@ -1,11 +1,13 @@
 /**
  * StatsPage - 統計ダッシュボード
  */
-import { useStats } from '../hooks/useJobs';
+import { useStats, useSkillStats, usePriceTrends } from '../hooks/useJobs';
 import './StatsPage.css';
 
 export function StatsPage() {
     const { data: stats, isLoading, error } = useStats();
+    const { data: skillStats } = useSkillStats();
+    const { data: priceTrends } = usePriceTrends('WEEK');
 
     if (isLoading) {
         return (
@@ -99,6 +101,63 @@ export function StatsPage() {
                 </div>
             )}
 
+            {skillStats && skillStats.length > 0 && (
+                <div className="source-section card">
+                    <h2 className="section-title">スキル別案件数（掲載中）</h2>
+                    <div className="source-bars">
+                        {skillStats.map(({ skill, count, averagePrice }) => {
+                            const percentage = (count / skillStats[0].count) * 100;
+
+                            return (
+                                <div key={skill} className="source-bar-item">
+                                    <div className="source-bar-header">
+                                        <span className="source-name">{skill}</span>
+                                        <span className="source-count">
+                                            {count.toLocaleString()} 件
+                                            {averagePrice ? ` / 平均 ${Math.round(averagePrice)}万円` : ''}
+                                        </span>
+                                    </div>
+                                    <div className="source-bar-track">
+                                        <div
+                                            className="source-bar-fill"
+                                            style={{ width: `${percentage}%` }}
+                                        />
+                                    </div>
+                                </div>
+                            );
+                        })}
+                    </div>
+                </div>
+            )}
+
+            {priceTrends && priceTrends.length > 0 && (
+                <div className="source-section card">
+                    <h2 className="section-title">週別の新規案件単価（直近90日）</h2>
+                    <table className="trend-table">
+                        <thead>
+                            <tr>
+                                <th>週</th>
+                                <th>新規件数</th>
+                                <th>平均</th>
+                                <th>中央値</th>
+                                <th>上位10%</th>
+                            </tr>
+                        </thead>
+                        <tbody>
+                            {priceTrends.map((trend) => (
+                                <tr key={trend.period}>
+                                    <td>{trend.period}〜</td>
+                                    <td>{trend.count.toLocaleString()} 件</td>
+                                    <td>{formatPrice(trend.averagePrice)}</td>
+                                    <td>{formatPrice(trend.medianPrice)}</td>
+                                    <td>{formatPrice(trend.p90Price)}</td>
+                                </tr>
+                            ))}
+                        </tbody>
+                    </table>
+                </div>
+            )}
+
             <div className="info-card card">
                 <h3>📌 使い方</h3>
                 <ul className="info-list">
@@ -110,3 +169,7 @@ export function StatsPage() {
         </div>
     );
 }
+
+function formatPrice(price: number | null) {
+    return price ? `${Math.round(price)}万円` : '-';
+}
@@ -2,7 +2,7 @@
  * API Service - バックエンドAPIとの通信
  */
 import axios from 'axios';
-import type { Job, JobSummary, PageResponse, SearchRequest, StatsOverview, JobStatus } from '../types';
+import type { Job, JobSummary, PageResponse, SearchRequest, StatsOverview, SkillStats, PriceTrend, TrendInterval, JobStatus, RemoteType } from '../types';
 
 const API_BASE_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api';
 
@@ -64,6 +64,36 @@ export const jobService = {
         const { data } = await api.get<StatsOverview>('/jobs/stats');
         return data;
     },
+
+    // スキル別統計
+    async getSkillStats(limit: number = 20, source?: string, remoteType?: RemoteType): Promise<SkillStats[]> {
+        const { data } = await api.get<SkillStats[]>('/jobs/stats/skills', {
+            params: { limit, source, remoteType },
+        });
+        return data;
+    },
+
+    // 新着案件ストリーム（Server-Sent Events、検索と同じ条件で絞り込み）
+    openNewJobStream(request: SearchRequest = {}): EventSource {
+        const params = new URLSearchParams();
+        const { keyword, skills, minPrice, maxPrice, location, remoteType, sources } = request;
+        if (keyword) params.append('keyword', keyword);
+        skills?.forEach((skill) => params.append('skills', skill));
+        if (minPrice != null) params.append('minPrice', String(minPrice));
+        if (maxPrice != null) params.append('maxPrice', String(maxPrice));
+        if (location) params.append('location', location);
+        if (remoteType) params.append('remoteType', remoteType);
+        sources?.forEach((source) => params.append('sources', source));
+        return new EventSource(`${API_BASE_URL}/jobs/stream?${params}`);
+    },
+
+    // 単価推移
+    async getPriceTrends(interval: TrendInterval = 'WEEK', source?: string, skill?: string): Promise<PriceTrend[]> {
+        const { data } = await api.get<PriceTrend[]>('/jobs/stats/trends', {
+            params: { interval, source, skill },
+        });
+        return data;
+    },
 };
 
 // Notification Settings API
@@ -88,6 +88,27 @@ export interface StatsOverview {
     favoriteJobs: number;
     averagePrice: number | null;
     jobsBySource: Record<string, number>;
+    jobsByStatus: Record<string, number>;
+    jobsByRemoteType: Record<string, number>;
+}
+
+// スキル別統計
+export interface SkillStats {
+    skill: string;
+    count: number;
+    averagePrice: number | null;
+}
+
+// 単価推移（期間ごとの新規掲載案件）
+export type TrendInterval = 'DAY' | 'WEEK' | 'MONTH';
+
+export interface PriceTrend {
+    period: string;
+    count: number;
+    pricedCount: number;
+    averagePrice: number | null;
+    medianPrice: number | null;
+    p90Price: number | null;
 }
 
 // リモートタイプのラベル